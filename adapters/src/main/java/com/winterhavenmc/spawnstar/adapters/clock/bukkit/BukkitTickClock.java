@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.clock.bukkit;
+
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.scheduler.TickWheel;
+
+import java.util.Objects;
+
+
+/**
+ * Implements the clock for a running server. Ticks are counted by the {@link TickWheel}, which a global
+ * timer advances once every server tick, and time is read from the system clocks.
+ */
+public final class BukkitTickClock implements TickClock
+{
+	private final TickWheel wheel;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param wheel the timing wheel, driven by a global timer once every server tick
+	 */
+	public BukkitTickClock(final TickWheel wheel)
+	{
+		this.wheel = Objects.requireNonNull(wheel);
+	}
+
+
+	@Override
+	public long currentTick()
+	{
+		return wheel.currentTick();
+	}
+
+
+	@Override
+	public long nanoTime()
+	{
+		return System.nanoTime();
+	}
+
+
+	@Override
+	public long currentTimeMillis()
+	{
+		return System.currentTimeMillis();
+	}
+
+}
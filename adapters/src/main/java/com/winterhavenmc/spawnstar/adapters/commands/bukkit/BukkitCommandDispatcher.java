@@ -18,12 +18,18 @@
 package com.winterhavenmc.spawnstar.adapters.commands.bukkit;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.core.messages.DisabledMessageFilter;
 import com.winterhavenmc.spawnstar.core.ports.commands.CommandDispatcher;
+import com.winterhavenmc.spawnstar.core.ports.listeners.ListenerRegistry;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
 import com.winterhavenmc.spawnstar.core.util.MessageId;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
-import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nonnull;
 import java.util.*;
@@ -40,17 +46,22 @@ public final class BukkitCommandDispatcher implements CommandDispatcher
 
 
 	/**
-	 * Class constructor method for BukkitCommandDispatcher
+	 * Class constructor method for BukkitCommandDispatcher. The dispatcher must be set as the executor
+	 * of the {@code spawnstar} command by the plugin.
 	 */
-	public BukkitCommandDispatcher(final JavaPlugin plugin, final MessageBuilder messageBuilder)
+	public BukkitCommandDispatcher(final Plugin plugin,
+	                               final MessageBuilder messageBuilder,
+	                               final SettingsHolder settings,
+	                               final ListenerRegistry listeners,
+	                               final TeleportStats stats,
+	                               final HandlerTimings timings,
+	                               final DisabledMessageFilter messageFilter,
+	                               final TaskRegistry tasks)
 	{
 		this.messageBuilder = messageBuilder;
 
-		// register this class as command executor
-		Objects.requireNonNull(plugin.getCommand("spawnstar")).setExecutor(this);
-
 		// create context container for use in subcommand constructors
-		CommandCtx ctx = new CommandCtx(plugin, messageBuilder);
+		CommandCtx ctx = new CommandCtx(plugin, messageBuilder, settings, listeners, stats, timings, messageFilter, tasks);
 
 		// register subcommands
 		for (SubcommandType subcommandType : SubcommandType.values())
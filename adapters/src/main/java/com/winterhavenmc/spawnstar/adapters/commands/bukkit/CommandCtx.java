@@ -18,7 +18,13 @@
 package com.winterhavenmc.spawnstar.adapters.commands.bukkit;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
-import org.bukkit.plugin.java.JavaPlugin;
+import com.winterhavenmc.spawnstar.core.messages.DisabledMessageFilter;
+import com.winterhavenmc.spawnstar.core.ports.listeners.ListenerRegistry;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+import org.bukkit.plugin.Plugin;
 
 
-public record CommandCtx(JavaPlugin plugin, MessageBuilder messageBuilder) { }
+public record CommandCtx(Plugin plugin, MessageBuilder messageBuilder, SettingsHolder settings, ListenerRegistry listeners, TeleportStats stats, HandlerTimings timings, DisabledMessageFilter messageFilter, TaskRegistry tasks) { }
@@ -63,9 +63,15 @@ final class ReloadSubcommand extends AbstractSubcommand
 		// reload main configuration
 		ctx.plugin().reloadConfig();
 
-		// reload messages
+		// reload messages and item definitions, before settings reload listeners read them
 		ctx.messageBuilder().reload();
 
+		// reread the disabled messages from the reloaded language file
+		ctx.messageFilter().reload();
+
+		// swap in new settings snapshot
+		ctx.settings().reload();
+
 		// send reloaded message
 		return ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_RELOAD).send();
 	}
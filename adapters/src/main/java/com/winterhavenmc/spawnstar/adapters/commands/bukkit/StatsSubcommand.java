@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.commands.bukkit;
+
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats.Counter;
+import com.winterhavenmc.spawnstar.core.util.Macro;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.*;
+
+
+final class StatsSubcommand extends AbstractSubcommand
+{
+	private static final List<Counter> CANCELLATIONS = List.of(
+			Counter.CANCELLED_DAMAGE,
+			Counter.CANCELLED_MOVEMENT,
+			Counter.CANCELLED_INTERACTION,
+			Counter.CANCELLED_DEATH,
+			Counter.CANCELLED_QUIT,
+			Counter.CANCELLED_NO_ITEM);
+
+	private static final List<Counter> DENIALS = List.of(
+			Counter.DENIED_MIN_DISTANCE,
+			Counter.DENIED_WORLD_DISABLED);
+
+	private static final List<Counter> CLICKS = List.of(
+			Counter.INTERACTIONS_DROPPED,
+			Counter.DENIALS_SENT,
+			Counter.DENIALS_COALESCED,
+			Counter.DENIALS_DISABLED);
+
+	private static final int MAX_OVERDUE_LISTED = 5;
+
+	private final CommandCtx ctx;
+
+
+	StatsSubcommand(final CommandCtx ctx)
+	{
+		this.ctx = Objects.requireNonNull(ctx);
+		this.name = "stats";
+		this.usage = "/spawnstar stats";
+		this.description = MessageId.COMMAND_HELP_STATS;
+		this.permissionNode = "spawnstar.stats";
+	}
+
+
+	@Override
+	public boolean onCommand(final CommandSender sender, final List<String> args)
+	{
+		// if command sender does not have permission to view statistics, output error message and return
+		if (!sender.hasPermission(permissionNode))
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_STATS_PERMISSION).send();
+		}
+
+		// check max arguments
+		if (args.size() > getMaxArgs())
+		{
+			ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_OVER).send();
+			displayUsage(sender);
+			return true;
+		}
+
+		// output statistics
+		final TeleportStats stats = ctx.stats();
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_HEADER).send();
+		displayStat(sender, MessageId.COMMAND_STATS_USES, String.valueOf(stats.get(Counter.USES)));
+		displayStat(sender, MessageId.COMMAND_STATS_COMPLETIONS, String.valueOf(stats.get(Counter.COMPLETIONS)));
+		displayStat(sender, MessageId.COMMAND_STATS_CANCELLATIONS, formatCounters(stats, CANCELLATIONS));
+		displayStat(sender, MessageId.COMMAND_STATS_DENIALS, formatCounters(stats, DENIALS));
+		displayStat(sender, MessageId.COMMAND_STATS_WARMUP_LENGTHS, formatCounts(stats.warmupLengths()));
+		displayStat(sender, MessageId.COMMAND_STATS_WORLDS, formatCounts(stats.worldUses()));
+		displayQueue(sender, stats);
+		displayStat(sender, MessageId.COMMAND_STATS_CLICKS, formatCounters(stats, CLICKS));
+		displayStat(sender, MessageId.COMMAND_STATS_TASKS, formatTasks(ctx.tasks()));
+		displayStat(sender, MessageId.COMMAND_STATS_OVERDUE_TASKS, formatOverdue(ctx.tasks()));
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_FOOTER).send();
+
+		return true;
+	}
+
+
+	private void displayStat(final CommandSender sender, final MessageId messageId, final String value)
+	{
+		ctx.messageBuilder().compose(sender, messageId)
+				.setMacro(Macro.SETTING, value)
+				.send();
+	}
+
+
+	/**
+	 * Format counters as a list of name and value pairs, such as {@code "cancelled-damage 3, cancelled-quit 1"}
+	 */
+	private static String formatCounters(final TeleportStats stats, final List<Counter> counters)
+	{
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		for (Counter counter : counters)
+		{
+			counts.put(counter.displayName(), stats.get(counter));
+		}
+		return formatCounts(counts);
+	}
+
+
+	/**
+	 * Display the admission queue statistics, with the wording of the language file
+	 */
+	private void displayQueue(final CommandSender sender, final TeleportStats stats)
+	{
+		final long queued = stats.get(Counter.QUEUED);
+		final long meanWait = queued == 0 ? 0 : stats.queueWaitTicks() / queued;
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATS_QUEUE)
+				.setMacro(Macro.QUEUE_DEPTH, stats.queueDepth())
+				.setMacro(Macro.QUEUE_MAX_DEPTH, stats.maxQueueDepth())
+				.setMacro(Macro.QUEUE_TOTAL, queued)
+				.setMacro(Macro.QUEUE_MEAN_WAIT, meanWait)
+				.send();
+	}
+
+
+	/**
+	 * Format the live scheduled tasks by purpose, such as {@code "tick-driver 1, warmup 3, cooldown-sweep 1"}
+	 */
+	private static String formatTasks(final TaskRegistry tasks)
+	{
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		tasks.liveCounts().forEach((purpose, count) -> counts.put(purpose.displayName(), (long) count));
+		return formatCounts(counts);
+	}
+
+
+	/**
+	 * Format the oldest overdue tasks, such as {@code "warmup of <uuid>, 412 ticks old, expected 100"}
+	 */
+	private static String formatOverdue(final TaskRegistry tasks)
+	{
+		final List<TaskRegistry.Entry> overdue = tasks.overdueTasks();
+		if (overdue.isEmpty())
+		{
+			return "-";
+		}
+
+		final StringJoiner joiner = new StringJoiner("; ");
+		overdue.stream().limit(MAX_OVERDUE_LISTED).forEach(entry -> joiner.add(entry.toString()));
+		if (overdue.size() > MAX_OVERDUE_LISTED)
+		{
+			joiner.add("and " + (overdue.size() - MAX_OVERDUE_LISTED) + " more");
+		}
+		return joiner.toString();
+	}
+
+
+	private static String formatCounts(final Map<String, Long> counts)
+	{
+		if (counts.isEmpty())
+		{
+			return "-";
+		}
+
+		final StringJoiner joiner = new StringJoiner(", ");
+		counts.forEach((name, count) -> joiner.add(name + " " + count));
+		return joiner.toString();
+	}
+
+}
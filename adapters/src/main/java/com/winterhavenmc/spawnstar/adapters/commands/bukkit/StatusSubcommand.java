@@ -17,6 +17,7 @@
 
 package com.winterhavenmc.spawnstar.adapters.commands.bukkit;
 
+import com.winterhavenmc.spawnstar.core.settings.SpawnStarSettings;
 import com.winterhavenmc.spawnstar.core.util.Macro;
 import com.winterhavenmc.spawnstar.core.util.MessageId;
 
@@ -71,6 +72,8 @@ final class StatusSubcommand extends AbstractSubcommand
 		displayMinimumDistanceSetting(sender);
 		displayTeleportWarmupSetting(sender);
 		displayTeleportCooldownSetting(sender);
+		displayTeleportLimitSetting(sender);
+		displayInteractionRateSetting(sender);
 		displayShiftClickSetting(sender);
 		displayCancelOnDamageSetting(sender);
 		displayCancelOnMovementSetting(sender);
@@ -79,6 +82,7 @@ final class StatusSubcommand extends AbstractSubcommand
 		displayAllowInRecipesSetting(sender);
 		displayLightningSetting(sender);
 		displayEnabledWorlds(sender);
+		displayListeners(sender);
 		displayStatusFooter(sender);
 
 		return true;
@@ -189,6 +193,29 @@ final class StatusSubcommand extends AbstractSubcommand
 	}
 
 
+	private void displayTeleportLimitSetting(final CommandSender sender)
+	{
+		final int perTick = ctx.settings().get().limits().maxTeleportsPerTick();
+		final int perWorld = ctx.settings().get().limits().maxWorldTeleportsPerTick();
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_TELEPORT_LIMIT_SETTING)
+				.setMacro(Macro.SETTING, (perTick == 0 ? "no limit" : String.valueOf(perTick))
+						+ " (per world: " + (perWorld == 0 ? "no limit" : String.valueOf(perWorld)) + ")")
+				.send();
+	}
+
+
+	private void displayInteractionRateSetting(final CommandSender sender)
+	{
+		final SpawnStarSettings settings = ctx.settings().get();
+		final String rate = settings.limits().interactBurst() == 0
+				? "no limit"
+				: settings.limits().interactBurst() + " clicks, 1 more every " + settings.limits().interactRefillTicks() + " ticks";
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_INTERACTION_RATE_SETTING)
+				.setMacro(Macro.SETTING, rate + " (denial messages every " + settings.limits().denialMessageIntervalTicks() + " ticks)")
+				.send();
+	}
+
+
 	private void displayShiftClickSetting(final CommandSender sender)
 	{
 		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_SHIFT_CLICK_SETTING)
@@ -243,6 +270,19 @@ final class StatusSubcommand extends AbstractSubcommand
 	}
 
 
+	private void displayListeners(final CommandSender sender)
+	{
+		final List<String> registered = ctx.listeners().registeredListeners();
+		final List<String> units = ctx.listeners().listenerNames().stream()
+				.map(name -> registered.contains(name) ? name : name + " (idle)")
+				.toList();
+
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_LISTENERS)
+				.setMacro(Macro.SETTING, String.join(", ", units))
+				.send();
+	}
+
+
 	private void displayEnabledWorlds(final CommandSender sender)
 	{
 		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_ENABLED_WORLDS_SETTING)
@@ -54,6 +54,24 @@ public enum SubcommandType
 				{
 					return new StatusSubcommand(ctx);
 				}
+			},
+
+	STATS()
+			{
+				@Override
+				public Subcommand create(final CommandCtx ctx)
+				{
+					return new StatsSubcommand(ctx);
+				}
+			},
+
+	TIMINGS()
+			{
+				@Override
+				public Subcommand create(final CommandCtx ctx)
+				{
+					return new TimingsSubcommand(ctx);
+				}
 			};
 
 
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.commands.bukkit;
+
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings.Handler;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings.Summary;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings.Window;
+import com.winterhavenmc.spawnstar.core.util.Macro;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+
+final class TimingsSubcommand extends AbstractSubcommand
+{
+	private final CommandCtx ctx;
+
+
+	TimingsSubcommand(final CommandCtx ctx)
+	{
+		this.ctx = Objects.requireNonNull(ctx);
+		this.name = "timings";
+		this.usage = "/spawnstar timings [on|off|reset]";
+		this.description = MessageId.COMMAND_HELP_TIMINGS;
+		this.permissionNode = "spawnstar.timings";
+		this.maxArgs = 1;
+	}
+
+
+	@Override
+	public List<String> onTabComplete(final CommandSender sender, final Command command,
+	                                  final String alias, final String[] args)
+	{
+		return args.length == 2
+				? List.of("on", "off", "reset")
+				: List.of();
+	}
+
+
+	@Override
+	public boolean onCommand(final CommandSender sender, final List<String> args)
+	{
+		// if command sender does not have permission to view timings, output error message and return
+		if (!sender.hasPermission(permissionNode))
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_TIMINGS_PERMISSION).send();
+		}
+
+		// check max arguments
+		if (args.size() > getMaxArgs())
+		{
+			ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_OVER).send();
+			displayUsage(sender);
+			return true;
+		}
+
+		// turn timings on or off, or discard recorded timings, if requested
+		final HandlerTimings timings = ctx.timings();
+		if (!args.isEmpty())
+		{
+			switch (args.getFirst().toLowerCase(Locale.ROOT))
+			{
+				case "on" -> timings.setEnabled(true);
+				case "off" -> timings.setEnabled(false);
+				case "reset" -> timings.reset();
+				default ->
+				{
+					displayUsage(sender);
+					return true;
+				}
+			}
+		}
+
+		// output timings
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_HEADER).send();
+		ctx.messageBuilder().compose(sender, timings.isEnabled()
+				? MessageId.COMMAND_TIMINGS_ENABLED
+				: MessageId.COMMAND_TIMINGS_DISABLED).send();
+		for (Handler handler : Handler.values())
+		{
+			ctx.messageBuilder().compose(sender, MessageId.COMMAND_TIMINGS_HANDLER)
+					.setMacro(Macro.SETTING, handler.displayName())
+					.send();
+			for (Window window : Window.values())
+			{
+				displayWindow(sender, window, timings.summary(handler, window));
+			}
+		}
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_FOOTER).send();
+
+		return true;
+	}
+
+
+	/**
+	 * Display the timings of a handler in one window, with the wording of the language file, such as
+	 * {@code "1m: 120 calls, p50 2.1µs p99 15.3µs p999 40.9µs"}
+	 */
+	private void displayWindow(final CommandSender sender, final Window window, final Summary summary)
+	{
+		if (summary.count() == 0)
+		{
+			ctx.messageBuilder().compose(sender, MessageId.COMMAND_TIMINGS_WINDOW_EMPTY)
+					.setMacro(Macro.TIMINGS_WINDOW, window.displayName())
+					.send();
+			return;
+		}
+
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_TIMINGS_WINDOW)
+				.setMacro(Macro.TIMINGS_WINDOW, window.displayName())
+				.setMacro(Macro.TIMINGS_CALLS, summary.count())
+				.setMacro(Macro.TIMINGS_P50, formatNanos(summary.p50()))
+				.setMacro(Macro.TIMINGS_P99, formatNanos(summary.p99()))
+				.setMacro(Macro.TIMINGS_P999, formatNanos(summary.p999()))
+				.send();
+	}
+
+
+	private static String formatNanos(final long nanos)
+	{
+		if (nanos < 1_000L)
+		{
+			return nanos + "ns";
+		}
+		if (nanos < 1_000_000L)
+		{
+			return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000d);
+		}
+		return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000d);
+	}
+
+}
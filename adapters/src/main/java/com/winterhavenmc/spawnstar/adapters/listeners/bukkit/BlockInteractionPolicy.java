@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
+
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+
+import org.bukkit.Material;
+import org.bukkit.block.TileState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Openable;
+import org.bukkit.block.data.type.Switch;
+import org.bukkit.plugin.Plugin;
+
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * A table of the block materials that are used normally when clicked with a SpawnStar item, instead of
+ * using the item. Pass-through blocks are doors, gates and trap doors, switches, containers and other
+ * tile entity blocks, crafting tables, and any materials listed in the {@code pass-through-blocks} setting.
+ * <p>
+ * The built-in classification is computed once from the default block data of every material, so a click
+ * never creates a block state snapshot. The table is indexed by material ordinal, and is recomputed with
+ * the configured materials when the configuration is reloaded. Materials may be tested from any thread.
+ */
+final class BlockInteractionPolicy
+{
+	// crafting table materials, which have no tile entity
+	private static final Set<Material> CRAFT_TABLES = Set.of(
+			Material.CARTOGRAPHY_TABLE,
+			Material.CRAFTING_TABLE,
+			Material.FLETCHING_TABLE,
+			Material.SMITHING_TABLE,
+			Material.LOOM,
+			Material.STONECUTTER);
+
+	private final Plugin plugin;
+	private final boolean[] builtIn;
+	private volatile boolean[] passThrough;
+
+
+	BlockInteractionPolicy(final Plugin plugin, final SettingsHolder settings)
+	{
+		this.plugin = plugin;
+		this.builtIn = classifyMaterials();
+		this.passThrough = withConfigured(settings.get().item().passThroughBlocks());
+		settings.onReload(newSettings -> passThrough = withConfigured(newSettings.item().passThroughBlocks()));
+	}
+
+
+	/**
+	 * Test if a block material is used normally when clicked with a SpawnStar item
+	 *
+	 * @param material the material of the clicked block
+	 * @return {@code true} if the block is used normally, {@code false} if the item is used
+	 */
+	boolean isPassThrough(final Material material)
+	{
+		return passThrough[material.ordinal()];
+	}
+
+
+	private boolean[] withConfigured(final List<String> materialNames)
+	{
+		final boolean[] table = builtIn.clone();
+		for (String name : materialNames)
+		{
+			final Material material = Material.matchMaterial(name);
+			if (material != null && material.isBlock())
+			{
+				table[material.ordinal()] = true;
+			}
+			else
+			{
+				plugin.getLogger().warning("Pass-through block '" + name + "' is not a block material.");
+			}
+		}
+		return table;
+	}
+
+
+	private boolean[] classifyMaterials()
+	{
+		final Material[] materials = Material.values();
+		final boolean[] table = new boolean[materials.length];
+
+		for (Material material : materials)
+		{
+			if (!material.isBlock() || material.isLegacy())
+			{
+				continue;
+			}
+
+			if (CRAFT_TABLES.contains(material))
+			{
+				table[material.ordinal()] = true;
+				continue;
+			}
+
+			try
+			{
+				final BlockData blockData = material.createBlockData();
+				table[material.ordinal()] = blockData instanceof Openable
+						|| blockData instanceof Switch
+						|| blockData.createBlockState() instanceof TileState;
+			}
+			catch (RuntimeException exception)
+			{
+				// some block materials have no default block data or state; they use the item
+			}
+		}
+
+		return table;
+	}
+
+}
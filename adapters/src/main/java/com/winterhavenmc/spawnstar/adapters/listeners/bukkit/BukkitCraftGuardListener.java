@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
+
+import com.winterhavenmc.spawnstar.core.items.ItemRecognizer;
+import com.winterhavenmc.spawnstar.core.ports.listeners.PlayerEventListener;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.inventory.PrepareItemCraftEvent;
+import org.bukkit.inventory.ItemStack;
+
+
+/**
+ * Implements the crafting listener that prevents SpawnStar items from being used in crafting recipes.
+ * The listener is only registered while allow-in-recipes is false.
+ */
+public final class BukkitCraftGuardListener implements PlayerEventListener
+{
+	private final ItemRecognizer itemRecognizer;
+	private final HandlerTimings timings;
+
+
+	/**
+	 * Class constructor for CraftGuardListener
+	 */
+	public BukkitCraftGuardListener(final ItemRecognizer itemRecognizer, final HandlerTimings timings)
+	{
+		this.itemRecognizer = itemRecognizer;
+		this.timings = timings;
+	}
+
+
+	/**
+	 * Prepare Item Craft event handler<br>
+	 * Prevents SpawnStar items from being used in crafting recipes
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler
+	void onCraftPrepare(final PrepareItemCraftEvent event)
+	{
+		final long start = timings.start();
+		try
+		{
+			handleCraftPrepare(event);
+		}
+		finally
+		{
+			timings.record(HandlerTimings.Handler.CRAFT_PREPARE, start);
+		}
+	}
+
+
+	private void handleCraftPrepare(final PrepareItemCraftEvent event)
+	{
+		// if crafting inventory contains SpawnStar item, set result item to null
+		for (ItemStack itemStack : event.getInventory())
+		{
+			if (itemRecognizer.isItem(itemStack))
+			{
+				event.getInventory().setResult(null);
+				return;
+			}
+		}
+	}
+
+}
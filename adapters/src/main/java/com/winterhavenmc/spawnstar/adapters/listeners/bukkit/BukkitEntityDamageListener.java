@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
+
+import com.winterhavenmc.spawnstar.core.ports.listeners.PlayerEventListener;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.teleport.CancelReason;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+
+/**
+ * Implements the entity damage listener for cancel-on-damage. The listener is only registered
+ * while a warmup is pending and cancel-on-damage is enabled, because damage events fire for every
+ * entity on the server.
+ */
+public final class BukkitEntityDamageListener implements PlayerEventListener
+{
+	private final TeleportHandler teleportHandler;
+
+
+	/**
+	 * Class constructor for EntityDamageListener
+	 */
+	public BukkitEntityDamageListener(final TeleportHandler teleportHandler)
+	{
+		this.teleportHandler = teleportHandler;
+	}
+
+
+	/**
+	 * Cancels pending teleport if player takes damage during warmup
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(ignoreCancelled = true)
+	void onEntityDamage(final EntityDamageEvent event)
+	{
+		final long start = teleportHandler.timings().start();
+		try
+		{
+			handleEntityDamage(event);
+		}
+		finally
+		{
+			teleportHandler.timings().record(HandlerTimings.Handler.ENTITY_DAMAGE, start);
+		}
+	}
+
+
+	private void handleEntityDamage(final EntityDamageEvent event)
+	{
+		// if damaged entity is player with a pending teleport, cancel teleport and send player message
+		if (event.getEntity() instanceof Player player && teleportHandler.cancelTeleport(player, CancelReason.DAMAGE))
+		{
+			teleportHandler.messageFilter().compose(player, MessageId.TELEPORT_CANCELLED_DAMAGE).send();
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
+
+import com.winterhavenmc.spawnstar.core.ports.listeners.ListenerRegistry;
+import com.winterhavenmc.spawnstar.core.ports.listeners.WarmupObserver;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.settings.SpawnStarSettings;
+
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Registers and unregisters listener units with the server as they are needed. Each unit has a condition
+ * on the current settings and on whether any warmup is pending, which is evaluated again when the
+ * configuration is reloaded and when warmups start or end.
+ * <p>
+ * Units that depend on pending warmups are registered as soon as the first warmup starts, and are kept
+ * registered for a short time after the last warmup ends, so that a steady trickle of single warmups
+ * does not register and unregister handlers for every teleport.
+ */
+public final class BukkitListenerRegistry implements ListenerRegistry, WarmupObserver
+{
+	// five seconds
+	private static final long IDLE_DELAY_TICKS = 100L;
+
+	private final Plugin plugin;
+	private final SettingsHolder settings;
+	private final TaskRegistry tasks;
+	private final List<Unit> units = new ArrayList<>();
+	private boolean warmupsActive;
+	private TaskScheduler.Task idleTask;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin   an instance of the plugin
+	 * @param settings the settings holder
+	 * @param tasks    the task registry, used to delay unregistering units after the last warmup ends
+	 */
+	public BukkitListenerRegistry(final Plugin plugin, final SettingsHolder settings, final TaskRegistry tasks)
+	{
+		this.plugin = Objects.requireNonNull(plugin);
+		this.settings = Objects.requireNonNull(settings);
+		this.tasks = Objects.requireNonNull(tasks);
+
+		settings.onReload(newSettings -> refresh());
+	}
+
+
+	/**
+	 * Add a listener unit, and register it now if its condition is met
+	 *
+	 * @param name      the unit name, as shown in the status display
+	 * @param listener  the listener
+	 * @param condition the condition under which the listener is registered
+	 */
+	public void add(final String name, final Listener listener, final Condition condition)
+	{
+		Unit unit = new Unit(name, listener, condition);
+		units.add(unit);
+		update(unit, settings.get());
+	}
+
+
+	/**
+	 * Register or unregister every unit to match the current settings and warmup state
+	 */
+	public void refresh()
+	{
+		final SpawnStarSettings current = settings.get();
+		for (Unit unit : units)
+		{
+			update(unit, current);
+		}
+	}
+
+
+	@Override
+	public void warmupsStarted()
+	{
+		if (idleTask != null)
+		{
+			idleTask.cancel();
+			idleTask = null;
+		}
+
+		if (!warmupsActive)
+		{
+			warmupsActive = true;
+			refresh();
+		}
+	}
+
+
+	@Override
+	public void warmupsEnded()
+	{
+		if (idleTask == null)
+		{
+			idleTask = tasks.schedule(TaskRegistry.Purpose.LISTENER_IDLE, () ->
+			{
+				idleTask = null;
+				warmupsActive = false;
+				refresh();
+			}, IDLE_DELAY_TICKS);
+		}
+	}
+
+
+	@Override
+	public List<String> listenerNames()
+	{
+		return units.stream().map(Unit::name).toList();
+	}
+
+
+	@Override
+	public List<String> registeredListeners()
+	{
+		return units.stream().filter(unit -> unit.registered).map(Unit::name).toList();
+	}
+
+
+	private void update(final Unit unit, final SpawnStarSettings settings)
+	{
+		final boolean required = unit.condition.test(settings, warmupsActive);
+
+		if (required && !unit.registered)
+		{
+			plugin.getServer().getPluginManager().registerEvents(unit.listener, plugin);
+			unit.registered = true;
+		}
+		else if (!required && unit.registered)
+		{
+			HandlerList.unregisterAll(unit.listener);
+			unit.registered = false;
+		}
+	}
+
+
+	/**
+	 * The condition under which a listener unit is registered
+	 */
+	@FunctionalInterface
+	public interface Condition
+	{
+		/**
+		 * A condition that is always met
+		 */
+		Condition ALWAYS = (settings, warmupsActive) -> true;
+
+
+		/**
+		 * Test if a listener unit should be registered
+		 *
+		 * @param settings      the current settings snapshot
+		 * @param warmupsActive whether any warmup is pending
+		 * @return {@code true} if the unit should be registered, {@code false} if not
+		 */
+		boolean test(SpawnStarSettings settings, boolean warmupsActive);
+	}
+
+
+	private static final class Unit
+	{
+		private final String name;
+		private final Listener listener;
+		private final Condition condition;
+		private boolean registered;
+
+
+		private Unit(final String name, final Listener listener, final Condition condition)
+		{
+			this.name = Objects.requireNonNull(name);
+			this.listener = Objects.requireNonNull(listener);
+			this.condition = Objects.requireNonNull(condition);
+		}
+
+
+		private String name()
+		{
+			return name;
+		}
+	}
+
+}
@@ -18,62 +18,59 @@
 package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.core.items.ItemRecognizer;
 import com.winterhavenmc.spawnstar.core.ports.listeners.PlayerEventListener;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+import com.winterhavenmc.spawnstar.core.teleport.CancelReason;
 import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportSession;
 import com.winterhavenmc.spawnstar.core.util.Macro;
 import com.winterhavenmc.spawnstar.core.util.MessageId;
 
 import com.winterhavenmc.spawnstar.core.util.SoundId;
-import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.block.TileState;
-import org.bukkit.block.data.Openable;
-import org.bukkit.block.data.type.Switch;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.Action;
-import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
-import org.bukkit.event.inventory.PrepareItemCraftEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
-import java.util.Set;
-
 
 /**
- * Implements player event listener for SpawnStar events
+ * Implements player event listener for SpawnStar item use, and for player death and quit.
+ * This listener is always registered.
  */
 public final class BukkitPlayerEventListener implements PlayerEventListener
 {
 	@org.jetbrains.annotations.NotNull
 	private final Plugin plugin;
 	private final MessageBuilder messageBuilder;
+	private final SettingsHolder settings;
+	private final ItemRecognizer itemRecognizer;
 	private final TeleportHandler teleportHandler;
-
-	// set to hold craft table materials
-	private final Set<Material> craftTables = Set.of(
-			Material.CARTOGRAPHY_TABLE,
-			Material.CRAFTING_TABLE,
-			Material.FLETCHING_TABLE,
-			Material.SMITHING_TABLE,
-			Material.LOOM,
-			Material.STONECUTTER);
+	private final BlockInteractionPolicy blockPolicy;
 
 
 	/**
 	 * Class constructor for PlayerEventListener
 	 */
-	public BukkitPlayerEventListener(final Plugin plugin, final MessageBuilder messageBuilder, final TeleportHandler teleportHandler)
+	public BukkitPlayerEventListener(final Plugin plugin,
+	                                 final MessageBuilder messageBuilder,
+	                                 final SettingsHolder settings,
+	                                 final ItemRecognizer itemRecognizer,
+	                                 final TeleportHandler teleportHandler)
 	{
 		this.plugin = plugin;
 		this.messageBuilder = messageBuilder;
+		this.settings = settings;
+		this.itemRecognizer = itemRecognizer;
 		this.teleportHandler = teleportHandler;
-		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+		this.blockPolicy = new BlockInteractionPolicy(plugin, settings);
 	}
 
 
@@ -85,31 +82,46 @@ public final class BukkitPlayerEventListener implements PlayerEventListener
 	@EventHandler
 	void onPlayerInteract(final PlayerInteractEvent event)
 	{
-		// get player
+		final long start = teleportHandler.timings().start();
+		try
+		{
+			handlePlayerInteract(event);
+		}
+		finally
+		{
+			teleportHandler.timings().record(HandlerTimings.Handler.PLAYER_INTERACT, start);
+		}
+	}
+
+
+	private void handlePlayerInteract(final PlayerInteractEvent event)
+	{
+		// get player and their teleport session, if they have one; a session is only created for item use
 		final Player player = event.getPlayer();
+		final TeleportSession warmingSession = teleportHandler.findSession(player);
 
-		// if cancel-on-interaction is configured true, check if player is in warmup hashmap
-		// if player is in warmup hashmap, check if they are interacting with a block (not air)
+		// if cancel-on-interaction is configured true, check if player session is warming up
+		// if player session is warming up, check if they are interacting with a block (not air)
 		// if player is interacting with a block, cancel teleport, output message and return
-		if (plugin.getConfig().getBoolean("cancel-on-interaction")
-				&& teleportHandler.isWarmingUp(player)
+		if (settings.get().cancellation().onInteraction()
+				&& warmingSession != null
+				&& warmingSession.isWarmingUp()
 				&& (event.getAction().equals(Action.LEFT_CLICK_BLOCK) || event.getAction().equals(Action.RIGHT_CLICK_BLOCK)))
 		{
-			// if player's last teleport initiated time is less than x ticks (def: 2), do nothing and return
-			// this is a workaround for event double firing (once for each hand) on every player interaction
-			if (teleportHandler.isInitiated(player))
+			// ignore the duplicate event fired for the other hand by the click that initiated the teleport
+			if (teleportHandler.acceptInteract(warmingSession, event.getHand()))
 			{
 				// cancel teleport
-				teleportHandler.cancelTeleport(player);
+				teleportHandler.cancelTeleport(warmingSession, CancelReason.INTERACTION);
 
 				// send cancelled teleport message
-				messageBuilder.compose(player, MessageId.TELEPORT_CANCELLED_INTERACTION).send();
+				teleportHandler.messageFilter().compose(player, MessageId.TELEPORT_CANCELLED_INTERACTION).send();
 			}
 			return;
 		}
 
 		// if item used is not a SpawnStar, do nothing and return
-		if (!messageBuilder.items().isItem(event.getItem()))
+		if (!itemRecognizer.isItem(event.getItem()))
 		{
 			return;
 		}
@@ -126,44 +138,34 @@ public final class BukkitPlayerEventListener implements PlayerEventListener
 		// if event action is left-click, and left-click is config disabled, do nothing and return
 		if (action.equals(Action.LEFT_CLICK_BLOCK)
 				|| action.equals(Action.LEFT_CLICK_AIR)
-				&& !plugin.getConfig().getBoolean("left-click"))
+				&& !settings.get().item().leftClick())
 		{
 			return;
 		}
 
+		// get or create the teleport session of the player, now that they have clicked with an item
+		final TeleportSession session = teleportHandler.getSession(player);
+
+		// if player has clicked with a SpawnStar faster than their interaction rate, deny use of the item
+		// without handling the click further; clicked blocks are still used normally
+		if (!teleportHandler.acquireInteraction(session))
+		{
+			event.setUseItemInHand(Event.Result.DENY);
+			return;
+		}
+
 		// if player is not warming
-		if (!teleportHandler.isWarmingUp(player))
+		if (!session.isWarmingUp())
 		{
 			// get clicked block
 			Block block = event.getClickedBlock();
 
 			// check if clicked block is air (null)
 			// check that player is not sneaking, to interact with blocks
-			if (block != null && !event.getPlayer().isSneaking())
+			// allow use of doors, switches, containers, crafting tables and configured blocks with item in hand
+			if (block != null && !event.getPlayer().isSneaking() && blockPolicy.isPassThrough(block.getType()))
 			{
-				// allow use of doors, gates and trap doors with item in hand
-				if (block.getBlockData() instanceof Openable)
-				{
-					return;
-				}
-
-				// allow use of switches with item in hand
-				if (block.getBlockData() instanceof Switch)
-				{
-					return;
-				}
-
-				// allow use of containers and other tile entity blocks with item in hand
-				if (block.getState() instanceof TileState)
-				{
-					return;
-				}
-
-				// allow use of crafting tables with item in hand
-				if (craftTables.contains(block.getType()))
-				{
-					return;
-				}
+				return;
 			}
 
 			// cancel event
@@ -172,7 +174,8 @@ public final class BukkitPlayerEventListener implements PlayerEventListener
 			// if players current world is not enabled in config, send message and return
 			if (!messageBuilder.worlds().isEnabled(player.getWorld().getUID()))
 			{
-				messageBuilder.compose(player, MessageId.TELEPORT_FAIL_WORLD_DISABLED).send();
+				teleportHandler.stats().increment(TeleportStats.Counter.DENIED_WORLD_DISABLED);
+				teleportHandler.messageFilter().compose(player, MessageId.TELEPORT_FAIL_WORLD_DISABLED).send();
 				messageBuilder.sounds().play(player, SoundId.TELEPORT_DENIED_WORLD_DISABLED);
 				return;
 			}
@@ -181,24 +184,26 @@ public final class BukkitPlayerEventListener implements PlayerEventListener
 			if (!player.hasPermission("spawnstar.use"))
 			{
 				messageBuilder.sounds().play(player, SoundId.TELEPORT_DENIED_PERMISSION);
-				messageBuilder.compose(player, MessageId.TELEPORT_FAIL_PERMISSION)
+				teleportHandler.messageFilter().compose(player, MessageId.TELEPORT_FAIL_PERMISSION)
 						.setMacro(Macro.ITEM, event.getItem())
 						.send();
 				return;
 			}
 
 			// if shift-click configured and player is not sneaking, send message and return
-			if (plugin.getConfig().getBoolean("shift-click")
+			if (settings.get().item().shiftClick()
 					&& !player.isSneaking())
 			{
-				messageBuilder.compose(player, MessageId.TELEPORT_FAIL_SHIFT_CLICK)
-						.setMacro(Macro.ITEM, event.getItem())
-						.send();
+				teleportHandler.sendDenial(session, teleportHandler.messageFilter().compose(player, MessageId.TELEPORT_FAIL_SHIFT_CLICK)
+						.setMacro(Macro.ITEM, event.getItem()));
 				return;
 			}
 
+			// record the initiating click, so the event fired for the other hand is ignored
+			teleportHandler.acceptInteract(session, event.getHand());
+
 			// initiate teleport
-			teleportHandler.initiateTeleport(player);
+			teleportHandler.initiateTeleport(player, session);
 		}
 	}
 
@@ -214,8 +219,9 @@ public final class BukkitPlayerEventListener implements PlayerEventListener
 		// get event player
 		Player player = event.getEntity();
 
-		// cancel any pending teleport for player
-		teleportHandler.cancelTeleport(player);
+		// cancel any pending teleport for player, then any other task the player owns
+		teleportHandler.cancelTeleport(player, CancelReason.DEATH);
+		teleportHandler.tasks().cancelOwnedBy(player.getUniqueId());
 	}
 
 
@@ -230,91 +236,8 @@ public final class BukkitPlayerEventListener implements PlayerEventListener
 		// get event player
 		Player player = event.getPlayer();
 
-		// cancel any pending teleport for player
-		teleportHandler.cancelTeleport(player);
-	}
-
-
-	/**
-	 * Prepare Item Craft event handler<br>
-	 * Prevents SpawnStar items from being used in crafting recipes if configured
-	 *
-	 * @param event the event handled by this method
-	 */
-	@EventHandler
-	void onCraftPrepare(final PrepareItemCraftEvent event)
-	{
-		// if allow-in-recipes is true in configuration, do nothing and return
-		if (plugin.getConfig().getBoolean("allow-in-recipes"))
-		{
-			return;
-		}
-
-		// if crafting inventory contains SpawnStar item, set result item to null
-		for (ItemStack itemStack : event.getInventory())
-		{
-			if (messageBuilder.items().isItem(itemStack))
-			{
-				event.getInventory().setResult(null);
-			}
-		}
-	}
-
-
-	/**
-	 * Cancels pending teleport if player takes damage during warmup
-	 *
-	 * @param event the event handled by this method
-	 */
-	@EventHandler(ignoreCancelled = true)
-	void onEntityDamage(final EntityDamageEvent event)
-	{
-		// if cancel-on-damage configuration is true, check if damaged entity is player
-		if (plugin.getConfig().getBoolean("cancel-on-damage"))
-		{
-			Entity entity = event.getEntity();
-
-			// if damaged entity is player, check for pending teleport
-			if (entity instanceof Player player)
-			{
-				// if player is in warmup hashmap, cancel teleport and send player message
-				if (teleportHandler.isWarmingUp(player))
-				{
-					teleportHandler.cancelTeleport(player);
-					messageBuilder.compose(player, MessageId.TELEPORT_CANCELLED_DAMAGE).send();
-				}
-			}
-		}
-	}
-
-
-	/**
-	 * Cancels teleport if player moves during warmup
-	 *
-	 * @param event the event handled by this method
-	 */
-	@EventHandler
-	void onPlayerMovement(final PlayerMoveEvent event)
-	{
-		// if cancel-on-movement configuration is false, do nothing and return
-		if (!plugin.getConfig().getBoolean("cancel-on-movement"))
-		{
-			return;
-		}
-
-		// get event player
-		Player player = event.getPlayer();
-
-		// if player is in warmup hashmap, cancel teleport and send player message
-		if (teleportHandler.isWarmingUp(player))
-		{
-			// check for player movement other than head turning
-			if (event.getTo() != null && event.getFrom().distance(event.getTo()) > 0)
-			{
-				teleportHandler.cancelTeleport(player);
-				messageBuilder.compose(player, MessageId.TELEPORT_CANCELLED_MOVEMENT).send();
-			}
-		}
+		// cancel any pending teleport for player and discard their session
+		teleportHandler.endSession(player);
 	}
 
 }
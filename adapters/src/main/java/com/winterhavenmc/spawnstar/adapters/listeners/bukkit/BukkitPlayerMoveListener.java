@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
+
+import com.winterhavenmc.spawnstar.core.ports.listeners.PlayerEventListener;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportSession;
+
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+
+/**
+ * Implements the player move listener for the event mode of cancel-on-movement. The listener is only
+ * registered while a warmup is pending and cancel-on-movement is enabled in event mode.
+ */
+public final class BukkitPlayerMoveListener implements PlayerEventListener
+{
+	private final TeleportHandler teleportHandler;
+
+
+	/**
+	 * Class constructor for PlayerMoveListener
+	 */
+	public BukkitPlayerMoveListener(final TeleportHandler teleportHandler)
+	{
+		this.teleportHandler = teleportHandler;
+	}
+
+
+	/**
+	 * Cancels teleport if player moves during warmup
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler
+	void onPlayerMovement(final PlayerMoveEvent event)
+	{
+		final long start = teleportHandler.timings().start();
+		try
+		{
+			handlePlayerMovement(event);
+		}
+		finally
+		{
+			teleportHandler.timings().record(HandlerTimings.Handler.PLAYER_MOVEMENT, start);
+		}
+	}
+
+
+	private void handlePlayerMovement(final PlayerMoveEvent event)
+	{
+		// if player has no pending teleport, do nothing and return
+		final TeleportSession session = teleportHandler.findSession(event.getPlayer());
+		if (session == null || !session.isWarmingUp())
+		{
+			return;
+		}
+
+		// check for player movement other than head turning
+		final Location from = event.getFrom();
+		final Location to = event.getTo();
+		if (to != null && (from.getX() != to.getX() || from.getY() != to.getY() || from.getZ() != to.getZ()
+				|| from.getWorld() != to.getWorld()))
+		{
+			teleportHandler.cancelForMovement(event.getPlayer(), session);
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
+
+import com.winterhavenmc.spawnstar.core.ports.listeners.WorldEventListener;
+import com.winterhavenmc.spawnstar.core.teleport.WorldLinkIndex;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.world.SpawnChangeEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+
+/**
+ * Implements world event listener that keeps the world link index up to date
+ */
+public final class BukkitWorldEventListener implements WorldEventListener
+{
+	private final WorldLinkIndex worldLinks;
+
+
+	/**
+	 * Class constructor for WorldEventListener
+	 */
+	public BukkitWorldEventListener(final WorldLinkIndex worldLinks)
+	{
+		this.worldLinks = worldLinks;
+	}
+
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	void onWorldLoad(final WorldLoadEvent event)
+	{
+		worldLinks.worldLoaded(event.getWorld());
+	}
+
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	void onWorldUnload(final WorldUnloadEvent event)
+	{
+		worldLinks.worldUnloaded(event.getWorld());
+	}
+
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	void onSpawnChange(final SpawnChangeEvent event)
+	{
+		worldLinks.spawnChanged(event.getWorld());
+	}
+
+}
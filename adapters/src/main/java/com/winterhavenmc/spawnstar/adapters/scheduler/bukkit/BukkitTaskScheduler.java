@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.scheduler.bukkit;
+
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TickWheel;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Implements the task scheduler for single threaded servers, where every action runs on the main thread.
+ * Delayed entity actions are scheduled on the {@link TickWheel}, so pending warmups add no load to the
+ * server scheduler, and teleports complete immediately. Entity actions are skipped if the entity is no
+ * longer valid when they run, as the entity scheduler of a region threaded server does.
+ */
+public final class BukkitTaskScheduler implements TaskScheduler
+{
+	private final Plugin plugin;
+	private final TickWheel wheel;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin the plugin that owns scheduled tasks
+	 * @param wheel  the timing wheel, driven by a global timer of this scheduler
+	 */
+	public BukkitTaskScheduler(final Plugin plugin, final TickWheel wheel)
+	{
+		this.plugin = Objects.requireNonNull(plugin);
+		this.wheel = Objects.requireNonNull(wheel);
+	}
+
+
+	@Override
+	public Task runGlobalTimer(final Runnable action, final long delay, final long period)
+	{
+		return plugin.getServer().getScheduler().runTaskTimer(plugin, action, delay, period)::cancel;
+	}
+
+
+	@Override
+	public void executeGlobal(final Runnable action)
+	{
+		execute(action);
+	}
+
+
+	@Override
+	public Task runForEntity(final Entity entity, final Runnable action, final long delay)
+	{
+		return wheel.schedule(whileValid(entity, action), delay)::cancel;
+	}
+
+
+	@Override
+	public void executeForEntity(final Entity entity, final Runnable action)
+	{
+		execute(whileValid(entity, action));
+	}
+
+
+	@Override
+	public CompletableFuture<Boolean> teleport(final Player player, final Location destination)
+	{
+		return CompletableFuture.completedFuture(player.teleport(destination));
+	}
+
+
+	@Override
+	public boolean isRegionThreaded()
+	{
+		return false;
+	}
+
+
+	private static Runnable whileValid(final Entity entity, final Runnable action)
+	{
+		return () ->
+		{
+			if (entity.isValid())
+			{
+				action.run();
+			}
+		};
+	}
+
+
+	private void execute(final Runnable action)
+	{
+		if (plugin.getServer().isPrimaryThread())
+		{
+			action.run();
+		}
+		else
+		{
+			plugin.getServer().getScheduler().runTask(plugin, action);
+		}
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.scheduler.folia;
+
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+
+/**
+ * Implements the task scheduler for Folia and other region threaded servers. Global timers run on the
+ * global region scheduler, entity actions run on the scheduler of the entity, and teleports use
+ * {@code teleportAsync}, which loads the destination without blocking a region thread.
+ * <p>
+ * The Folia scheduler methods are resolved once by reflection, so the plugin is compiled against the
+ * Spigot API and the same jar runs on both kinds of server.
+ */
+public final class FoliaTaskScheduler implements TaskScheduler
+{
+	private static final String REGIONIZED_SERVER_CLASS = "io.papermc.paper.threadedregions.RegionizedServer";
+	private static final String SCHEDULED_TASK_CLASS = "io.papermc.paper.threadedregions.scheduler.ScheduledTask";
+
+	private final Plugin plugin;
+	private final Object globalScheduler;
+	private final MethodHandle globalRunAtFixedRate;
+	private final MethodHandle globalExecute;
+	private final MethodHandle isGlobalTickThread;
+	private final MethodHandle isOwnedByCurrentRegion;
+	private final MethodHandle entityScheduler;
+	private final MethodHandle entityRunDelayed;
+	private final MethodHandle entityExecute;
+	private final MethodHandle teleportAsync;
+	private final MethodHandle scheduledTaskCancel;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin the plugin that owns scheduled tasks
+	 * @throws IllegalStateException if the server does not provide the Folia scheduler methods
+	 */
+	public FoliaTaskScheduler(final Plugin plugin)
+	{
+		this.plugin = Objects.requireNonNull(plugin);
+
+		try
+		{
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			final Server server = plugin.getServer();
+
+			final Method getGlobalScheduler = Server.class.getMethod("getGlobalRegionScheduler");
+			this.globalScheduler = getGlobalScheduler.invoke(server);
+			final Class<?> globalClass = getGlobalScheduler.getReturnType();
+			this.globalRunAtFixedRate = lookup.unreflect(globalClass.getMethod("runAtFixedRate",
+					Plugin.class, Consumer.class, long.class, long.class));
+			this.globalExecute = lookup.unreflect(globalClass.getMethod("execute", Plugin.class, Runnable.class));
+			this.isGlobalTickThread = lookup.unreflect(Server.class.getMethod("isGlobalTickThread"));
+			this.isOwnedByCurrentRegion = lookup.unreflect(Server.class.getMethod("isOwnedByCurrentRegion", Entity.class));
+
+			final Method getEntityScheduler = Entity.class.getMethod("getScheduler");
+			final Class<?> entityClass = getEntityScheduler.getReturnType();
+			this.entityScheduler = lookup.unreflect(getEntityScheduler);
+			this.entityRunDelayed = lookup.unreflect(entityClass.getMethod("runDelayed",
+					Plugin.class, Consumer.class, Runnable.class, long.class));
+			this.entityExecute = lookup.unreflect(entityClass.getMethod("execute",
+					Plugin.class, Runnable.class, Runnable.class, long.class));
+
+			this.teleportAsync = lookup.unreflect(Entity.class.getMethod("teleportAsync", Location.class));
+			this.scheduledTaskCancel = lookup.unreflect(Class.forName(SCHEDULED_TASK_CLASS).getMethod("cancel"));
+		}
+		catch (ReflectiveOperationException exception)
+		{
+			throw new IllegalStateException("The server does not provide the Folia scheduler API.", exception);
+		}
+	}
+
+
+	/**
+	 * Test if the server is region threaded
+	 *
+	 * @return {@code true} if the Folia scheduler API is present, {@code false} if not
+	 */
+	public static boolean isSupported()
+	{
+		try
+		{
+			Class.forName(REGIONIZED_SERVER_CLASS);
+			return true;
+		}
+		catch (ClassNotFoundException exception)
+		{
+			return false;
+		}
+	}
+
+
+	@Override
+	public Task runGlobalTimer(final Runnable action, final long delay, final long period)
+	{
+		final Consumer<Object> task = scheduledTask -> action.run();
+		return cancelHandle(invoke(globalRunAtFixedRate, globalScheduler, plugin, task, Math.max(1L, delay), period));
+	}
+
+
+	@Override
+	public void executeGlobal(final Runnable action)
+	{
+		if ((boolean) invoke(isGlobalTickThread, plugin.getServer()))
+		{
+			action.run();
+		}
+		else
+		{
+			invoke(globalExecute, globalScheduler, plugin, action);
+		}
+	}
+
+
+	@Override
+	public Task runForEntity(final Entity entity, final Runnable action, final long delay)
+	{
+		final Consumer<Object> task = scheduledTask -> action.run();
+		final Object scheduled = invoke(entityRunDelayed, invoke(entityScheduler, entity), plugin, task, null, Math.max(1L, delay));
+
+		// a null task means the entity has been removed, and the action will never run
+		return scheduled == null ? () -> { } : cancelHandle(scheduled);
+	}
+
+
+	@Override
+	public void executeForEntity(final Entity entity, final Runnable action)
+	{
+		if ((boolean) invoke(isOwnedByCurrentRegion, plugin.getServer(), entity))
+		{
+			action.run();
+		}
+		else
+		{
+			invoke(entityExecute, invoke(entityScheduler, entity), plugin, action, null, 1L);
+		}
+	}
+
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public CompletableFuture<Boolean> teleport(final Player player, final Location destination)
+	{
+		return (CompletableFuture<Boolean>) invoke(teleportAsync, player, destination);
+	}
+
+
+	@Override
+	public boolean isRegionThreaded()
+	{
+		return true;
+	}
+
+
+	private Task cancelHandle(final Object scheduledTask)
+	{
+		return () -> invoke(scheduledTaskCancel, scheduledTask);
+	}
+
+
+	private static Object invoke(final MethodHandle handle, final Object... arguments)
+	{
+		try
+		{
+			return handle.invokeWithArguments(arguments);
+		}
+		catch (RuntimeException | Error exception)
+		{
+			throw exception;
+		}
+		catch (Throwable throwable)
+		{
+			throw new IllegalStateException("A Folia scheduler call failed.", throwable);
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.adapters.listeners.bukkit;
+
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeItemStack;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.SpawnStarFixture;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the full decision paths of the player interact and player move handlers, for a population of
+ * online players, a percentage of whom are warming up while the rest are cooling down.
+ * <p>
+ * Interact events are right clicks in the air by random players, holding a SpawnStar item in the given
+ * percentage of events and an unrelated item otherwise. Move events are head turns for warming players,
+ * which must not cancel the warmup, and steps for the rest. No event changes the phase of a player, so
+ * every invocation does the same work. This benchmark is in the listener package because the handler
+ * methods are package private.
+ * <p>
+ * Run with {@code -prof gc} to report the allocation rate alongside the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PlayerListenerBenchmark
+{
+	private static final int EVENTS = 4096;
+	private static final Material[] OTHER_MATERIALS = {
+			Material.STONE, Material.DIRT, Material.OAK_PLANKS, Material.TORCH,
+			Material.DIAMOND_PICKAXE, Material.IRON_SWORD, Material.BREAD, Material.COBBLESTONE };
+
+	@Param({"10", "100", "1000", "5000"})
+	private int players;
+
+	@Param({"0", "10", "50"})
+	private int warmingPercent;
+
+	// percentage of interact events with a SpawnStar item in hand
+	@Param({"5"})
+	private int spawnStarPercent;
+
+	private BukkitPlayerEventListener playerListener;
+	private BukkitPlayerMoveListener moveListener;
+	private PlayerInteractEvent[] interactEvents;
+	private PlayerMoveEvent[] moveEvents;
+	private int next;
+
+
+	@Setup(Level.Trial)
+	public void createEvents()
+	{
+		final SpawnStarFixture fixture = new SpawnStarFixture(Map.of());
+		final List<FakePlayer> fakePlayers = fixture.addPlayers(players);
+		final int warmingCount = players * warmingPercent / 100;
+
+		fixture.startWarmups(fakePlayers.subList(0, warmingCount));
+		fixture.startCooldowns(fakePlayers.subList(warmingCount, players));
+
+		playerListener = fixture.playerListener();
+		moveListener = fixture.moveListener();
+
+		final SplittableRandom random = new SplittableRandom(42);
+		interactEvents = new PlayerInteractEvent[EVENTS];
+		moveEvents = new PlayerMoveEvent[EVENTS];
+		for (int i = 0; i < EVENTS; i++)
+		{
+			final int index = random.nextInt(players);
+			final FakePlayer player = fakePlayers.get(index);
+
+			final ItemStack item = random.nextInt(100) < spawnStarPercent
+					? FakeItemStack.spawnStar()
+					: FakeItemStack.plain(OTHER_MATERIALS[random.nextInt(OTHER_MATERIALS.length)]);
+			interactEvents[i] = new PlayerInteractEvent(player.player(), Action.RIGHT_CLICK_AIR, item, null, null, EquipmentSlot.HAND);
+
+			final Location from = player.location();
+			final Location to = player.location();
+			if (index < warmingCount)
+			{
+				to.setYaw(from.getYaw() + 15.0f);
+			}
+			else
+			{
+				to.setX(from.getX() + 0.2d);
+			}
+			moveEvents[i] = new PlayerMoveEvent(player.player(), from, to);
+		}
+	}
+
+
+	@Benchmark
+	public void onPlayerInteract()
+	{
+		next = (next + 1) & (EVENTS - 1);
+		playerListener.onPlayerInteract(interactEvents[next]);
+	}
+
+
+	@Benchmark
+	public void onPlayerMovement()
+	{
+		next = (next + 1) & (EVENTS - 1);
+		moveListener.onPlayerMovement(moveEvents[next]);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks;
+
+import com.winterhavenmc.spawnstar.core.persistence.CooldownJournal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+
+/**
+ * Measures the time taken to restore cooldowns from a {@link CooldownJournal} on startup,
+ * using a synthetic dataset of unexpired cooldowns for distinct random player uuids.
+ * The size of the dataset on disk is printed when each trial is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CooldownJournalBenchmark
+{
+	@Param({"100000", "1000000"})
+	private int entries;
+
+	private final Logger logger = Logger.getLogger(CooldownJournalBenchmark.class.getName());
+
+	private Path directory;
+	private CooldownJournal journal;
+
+
+	@Setup(Level.Trial)
+	public void createDataset() throws IOException
+	{
+		logger.setLevel(java.util.logging.Level.WARNING);
+		directory = Files.createTempDirectory("spawnstar-journal");
+
+		// write the dataset through the journal itself; closing it compacts the records into a snapshot
+		final CooldownJournal writer = CooldownJournal.open(directory, logger);
+		writer.replay((msb, lsb, expiry) -> { });
+
+		final SplittableRandom random = new SplittableRandom(42);
+		final long expiry = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+		for (int i = 0; i < entries; i++)
+		{
+			writer.append(random.nextLong(), random.nextLong(), expiry + i);
+		}
+		writer.close();
+
+		System.out.printf("%n%d cooldowns stored in %d bytes%n", entries, writer.diskSize());
+	}
+
+
+	@Setup(Level.Invocation)
+	public void openJournal() throws IOException
+	{
+		journal = CooldownJournal.open(directory, logger);
+	}
+
+
+	@Benchmark
+	public int replay(final Blackhole blackhole)
+	{
+		return journal.replay((msb, lsb, expiry) -> blackhole.consume(expiry));
+	}
+
+
+	@TearDown(Level.Invocation)
+	public void closeJournal()
+	{
+		journal.close();
+	}
+
+
+	@TearDown(Level.Trial)
+	public void deleteDataset() throws IOException
+	{
+		try (Stream<Path> files = Files.walk(directory))
+		{
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks;
+
+import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.SpawnStarFixture;
+import com.winterhavenmc.spawnstar.core.messages.DisabledMessageFilter;
+import com.winterhavenmc.spawnstar.core.util.Macro;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares the message builder with {@link DisabledMessageFilter} for the messages sent on every item use and
+ * cancellation: the warmup message with a world and duration, the movement cancellation message without
+ * placeholders, the cooldown message, which is suppressed by its repeat delay when a player clicks again
+ * within a second, and the warming message, which is disabled in the default language files and requested
+ * on every click during a warmup. Enabled messages are composed by the message builder on both paths, so
+ * only the disabled message is expected to differ. Messages are sent to a rotating population of fake
+ * players, which count chat messages instead of sending them.
+ * <p>
+ * Run with {@code -prof gc} to report the allocation rate alongside the latency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DisabledMessageFilterBenchmark
+{
+	private static final Duration WARMUP = Duration.ofSeconds(5);
+	private static final Duration COOLDOWN = Duration.ofSeconds(47);
+
+	@Param({"100"})
+	private int players;
+
+	private MessageBuilder messageBuilder;
+	private DisabledMessageFilter messageFilter;
+	private World destination;
+	private Player[] online;
+	private int next;
+
+
+	@Setup(Level.Trial)
+	public void createPlayers()
+	{
+		final SpawnStarFixture fixture = new SpawnStarFixture(Map.of());
+		final List<FakePlayer> fakePlayers = fixture.addPlayers(players);
+
+		messageBuilder = fixture.messageBuilder();
+		messageFilter = fixture.teleportHandler().messageFilter();
+		destination = fixture.world().world();
+		online = new Player[players];
+		for (int i = 0; i < players; i++)
+		{
+			online[i] = fakePlayers.get(i).player();
+		}
+	}
+
+
+	@Benchmark
+	public boolean warmupMessageBuilder()
+	{
+		return messageBuilder.compose(nextPlayer(), MessageId.TELEPORT_WARMUP)
+				.setMacro(Macro.DESTINATION_WORLD, destination)
+				.setMacro(Macro.DURATION, WARMUP)
+				.send();
+	}
+
+
+	@Benchmark
+	public boolean warmupFiltered()
+	{
+		return messageFilter.compose(nextPlayer(), MessageId.TELEPORT_WARMUP)
+				.setMacro(Macro.DESTINATION_WORLD, destination)
+				.setMacro(Macro.DURATION, WARMUP)
+				.send();
+	}
+
+
+	@Benchmark
+	public boolean cancelledMessageBuilder()
+	{
+		return messageBuilder.compose(nextPlayer(), MessageId.TELEPORT_CANCELLED_MOVEMENT).send();
+	}
+
+
+	@Benchmark
+	public boolean cancelledFiltered()
+	{
+		return messageFilter.compose(nextPlayer(), MessageId.TELEPORT_CANCELLED_MOVEMENT).send();
+	}
+
+
+	@Benchmark
+	public boolean cooldownMessageBuilder()
+	{
+		return messageBuilder.compose(nextPlayer(), MessageId.TELEPORT_COOLDOWN)
+				.setMacro(Macro.DURATION, COOLDOWN)
+				.send();
+	}
+
+
+	@Benchmark
+	public boolean cooldownFiltered()
+	{
+		return messageFilter.compose(nextPlayer(), MessageId.TELEPORT_COOLDOWN)
+				.setMacro(Macro.DURATION, COOLDOWN)
+				.send();
+	}
+
+
+	@Benchmark
+	public boolean warmingMessageBuilder()
+	{
+		return messageBuilder.compose(nextPlayer(), MessageId.TELEPORT_PLAYER_WARMING).send();
+	}
+
+
+	@Benchmark
+	public boolean warmingFiltered()
+	{
+		return messageFilter.compose(nextPlayer(), MessageId.TELEPORT_PLAYER_WARMING).send();
+	}
+
+
+	private Player nextPlayer()
+	{
+		next = next + 1 < online.length ? next + 1 : 0;
+		return online[next];
+	}
+
+}
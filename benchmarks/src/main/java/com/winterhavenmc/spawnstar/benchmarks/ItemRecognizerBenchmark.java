@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks;
+
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeItemStack;
+import com.winterhavenmc.spawnstar.core.items.ItemRecognizer;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares the {@link ItemRecognizer} with the item check it replaces, which copies the item meta and reads
+ * its persistent data container for every item. The item streams model interact events, where almost every
+ * item is an unrelated block or tool, and crafting grid updates, where the same nine items are checked on
+ * every update. Item meta copies are modelled by {@link FakeItemStack}, which creates a new meta proxy on each call.
+ * <p>
+ * The crafting grid benchmarks read each item through a fresh stack, as servers return a new item stack
+ * mirror from every inventory read, so no result can be reused from one update to the next.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ItemRecognizerBenchmark
+{
+	private static final Material[] OTHER_MATERIALS = {
+			Material.STONE, Material.DIRT, Material.OAK_PLANKS, Material.TORCH,
+			Material.DIAMOND_PICKAXE, Material.IRON_SWORD, Material.BREAD, Material.COBBLESTONE };
+
+	// percentage of interact items that are SpawnStar items
+	@Param({"1"})
+	private int spawnStarPercent;
+
+	private ItemStack[] interactItems;
+	private ItemStack[] craftGrid;
+	private ItemRecognizer recognizer;
+	private int next;
+
+
+	@Setup
+	public void createItems()
+	{
+		final SplittableRandom random = new SplittableRandom(42);
+
+		interactItems = new ItemStack[4096];
+		for (int i = 0; i < interactItems.length; i++)
+		{
+			if (random.nextInt(100) < spawnStarPercent)
+			{
+				interactItems[i] = FakeItemStack.spawnStar();
+			}
+			else if (random.nextInt(100) == 0)
+			{
+				// a plain item of the same material, without the persistent data key
+				interactItems[i] = FakeItemStack.plain(Material.NETHER_STAR);
+			}
+			else
+			{
+				interactItems[i] = FakeItemStack.plain(OTHER_MATERIALS[random.nextInt(OTHER_MATERIALS.length)]);
+			}
+		}
+
+		craftGrid = new ItemStack[9];
+		for (int i = 0; i < craftGrid.length; i++)
+		{
+			craftGrid[i] = FakeItemStack.plain(OTHER_MATERIALS[i % OTHER_MATERIALS.length]);
+		}
+		craftGrid[4] = FakeItemStack.spawnStar();
+
+		recognizer = new ItemRecognizer(FakeItemStack::isSpawnStar);
+		recognizer.rebuild(List.of(Material.NETHER_STAR), FakeItemStack.spawnStar());
+	}
+
+
+	@Benchmark
+	public boolean interactMetaCopy()
+	{
+		return FakeItemStack.isSpawnStar(nextInteractItem());
+	}
+
+
+	@Benchmark
+	public boolean interactRecognizer()
+	{
+		return recognizer.isItem(nextInteractItem());
+	}
+
+
+	@Benchmark
+	public boolean craftGridMetaCopy()
+	{
+		boolean found = false;
+		for (ItemStack itemStack : craftGrid)
+		{
+			found |= FakeItemStack.isSpawnStar(itemStack.clone());
+		}
+		return found;
+	}
+
+
+	@Benchmark
+	public boolean craftGridRecognizer()
+	{
+		boolean found = false;
+		for (ItemStack itemStack : craftGrid)
+		{
+			found |= recognizer.isItem(itemStack.clone());
+		}
+		return found;
+	}
+
+
+	private ItemStack nextInteractItem()
+	{
+		next = (next + 1) & (interactItems.length - 1);
+		return interactItems[next];
+	}
+
+}
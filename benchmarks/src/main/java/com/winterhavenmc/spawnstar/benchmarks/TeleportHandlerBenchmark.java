@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks;
+
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.SpawnStarFixture;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportSession;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures {@link TeleportHandler#initiateTeleport} and the session lookup for a population of online
+ * players, a percentage of whom are warming up while the rest are cooling down. These are the repeated
+ * uses of an item that reach the teleport handler: each is answered with a warming or cooldown message,
+ * and leaves the player in the same phase, so every invocation does the same work.
+ * <p>
+ * Run with {@code -prof gc} to report the allocation rate alongside the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TeleportHandlerBenchmark
+{
+	@Param({"10", "100", "1000", "5000"})
+	private int players;
+
+	@Param({"0", "10", "50"})
+	private int warmingPercent;
+
+	private TeleportHandler teleportHandler;
+	private Player[] online;
+	private TeleportSession[] sessions;
+	private int next;
+
+
+	@Setup(Level.Trial)
+	public void startSessions()
+	{
+		final SpawnStarFixture fixture = new SpawnStarFixture(Map.of());
+		final List<FakePlayer> fakePlayers = fixture.addPlayers(players);
+		final int warmingCount = players * warmingPercent / 100;
+
+		fixture.startWarmups(fakePlayers.subList(0, warmingCount));
+		fixture.startCooldowns(fakePlayers.subList(warmingCount, players));
+
+		teleportHandler = fixture.teleportHandler();
+		online = new Player[players];
+		sessions = new TeleportSession[players];
+		for (int i = 0; i < players; i++)
+		{
+			online[i] = fakePlayers.get(i).player();
+			sessions[i] = teleportHandler.getSession(online[i]);
+		}
+	}
+
+
+	@Benchmark
+	public void initiateTeleport()
+	{
+		next = next + 1 < online.length ? next + 1 : 0;
+		teleportHandler.initiateTeleport(online[next], sessions[next]);
+	}
+
+
+	@Benchmark
+	public boolean findSessionIsWarming()
+	{
+		next = next + 1 < online.length ? next + 1 : 0;
+		final TeleportSession session = teleportHandler.findSession(online[next]);
+		return session != null && session.isWarmingUp();
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import org.bukkit.Location;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.EquipmentSlot;
+
+import java.util.ArrayList;
+
+
+/**
+ * Creates the events a client causes for a {@link FakePlayer}, as the server would fire them.
+ * Damage and death events carry a damage source stand-in, so no damage type registry is needed.
+ */
+public final class FakeEvents
+{
+	private static final DamageSource DAMAGE_SOURCE = Fakes.proxy(DamageSource.class, "DamageSource", (method, args) -> Fakes.UNHANDLED);
+
+
+	private FakeEvents() { }
+
+
+	/**
+	 * Create the event of a player right-clicking the air with the item in their main hand
+	 *
+	 * @param player the player
+	 * @return the interact event
+	 */
+	public static PlayerInteractEvent rightClickAir(final FakePlayer player)
+	{
+		return new PlayerInteractEvent(player.player(), Action.RIGHT_CLICK_AIR,
+				player.player().getInventory().getItemInMainHand(), null, null, EquipmentSlot.HAND);
+	}
+
+
+	/**
+	 * Create the event of a player moving or turning from a location to their current location
+	 *
+	 * @param player the player, already at the new location
+	 * @param from   the previous location of the player
+	 * @return the move event
+	 */
+	public static PlayerMoveEvent move(final FakePlayer player, final Location from)
+	{
+		return new PlayerMoveEvent(player.player(), from, player.location());
+	}
+
+
+	/**
+	 * Create the event of a player being hit by another entity
+	 *
+	 * @param player the player
+	 * @param damage the amount of damage
+	 * @return the damage event
+	 */
+	public static EntityDamageEvent damage(final FakePlayer player, final double damage)
+	{
+		return new EntityDamageEvent(player.player(), EntityDamageEvent.DamageCause.ENTITY_ATTACK, DAMAGE_SOURCE, damage);
+	}
+
+
+	/**
+	 * Create the event of a player dying, with no drops
+	 *
+	 * @param player the player
+	 * @return the death event
+	 */
+	public static PlayerDeathEvent death(final FakePlayer player)
+	{
+		return new PlayerDeathEvent(player.player(), DAMAGE_SOURCE, new ArrayList<>(), 0, player.player().getName() + " died");
+	}
+
+
+	/**
+	 * Create the event of a player leaving the server
+	 *
+	 * @param player the player
+	 * @return the quit event
+	 */
+	public static PlayerQuitEvent quit(final FakePlayer player)
+	{
+		return new PlayerQuitEvent(player.player(), player.player().getName() + " left the game");
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+
+/**
+ * An item stack whose {@link #getItemMeta()} returns a new meta instance on every call, like a server item
+ * stack. SpawnStar items carry the {@link #ITEM_KEY} persistent data key, and are similar to each other.
+ * The meta has no display name or lore.
+ */
+public final class FakeItemStack extends ItemStack
+{
+	public static final NamespacedKey ITEM_KEY = new NamespacedKey("spawnstar", "item");
+
+	private final Material material;
+	private final Set<NamespacedKey> keys;
+	private int amount;
+
+
+	public FakeItemStack(final Material material, final Set<NamespacedKey> keys)
+	{
+		this.material = material;
+		this.keys = keys;
+		this.amount = 1;
+	}
+
+
+	/**
+	 * Create a SpawnStar item
+	 *
+	 * @return a nether star carrying the item key
+	 */
+	public static FakeItemStack spawnStar()
+	{
+		return new FakeItemStack(Material.NETHER_STAR, Set.of(ITEM_KEY));
+	}
+
+
+	/**
+	 * Create an unrelated item
+	 *
+	 * @param material the item material
+	 * @return an item without persistent data keys
+	 */
+	public static FakeItemStack plain(final Material material)
+	{
+		return new FakeItemStack(material, Set.of());
+	}
+
+
+	/**
+	 * Test if an item stack is a SpawnStar item, by copying its meta like the message builder item check
+	 *
+	 * @param itemStack the item stack; may be {@code null}
+	 * @return {@code true} if the item carries the item key
+	 */
+	public static boolean isSpawnStar(final ItemStack itemStack)
+	{
+		if (itemStack == null)
+		{
+			return false;
+		}
+		final ItemMeta meta = itemStack.getItemMeta();
+		return meta != null && meta.getPersistentDataContainer().has(ITEM_KEY);
+	}
+
+
+	@Override
+	public Material getType()
+	{
+		return material;
+	}
+
+
+	@Override
+	public int getAmount()
+	{
+		return amount;
+	}
+
+
+	@Override
+	public void setAmount(final int amount)
+	{
+		this.amount = amount;
+	}
+
+
+	@Override
+	public boolean isSimilar(final ItemStack other)
+	{
+		return other instanceof FakeItemStack fake && fake.material == material && fake.keys.equals(keys);
+	}
+
+
+	@Override
+	public boolean hasItemMeta()
+	{
+		return !keys.isEmpty() || material == Material.NETHER_STAR;
+	}
+
+
+	@Override
+	public ItemMeta getItemMeta()
+	{
+		final PersistentDataContainer container = (PersistentDataContainer) Proxy.newProxyInstance(
+				PersistentDataContainer.class.getClassLoader(), new Class<?>[] { PersistentDataContainer.class },
+				(proxy, method, args) -> switch (method.getName())
+				{
+					case "has" -> keys.contains(args[0]);
+					case "getKeys" -> keys;
+					case "isEmpty" -> keys.isEmpty();
+					default -> Fakes.emptyValue(method.getReturnType());
+				});
+
+		return (ItemMeta) Proxy.newProxyInstance(
+				ItemMeta.class.getClassLoader(), new Class<?>[] { ItemMeta.class },
+				(proxy, method, args) ->
+				{
+					if (method.getName().equals("getPersistentDataContainer"))
+					{
+						return container;
+					}
+					return Fakes.emptyValue(method.getReturnType());
+				});
+	}
+
+
+	@Override
+	public FakeItemStack clone()
+	{
+		final FakeItemStack copy = new FakeItemStack(material, keys);
+		copy.amount = amount;
+		return copy;
+	}
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.UUID;
+
+
+/**
+ * An online player with a position, an item in the main hand, and every permission. Teleports move the
+ * player at once, and chat messages are counted instead of sent, keeping the text of the last one.
+ */
+public final class FakePlayer
+{
+	private final FakeServer server;
+	private final UUID uid;
+	private final String name;
+	private final Player player;
+	private final PlayerInventory inventory;
+	private FakeWorld world;
+	private double x;
+	private double y;
+	private double z;
+	private float yaw;
+	private ItemStack mainHand;
+	private boolean sneaking;
+	private boolean online = true;
+	private long messages;
+	private String lastMessage;
+	private long teleports;
+
+
+	FakePlayer(final FakeServer server, final String name, final FakeWorld world, final double x, final double y, final double z)
+	{
+		this.server = server;
+		this.uid = UUID.nameUUIDFromBytes(("player:" + name).getBytes());
+		this.name = name;
+		this.world = world;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+
+		this.inventory = Fakes.proxy(PlayerInventory.class, name + ".inventory", (method, args) -> switch (method.getName())
+		{
+			case "getItemInMainHand" -> mainHand;
+			case "setItemInMainHand", "setItemInHand" ->
+			{
+				mainHand = (ItemStack) args[0];
+				yield null;
+			}
+			case "iterator" -> (mainHand == null ? new ArrayList<ItemStack>() : Arrays.asList(mainHand)).iterator();
+			case "getContents", "getStorageContents" -> new ItemStack[] { mainHand };
+			case "addItem", "removeItem" -> new HashMap<Integer, ItemStack>();
+			case "getSize" -> 36;
+			default -> Fakes.UNHANDLED;
+		});
+
+		this.player = Fakes.proxy(Player.class, name, (method, args) -> switch (method.getName())
+		{
+			case "getUniqueId" -> uid;
+			case "getName", "getDisplayName" -> name;
+			case "getLocation" -> location();
+			case "getWorld" -> this.world.world();
+			case "getInventory" -> inventory;
+			case "getServer" -> server.server();
+			case "hasPermission" -> true;
+			case "isSneaking" -> sneaking;
+			case "isOnline", "isValid" -> online;
+			case "canSee" -> true;
+			case "teleport" -> teleport((Location) args[0]);
+			case "sendMessage" ->
+			{
+				messages++;
+				lastMessage = args[args.length - 1] instanceof String[] lines
+						? String.join("\n", lines)
+						: String.valueOf(args[args.length - 1]);
+				yield null;
+			}
+			default -> Fakes.UNHANDLED;
+		});
+	}
+
+
+	/**
+	 * Get the player
+	 *
+	 * @return the player stand-in
+	 */
+	public Player player()
+	{
+		return player;
+	}
+
+
+	/**
+	 * Get the unique id of the player
+	 *
+	 * @return the player uuid
+	 */
+	public UUID uid()
+	{
+		return uid;
+	}
+
+
+	/**
+	 * Get the world the player is in
+	 *
+	 * @return the current world
+	 */
+	public FakeWorld world()
+	{
+		return world;
+	}
+
+
+	/**
+	 * Get a new copy of the player location
+	 *
+	 * @return the player location
+	 */
+	public Location location()
+	{
+		return new Location(world.world(), x, y, z, yaw, 0.0f);
+	}
+
+
+	/**
+	 * Move the player within the current world
+	 */
+	public void moveTo(final double x, final double y, final double z)
+	{
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+
+	/**
+	 * Turn the head of the player, without moving
+	 */
+	public void turn(final float yaw)
+	{
+		this.yaw = yaw;
+	}
+
+
+	public void setItemInMainHand(final ItemStack itemStack)
+	{
+		this.mainHand = itemStack;
+	}
+
+
+	public void setSneaking(final boolean sneaking)
+	{
+		this.sneaking = sneaking;
+	}
+
+
+	/**
+	 * Get the number of chat messages sent to the player
+	 *
+	 * @return the message count
+	 */
+	public long messages()
+	{
+		return messages;
+	}
+
+
+	/**
+	 * Get the text of the last chat message sent to the player
+	 *
+	 * @return the message text, or {@code null} if no message was sent
+	 */
+	public String lastMessage()
+	{
+		return lastMessage;
+	}
+
+
+	/**
+	 * Get the number of times the player was teleported
+	 *
+	 * @return the teleport count
+	 */
+	public long teleports()
+	{
+		return teleports;
+	}
+
+
+	void setOnline(final boolean online)
+	{
+		this.online = online;
+	}
+
+
+	private boolean teleport(final Location destination)
+	{
+		final FakeWorld destinationWorld = server.world(destination.getWorld());
+		if (destinationWorld != world)
+		{
+			world.removePlayer(player);
+			destinationWorld.addPlayer(player);
+			world = destinationWorld;
+		}
+		moveTo(destination.getX(), destination.getY(), destination.getZ());
+		teleports++;
+		return true;
+	}
+
+}
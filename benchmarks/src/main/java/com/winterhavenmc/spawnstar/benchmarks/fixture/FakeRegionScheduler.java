@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TickWheel;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * A single threaded stand-in for the Folia region schedulers, so the region threaded paths of the
+ * teleport engine can be run against the fake server. As on Folia, actions handed to another thread
+ * run on a later tick instead of inline, entity actions are dropped once the entity is no longer valid,
+ * and teleports complete on the tick after they are requested.
+ */
+public final class FakeRegionScheduler implements TaskScheduler
+{
+	private final TickWheel wheel;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param wheel the timing wheel that stands in for every region
+	 */
+	public FakeRegionScheduler(final TickWheel wheel)
+	{
+		this.wheel = Objects.requireNonNull(wheel);
+	}
+
+
+	@Override
+	public Task runGlobalTimer(final Runnable action, final long delay, final long period)
+	{
+		return wheel.scheduleRepeating(action, delay, period)::cancel;
+	}
+
+
+	@Override
+	public void executeGlobal(final Runnable action)
+	{
+		wheel.schedule(action, 1L);
+	}
+
+
+	@Override
+	public Task runForEntity(final Entity entity, final Runnable action, final long delay)
+	{
+		return wheel.schedule(() ->
+		{
+			if (entity.isValid())
+			{
+				action.run();
+			}
+		}, delay)::cancel;
+	}
+
+
+	@Override
+	public void executeForEntity(final Entity entity, final Runnable action)
+	{
+		runForEntity(entity, action, 1L);
+	}
+
+
+	@Override
+	public CompletableFuture<Boolean> teleport(final Player player, final Location destination)
+	{
+		final CompletableFuture<Boolean> future = new CompletableFuture<>();
+		wheel.schedule(() -> future.complete(player.teleport(destination)), 1L);
+		return future;
+	}
+
+
+	@Override
+	public boolean isRegionThreaded()
+	{
+		return true;
+	}
+
+}
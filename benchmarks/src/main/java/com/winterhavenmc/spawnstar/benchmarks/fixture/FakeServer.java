@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+
+/**
+ * An in-process stand-in for the server and the SpawnStar plugin: worlds, online players, and a plugin
+ * with a data folder, the default configuration and the language files. There is no scheduler; callers
+ * drive the tick loop directly.
+ * <p>
+ * Listeners registered with the plugin manager are added to the static handler lists of their event
+ * classes, as on a server, so {@link HandlerList#unregisterAll(Listener)} removes them. Events passed to
+ * {@link #callEvent(Event)} are dispatched to the registered handlers in priority order.
+ * <p>
+ * The static {@link Bukkit} server can only be set once, so it is set to a stand-in that forwards every
+ * call to the most recently created fake server.
+ */
+public final class FakeServer
+{
+	private static volatile FakeServer installed;
+
+	private final Map<UUID, FakeWorld> worlds = new LinkedHashMap<>();
+	private final Map<UUID, FakePlayer> players = new LinkedHashMap<>();
+	private final List<Player> onlinePlayers = new ArrayList<>();
+	private final Path dataFolder;
+	private final YamlConfiguration config;
+	private final Server server;
+	private final Plugin plugin;
+
+
+	/**
+	 * Class constructor. The plugin configuration is read from the default {@code config.yml}.
+	 */
+	public FakeServer()
+	{
+		try
+		{
+			this.dataFolder = Files.createTempDirectory("spawnstar-fixture");
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+		this.config = loadDefaultConfig();
+
+		final PluginManager pluginManager = Fakes.proxy(PluginManager.class, "PluginManager", (method, args) -> switch (method.getName())
+		{
+			case "registerEvents" ->
+			{
+				registerEvents((Listener) args[0], (Plugin) args[1]);
+				yield null;
+			}
+			case "callEvent" -> callEvent((Event) args[0]);
+			default -> Fakes.UNHANDLED;
+		});
+		final BukkitScheduler scheduler = Fakes.proxy(BukkitScheduler.class, "BukkitScheduler", (method, args) -> Fakes.UNHANDLED);
+		final ConsoleCommandSender console = Fakes.proxy(ConsoleCommandSender.class, "CONSOLE", (method, args) -> switch (method.getName())
+		{
+			case "getName" -> "CONSOLE";
+			case "hasPermission" -> true;
+			default -> Fakes.UNHANDLED;
+		});
+
+		this.server = Fakes.proxy(Server.class, "FakeServer", (method, args) -> switch (method.getName())
+		{
+			case "getWorlds" -> worlds.values().stream().map(FakeWorld::world).toList();
+			case "getWorld" -> args[0] instanceof UUID uid ? worldStandIn(worlds.get(uid)) : worldStandIn(worldNamed((String) args[0]));
+			case "getPlayer" -> args[0] instanceof UUID uid ? playerStandIn(players.get(uid)) : playerStandIn(playerNamed((String) args[0]));
+			case "getOnlinePlayers" -> List.copyOf(onlinePlayers);
+			case "getPluginManager" -> pluginManager;
+			case "getScheduler" -> scheduler;
+			case "getConsoleSender" -> console;
+			case "getLogger" -> Fakes.LOGGER;
+			case "getName" -> "FakeServer";
+			case "getVersion", "getBukkitVersion" -> "1.21.10-R0.1-SNAPSHOT";
+			case "isPrimaryThread" -> true;
+			default -> Fakes.UNHANDLED;
+		});
+
+		final PluginDescriptionFile description = new PluginDescriptionFile("SpawnStar", "2.0.0-SNAPSHOT",
+				"com.winterhavenmc.spawnstar.plugin.Bootstrap");
+		this.plugin = Fakes.proxy(Plugin.class, "SpawnStar", (method, args) -> switch (method.getName())
+		{
+			case "getServer" -> server;
+			case "getConfig" -> config;
+			case "getLogger" -> Fakes.LOGGER;
+			case "getName" -> "SpawnStar";
+			case "getDataFolder" -> dataFolder.toFile();
+			case "getDescription" -> description;
+			case "getResource" -> FakeServer.class.getClassLoader().getResourceAsStream((String) args[0]);
+			case "isEnabled" -> true;
+			default -> Fakes.UNHANDLED;
+		});
+
+		install(this);
+	}
+
+
+	/**
+	 * Get the server
+	 *
+	 * @return the server stand-in
+	 */
+	public Server server()
+	{
+		return server;
+	}
+
+
+	/**
+	 * Get the plugin
+	 *
+	 * @return the plugin stand-in
+	 */
+	public Plugin plugin()
+	{
+		return plugin;
+	}
+
+
+	/**
+	 * Get the plugin configuration, which may be changed before the plugin settings are reloaded
+	 *
+	 * @return the plugin configuration
+	 */
+	public YamlConfiguration config()
+	{
+		return config;
+	}
+
+
+	/**
+	 * Create a world
+	 *
+	 * @param name        the world name
+	 * @param environment the world environment
+	 * @return the new world
+	 */
+	public FakeWorld addWorld(final String name, final World.Environment environment)
+	{
+		final FakeWorld world = new FakeWorld(name, environment);
+		worlds.put(world.world().getUID(), world);
+		return world;
+	}
+
+
+	/**
+	 * Unload a world. The server does not check that the world is empty.
+	 *
+	 * @param world the world
+	 */
+	public void removeWorld(final FakeWorld world)
+	{
+		worlds.remove(world.world().getUID());
+	}
+
+
+	/**
+	 * Log in a new player
+	 *
+	 * @param name  the player name
+	 * @param world the world the player is in
+	 * @param x     the x coordinate of the player
+	 * @param y     the y coordinate of the player
+	 * @param z     the z coordinate of the player
+	 * @return the new player
+	 */
+	public FakePlayer addPlayer(final String name, final FakeWorld world, final double x, final double y, final double z)
+	{
+		final FakePlayer player = new FakePlayer(this, name, world, x, y, z);
+		players.put(player.uid(), player);
+		onlinePlayers.add(player.player());
+		world.addPlayer(player.player());
+		return player;
+	}
+
+
+	/**
+	 * Log out a player
+	 *
+	 * @param player the player
+	 */
+	public void removePlayer(final FakePlayer player)
+	{
+		players.remove(player.uid());
+		onlinePlayers.remove(player.player());
+		player.world().removePlayer(player.player());
+		player.setOnline(false);
+	}
+
+
+	/**
+	 * Get the online players
+	 *
+	 * @return the players, in login order
+	 */
+	public List<FakePlayer> players()
+	{
+		return List.copyOf(players.values());
+	}
+
+
+	/**
+	 * Dispatch an event to the registered handlers. An exception thrown by a handler is rethrown,
+	 * instead of being logged as it would be by a server.
+	 *
+	 * @param event the event
+	 * @return the event, after every handler has run
+	 */
+	public <T extends Event> T callEvent(final T event)
+	{
+		for (RegisteredListener registered : event.getHandlers().getRegisteredListeners())
+		{
+			try
+			{
+				registered.callEvent(event);
+			}
+			catch (EventException exception)
+			{
+				throw new IllegalStateException("Event handler failed for " + event.getClass().getSimpleName(), exception.getCause());
+			}
+		}
+		return event;
+	}
+
+
+	FakeWorld world(final World world)
+	{
+		return Objects.requireNonNull(worlds.get(world.getUID()), "unknown world");
+	}
+
+
+	private FakeWorld worldNamed(final String name)
+	{
+		return worlds.values().stream().filter(world -> world.name().equals(name)).findFirst().orElse(null);
+	}
+
+
+	private FakePlayer playerNamed(final String name)
+	{
+		return players.values().stream().filter(player -> player.player().getName().equals(name)).findFirst().orElse(null);
+	}
+
+
+	private static void registerEvents(final Listener listener, final Plugin owner)
+	{
+		for (Method method : listener.getClass().getDeclaredMethods())
+		{
+			final EventHandler handler = method.getAnnotation(EventHandler.class);
+			if (handler == null || method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0]))
+			{
+				continue;
+			}
+
+			final Class<?> eventClass = method.getParameterTypes()[0];
+			method.setAccessible(true);
+			final EventExecutor executor = (target, event) ->
+			{
+				if (!eventClass.isInstance(event))
+				{
+					return;
+				}
+				try
+				{
+					method.invoke(target, event);
+				}
+				catch (InvocationTargetException exception)
+				{
+					throw new EventException(exception.getCause());
+				}
+				catch (IllegalAccessException exception)
+				{
+					throw new EventException(exception);
+				}
+			};
+			handlerList(eventClass).register(new RegisteredListener(listener, executor, handler.priority(), owner, handler.ignoreCancelled()));
+		}
+	}
+
+
+	private static HandlerList handlerList(final Class<?> eventClass)
+	{
+		// the handler list is declared by the event class or the nearest superclass that has one
+		for (Class<?> type = eventClass; type != null; type = type.getSuperclass())
+		{
+			try
+			{
+				final Method getHandlerList = type.getDeclaredMethod("getHandlerList");
+				getHandlerList.setAccessible(true);
+				return (HandlerList) getHandlerList.invoke(null);
+			}
+			catch (NoSuchMethodException exception)
+			{
+				// try the superclass
+			}
+			catch (ReflectiveOperationException exception)
+			{
+				throw new IllegalStateException("Could not get the handler list of " + eventClass.getName(), exception);
+			}
+		}
+		throw new IllegalArgumentException("No handler list for " + eventClass.getName());
+	}
+
+
+	private static World worldStandIn(final FakeWorld world)
+	{
+		return world == null ? null : world.world();
+	}
+
+
+	private static Player playerStandIn(final FakePlayer player)
+	{
+		return player == null ? null : player.player();
+	}
+
+
+	private static YamlConfiguration loadDefaultConfig()
+	{
+		final InputStream stream = FakeServer.class.getClassLoader().getResourceAsStream("config.yml");
+		if (stream == null)
+		{
+			return new YamlConfiguration();
+		}
+		try (InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8))
+		{
+			return YamlConfiguration.loadConfiguration(reader);
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+
+	private static synchronized void install(final FakeServer fakeServer)
+	{
+		installed = fakeServer;
+		if (Bukkit.getServer() == null)
+		{
+			Bukkit.setServer(Fakes.proxy(Server.class, "Bukkit", (method, args) ->
+			{
+				try
+				{
+					return method.invoke(installed.server, args);
+				}
+				catch (InvocationTargetException exception)
+				{
+					throw exception.getCause();
+				}
+			}));
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * A world with a fixed spawn location, whose chunks are always loaded
+ */
+public final class FakeWorld
+{
+	private final String name;
+	private final UUID uid;
+	private final World.Environment environment;
+	private final List<Player> players = new ArrayList<>();
+	private final World world;
+	private final Location spawn;
+
+
+	FakeWorld(final String name, final World.Environment environment)
+	{
+		this.name = name;
+		this.uid = UUID.nameUUIDFromBytes(name.getBytes());
+		this.environment = environment;
+		this.world = Fakes.proxy(World.class, name, (method, args) -> switch (method.getName())
+		{
+			case "getUID" -> uid;
+			case "getName" -> name;
+			case "getEnvironment" -> environment;
+			case "getSpawnLocation" -> spawnLocation();
+			case "getPlayers" -> List.copyOf(players);
+			case "isChunkLoaded", "loadChunk", "addPluginChunkTicket", "removePluginChunkTicket" -> true;
+			default -> Fakes.UNHANDLED;
+		});
+		this.spawn = new Location(world, 0.5d, 64.0d, 0.5d);
+	}
+
+
+	/**
+	 * Get the world
+	 *
+	 * @return the world stand-in
+	 */
+	public World world()
+	{
+		return world;
+	}
+
+
+	/**
+	 * Get the name of the world
+	 *
+	 * @return the world name
+	 */
+	public String name()
+	{
+		return name;
+	}
+
+
+	/**
+	 * Get a copy of the spawn location
+	 *
+	 * @return the spawn location
+	 */
+	public Location spawnLocation()
+	{
+		return spawn.clone();
+	}
+
+
+	/**
+	 * Get the environment of the world
+	 *
+	 * @return the world environment
+	 */
+	public World.Environment environment()
+	{
+		return environment;
+	}
+
+
+	void addPlayer(final Player player)
+	{
+		players.add(player);
+	}
+
+
+	void removePlayer(final Player player)
+	{
+		players.remove(player);
+	}
+
+}
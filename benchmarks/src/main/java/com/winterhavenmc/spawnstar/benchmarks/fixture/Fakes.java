@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Creates lightweight stand-ins for server API interfaces from dynamic proxies. Each stand-in answers the
+ * methods the plugin uses, and every other method returns an empty value for its return type: zero,
+ * false, an empty collection or optional, or null.
+ */
+final class Fakes
+{
+	/**
+	 * Returned by an answer for a method it does not handle
+	 */
+	static final Object UNHANDLED = new Object();
+
+	static final Logger LOGGER = quietLogger();
+
+
+	/**
+	 * Answers the methods of a stand-in
+	 */
+	@FunctionalInterface
+	interface Answer
+	{
+		Object answer(Method method, Object[] args) throws Throwable;
+	}
+
+
+	private Fakes() { }
+
+
+	/**
+	 * Create a stand-in for an interface
+	 *
+	 * @param type   the interface
+	 * @param name   the name returned by {@code toString}
+	 * @param answer answers the handled methods, returning {@link #UNHANDLED} for all others
+	 * @return the stand-in
+	 */
+	static <T> T proxy(final Class<T> type, final String name, final Answer answer)
+	{
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) ->
+		{
+			if (method.getDeclaringClass() == Object.class)
+			{
+				return switch (method.getName())
+				{
+					case "equals" -> proxy == args[0];
+					case "hashCode" -> System.identityHashCode(proxy);
+					default -> name;
+				};
+			}
+
+			final Object result = answer.answer(method, args == null ? new Object[0] : args);
+			return result == UNHANDLED ? emptyValue(method.getReturnType()) : result;
+		}));
+	}
+
+
+	static Object emptyValue(final Class<?> type)
+	{
+		if (type == boolean.class) return false;
+		if (type == int.class) return 0;
+		if (type == long.class) return 0L;
+		if (type == double.class) return 0.0d;
+		if (type == float.class) return 0.0f;
+		if (type == short.class) return (short) 0;
+		if (type == byte.class) return (byte) 0;
+		if (type == char.class) return '\0';
+		if (type == String.class) return "";
+		if (type == Optional.class) return Optional.empty();
+		if (type == Set.class) return Set.of();
+		if (type == Map.class) return Map.of();
+		if (type.isAssignableFrom(List.class) && Collection.class.isAssignableFrom(type)) return List.of();
+		if (type == Logger.class) return LOGGER;
+		return null;
+	}
+
+
+	private static Logger quietLogger()
+	{
+		final Logger logger = Logger.getLogger("SpawnStarFixture");
+		logger.setLevel(Level.WARNING);
+		return logger;
+	}
+
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.adapters.commands.bukkit.BukkitCommandDispatcher;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitEntityDamageListener;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitListenerRegistry;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitListenerRegistry.Condition;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitPlayerEventListener;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitPlayerMoveListener;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitWorldEventListener;
+import com.winterhavenmc.spawnstar.adapters.scheduler.bukkit.BukkitTaskScheduler;
+import com.winterhavenmc.spawnstar.core.items.ItemRecognizer;
+import com.winterhavenmc.spawnstar.core.persistence.CooldownStore;
+import com.winterhavenmc.spawnstar.core.persistence.UsageLog;
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.scheduler.TickWheel;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+import com.winterhavenmc.spawnstar.core.teleport.WorldLinkIndex;
+
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Boots the SpawnStar teleport engine and player listeners against a {@link FakeServer}, wired as in the
+ * plugin bootstrap, except that cooldowns and usage are not persisted and the item check is the
+ * {@link FakeItemStack} check. The tick wheel is advanced by {@link #tick()} instead of a server task, and
+ * time is read from a {@link VirtualTickClock}, so cooldowns as well as warmups follow the ticks.
+ * <p>
+ * The fixture settings differ from the plugin defaults so that every scripted player can use an item:
+ * shift-click is not required, items are never removed, and the destination is not preloaded. Warmups
+ * and cooldowns last an hour, so players stay in the phase they were put in until they are ticked there.
+ * <p>
+ * The listeners are called directly unless {@link #registerListeners()} is called, which registers them
+ * through a listener registry and creates the command dispatcher, so that events and commands can be
+ * dispatched by the fake server.
+ * <p>
+ * Tasks run on the single threaded scheduler unless the fixture is created region threaded, in which
+ * case a {@link FakeRegionScheduler} stands in for the Folia schedulers.
+ */
+public final class SpawnStarFixture
+{
+	private static final Map<String, Object> FIXTURE_SETTINGS = fixtureSettings();
+
+	private final FakeServer server;
+	private final FakeWorld world;
+	private final MessageBuilder messageBuilder;
+	private final SettingsHolder settings;
+	private final TickWheel wheel;
+	private final TaskScheduler scheduler;
+	private final TickClock clock;
+	private final TaskRegistry tasks;
+	private final WorldLinkIndex worldLinks;
+	private final ItemRecognizer itemRecognizer;
+	private final TeleportHandler teleportHandler;
+	private final BukkitPlayerEventListener playerListener;
+	private final BukkitPlayerMoveListener moveListener;
+	private final BukkitEntityDamageListener damageListener;
+	private BukkitListenerRegistry listeners;
+	private BukkitCommandDispatcher commandDispatcher;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param settingsOverrides configuration values that replace the fixture settings, by configuration key
+	 */
+	public SpawnStarFixture(final Map<String, Object> settingsOverrides)
+	{
+		this(settingsOverrides, false);
+	}
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param settingsOverrides configuration values that replace the fixture settings, by configuration key
+	 * @param regionThreaded    true to schedule tasks as on a region threaded server
+	 */
+	public SpawnStarFixture(final Map<String, Object> settingsOverrides, final boolean regionThreaded)
+	{
+		this.server = new FakeServer();
+		FIXTURE_SETTINGS.forEach(server.config()::set);
+		settingsOverrides.forEach(server.config()::set);
+
+		this.world = server.addWorld("world", World.Environment.NORMAL);
+		this.messageBuilder = MessageBuilder.create(server.plugin());
+		this.settings = new SettingsHolder(server.plugin());
+		this.wheel = new TickWheel(server.plugin().getLogger());
+		this.scheduler = regionThreaded
+				? new FakeRegionScheduler(wheel)
+				: new BukkitTaskScheduler(server.plugin(), wheel);
+		this.clock = new VirtualTickClock(wheel);
+		this.tasks = new TaskRegistry(scheduler, wheel, clock);
+
+		this.worldLinks = new WorldLinkIndex(server.plugin(), messageBuilder, settings);
+
+		this.itemRecognizer = new ItemRecognizer(FakeItemStack::isSpawnStar);
+		itemRecognizer.rebuild(List.of(settings.get().item().material()), FakeItemStack.spawnStar());
+		settings.onReload(newSettings -> itemRecognizer.rebuild(List.of(newSettings.item().material()), FakeItemStack.spawnStar()));
+
+		this.teleportHandler = new TeleportHandler(server.plugin(), messageBuilder, settings, tasks, scheduler,
+				clock, CooldownStore.NONE, worldLinks, UsageLog.NONE);
+		this.playerListener = new BukkitPlayerEventListener(server.plugin(), messageBuilder, settings, itemRecognizer, teleportHandler);
+		this.moveListener = new BukkitPlayerMoveListener(teleportHandler);
+		this.damageListener = new BukkitEntityDamageListener(teleportHandler);
+	}
+
+
+	/**
+	 * Register the listeners with the fake server plugin manager through a listener registry, with the
+	 * conditions used by the plugin bootstrap, and create the command dispatcher
+	 *
+	 * @return the listener registry
+	 */
+	public BukkitListenerRegistry registerListeners()
+	{
+		if (listeners == null)
+		{
+			listeners = new BukkitListenerRegistry(server.plugin(), settings, tasks);
+			listeners.add("player", playerListener, Condition.ALWAYS);
+			listeners.add("move", moveListener, (current, warmupsActive) -> warmupsActive && current.cancellation().handlesMoveEvents());
+			listeners.add("damage", damageListener, (current, warmupsActive) -> warmupsActive && current.cancellation().onDamage());
+			listeners.add("world", new BukkitWorldEventListener(worldLinks), Condition.ALWAYS);
+			teleportHandler.addWarmupObserver(listeners);
+
+			commandDispatcher = new BukkitCommandDispatcher(server.plugin(), messageBuilder, settings, listeners,
+					teleportHandler.stats(), teleportHandler.timings(), teleportHandler.messageFilter(),
+					tasks);
+		}
+		return listeners;
+	}
+
+
+	/**
+	 * Log in players holding a SpawnStar item, on a grid far enough from spawn to pass the minimum distance check
+	 *
+	 * @param count the number of players
+	 * @return the new players
+	 */
+	public List<FakePlayer> addPlayers(final int count)
+	{
+		final int first = server.players().size();
+		final List<FakePlayer> players = new ArrayList<>(count);
+		for (int i = first; i < first + count; i++)
+		{
+			final FakePlayer player = server.addPlayer("player" + i, world, 100.5d + (i % 100) * 2, 64.0d, 100.5d + (i / 100) * 2);
+			player.setItemInMainHand(FakeItemStack.spawnStar());
+			players.add(player);
+		}
+		return players;
+	}
+
+
+	/**
+	 * Change a configuration value and reload the settings
+	 *
+	 * @param key   the configuration key
+	 * @param value the new value
+	 */
+	public void reconfigure(final String key, final Object value)
+	{
+		server.config().set(key, value);
+		settings.reload();
+	}
+
+
+	/**
+	 * Put idle players into their cooldown, by teleporting them with no warmup
+	 *
+	 * @param players the players
+	 */
+	public void startCooldowns(final Collection<FakePlayer> players)
+	{
+		final long warmupSeconds = settings.get().teleport().warmup().toSeconds();
+		reconfigure("teleport-warmup", 0);
+		for (FakePlayer player : players)
+		{
+			teleportHandler.initiateTeleport(player.player(), teleportHandler.getSession(player.player()));
+		}
+		tick();
+		reconfigure("teleport-warmup", warmupSeconds);
+	}
+
+
+	/**
+	 * Start the warmup of idle players
+	 *
+	 * @param players the players
+	 */
+	public void startWarmups(final Collection<FakePlayer> players)
+	{
+		for (FakePlayer player : players)
+		{
+			teleportHandler.initiateTeleport(player.player(), teleportHandler.getSession(player.player()));
+		}
+	}
+
+
+	/**
+	 * Advance the tick wheel by one tick
+	 */
+	public void tick()
+	{
+		wheel.tick();
+	}
+
+
+	public FakeServer server()
+	{
+		return server;
+	}
+
+
+	public FakeWorld world()
+	{
+		return world;
+	}
+
+
+	public MessageBuilder messageBuilder()
+	{
+		return messageBuilder;
+	}
+
+
+	public SettingsHolder settings()
+	{
+		return settings;
+	}
+
+
+	public TickWheel wheel()
+	{
+		return wheel;
+	}
+
+
+	public TaskScheduler scheduler()
+	{
+		return scheduler;
+	}
+
+
+	public TickClock clock()
+	{
+		return clock;
+	}
+
+
+	public TaskRegistry tasks()
+	{
+		return tasks;
+	}
+
+
+	public ItemRecognizer itemRecognizer()
+	{
+		return itemRecognizer;
+	}
+
+
+	public TeleportHandler teleportHandler()
+	{
+		return teleportHandler;
+	}
+
+
+	public BukkitPlayerEventListener playerListener()
+	{
+		return playerListener;
+	}
+
+
+	public BukkitPlayerMoveListener moveListener()
+	{
+		return moveListener;
+	}
+
+
+	public BukkitEntityDamageListener damageListener()
+	{
+		return damageListener;
+	}
+
+
+	/**
+	 * Get the command dispatcher
+	 *
+	 * @return the command dispatcher, or {@code null} if the listeners have not been registered
+	 */
+	public BukkitCommandDispatcher commandDispatcher()
+	{
+		return commandDispatcher;
+	}
+
+
+	private static Map<String, Object> fixtureSettings()
+	{
+		final Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("teleport-warmup", 3600);
+		settings.put("teleport-cooldown", 3600);
+		settings.put("persist-cooldowns", false);
+		settings.put("preload-radius", -1);
+		settings.put("shift-click", false);
+		settings.put("remove-from-inventory", "never");
+		settings.put("cancel-on-movement", true);
+		settings.put("log-use", false);
+		settings.put("log-use-console", false);
+		return settings;
+	}
+
+}
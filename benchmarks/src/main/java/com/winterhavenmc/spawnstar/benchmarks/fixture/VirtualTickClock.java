@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.fixture;
+
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.scheduler.TickWheel;
+
+import java.util.Objects;
+
+
+/**
+ * A clock that follows the ticks of the wheel instead of the system clocks, so that cooldowns end after
+ * the same number of ticks however fast the ticks are run. Each tick lasts 50 milliseconds, as on a server
+ * that keeps up, and wall clock time starts at a fixed instant.
+ */
+public final class VirtualTickClock implements TickClock
+{
+	static final long NANOS_PER_TICK = 50_000_000L;
+
+	// 2025-01-01T00:00:00Z
+	private static final long START_MILLIS = 1_735_689_600_000L;
+
+	private final TickWheel wheel;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param wheel the timing wheel whose ticks are counted
+	 */
+	public VirtualTickClock(final TickWheel wheel)
+	{
+		this.wheel = Objects.requireNonNull(wheel);
+	}
+
+
+	@Override
+	public long currentTick()
+	{
+		return wheel.currentTick();
+	}
+
+
+	@Override
+	public long nanoTime()
+	{
+		return wheel.currentTick() * NANOS_PER_TICK;
+	}
+
+
+	@Override
+	public long currentTimeMillis()
+	{
+		return START_MILLIS + wheel.currentTick() * (NANOS_PER_TICK / 1_000_000L);
+	}
+
+}
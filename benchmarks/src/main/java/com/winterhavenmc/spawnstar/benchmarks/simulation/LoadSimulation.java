@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.simulation;
+
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitListenerRegistry;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeEvents;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeItemStack;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.SpawnStarFixture;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.Event;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+
+/**
+ * Runs the SpawnStar teleport engine, player listeners and command dispatcher against a fake server for
+ * simulated hours, driven by thousands of {@link SyntheticPlayer scripted players}. Events are dispatched
+ * through the listener registry as on a server, so the move and damage listeners are only called while
+ * warmups are pending. The tick loop runs as fast as the plugin allows; a simulated minute is 1200 ticks.
+ * <p>
+ * Each simulated minute, the {@code stats} command is run from the console and the plugin state is
+ * sampled; the {@code status} command is run every ten minutes. The report is written as described in
+ * {@link SimulationReport}. Run with:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.winterhavenmc.spawnstar.benchmarks.simulation.LoadSimulation \
+ *     --players 2000 --minutes 240 --seed 1 --label $(git rev-parse --short HEAD) --report simulation.csv
+ * </pre>
+ * Configuration values are changed with {@code --set key=value}, which may be repeated. Warmups and
+ * cooldowns follow the simulated ticks, however fast the loop runs. With {@code --region-threaded}, tasks are scheduled as on a Folia
+ * server, through the fixture's stand-in region scheduler.
+ */
+public final class LoadSimulation
+{
+	static final int TICKS_PER_SECOND = 20;
+
+	private static final int SAMPLE_INTERVAL_TICKS = 60 * TICKS_PER_SECOND;
+	private static final int STATUS_INTERVAL_TICKS = 10 * SAMPLE_INTERVAL_TICKS;
+
+	private static final String USAGE = "usage: LoadSimulation [--players n] [--minutes n] [--seed n]"
+			+ " [--label text] [--report file] [--region-threaded] [--set key=value]...";
+
+	private final Options options;
+	private final SpawnStarFixture fixture;
+	private final TeleportHandler teleportHandler;
+	private final BukkitListenerRegistry listeners;
+	private final CommandSender console;
+	private final Command command;
+	private final List<SyntheticPlayer> players = new ArrayList<>();
+	private final SimulationReport report;
+	private long pluginNanos;
+	private long events;
+	private long sampledEvents;
+
+
+	/**
+	 * Run a simulation
+	 *
+	 * @param args the command line options
+	 * @throws IOException if the report could not be written
+	 */
+	public static void main(final String[] args) throws IOException
+	{
+		final Options options;
+		try
+		{
+			options = Options.parse(args);
+		}
+		catch (IllegalArgumentException exception)
+		{
+			System.err.println(exception.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+
+		final LoadSimulation simulation = new LoadSimulation(options);
+		simulation.run();
+		System.out.print(simulation.report.summary());
+		System.out.println("report=" + options.report().toAbsolutePath());
+	}
+
+
+	private LoadSimulation(final Options options)
+	{
+		this.options = options;
+		this.fixture = new SpawnStarFixture(options.settings(), options.regionThreaded());
+		this.teleportHandler = fixture.teleportHandler();
+		this.listeners = fixture.registerListeners();
+		this.console = fixture.server().server().getConsoleSender();
+		this.command = new Command("spawnstar")
+		{
+			@Override
+			public boolean execute(final CommandSender sender, final String label, final String[] args)
+			{
+				return fixture.commandDispatcher().onCommand(sender, this, label, args);
+			}
+		};
+
+		final SplittableRandom random = new SplittableRandom(options.seed());
+		for (FakePlayer player : fixture.addPlayers(options.players()))
+		{
+			players.add(new SyntheticPlayer(this, player, random.split()));
+		}
+
+		this.report = new SimulationReport((long) options.minutes() * SAMPLE_INTERVAL_TICKS);
+		report.parameter("label", options.label());
+		report.parameter("players", options.players());
+		report.parameter("minutes", options.minutes());
+		report.parameter("seed", options.seed());
+		report.parameter("region-threaded", options.regionThreaded());
+		options.settings().forEach((key, value) -> report.parameter("setting." + key, value));
+		report.parameter("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version"));
+		report.parameter("processors", Runtime.getRuntime().availableProcessors());
+		report.parameter("max-heap-mb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+	}
+
+
+	private void run() throws IOException
+	{
+		final long totalTicks = (long) options.minutes() * SAMPLE_INTERVAL_TICKS;
+		final long wallStart = System.nanoTime();
+
+		for (long tick = 1; tick <= totalTicks; tick++)
+		{
+			pluginNanos = 0;
+
+			for (SyntheticPlayer player : players)
+			{
+				player.act(tick);
+			}
+
+			if (tick % SAMPLE_INTERVAL_TICKS == 0)
+			{
+				runCommand("stats");
+			}
+			if (tick % STATUS_INTERVAL_TICKS == 0)
+			{
+				runCommand("status");
+			}
+
+			final long start = System.nanoTime();
+			fixture.tick();
+			pluginNanos += System.nanoTime() - start;
+
+			report.recordTick(pluginNanos);
+
+			if (tick % SAMPLE_INTERVAL_TICKS == 0)
+			{
+				report.sample(sample(tick));
+			}
+		}
+
+		report.finish(System.nanoTime() - wallStart, events, teleportHandler.stats());
+		report.write(options.report());
+	}
+
+
+	/**
+	 * Dispatch an event to the plugin, adding the handler time to the cost of the current tick
+	 *
+	 * @param event the event
+	 */
+	void dispatch(final Event event)
+	{
+		final long start = System.nanoTime();
+		fixture.server().callEvent(event);
+		pluginNanos += System.nanoTime() - start;
+		events++;
+	}
+
+
+	/**
+	 * Log in a player again, holding a new SpawnStar item
+	 *
+	 * @param name the player name
+	 * @param x    the x coordinate of the player
+	 * @param z    the z coordinate of the player
+	 * @return the player
+	 */
+	FakePlayer join(final String name, final double x, final double z)
+	{
+		final FakePlayer player = fixture.server().addPlayer(name, fixture.world(), x, 64.0d, z);
+		player.setItemInMainHand(FakeItemStack.spawnStar());
+		return player;
+	}
+
+
+	/**
+	 * Log out a player, after dispatching their quit event
+	 *
+	 * @param player the player
+	 */
+	void quit(final FakePlayer player)
+	{
+		dispatch(FakeEvents.quit(player));
+		fixture.server().removePlayer(player);
+	}
+
+
+	boolean isWarmingUp(final FakePlayer player)
+	{
+		return teleportHandler.isWarmingUp(player.player());
+	}
+
+
+	long warmupTicks()
+	{
+		return fixture.settings().get().teleport().warmup().toMillis() / (1000 / TICKS_PER_SECOND);
+	}
+
+
+	private void runCommand(final String... args)
+	{
+		final long start = System.nanoTime();
+		command.execute(console, "spawnstar", args);
+		pluginNanos += System.nanoTime() - start;
+	}
+
+
+	private SimulationReport.Sample sample(final long tick)
+	{
+		final TeleportStats stats = teleportHandler.stats();
+		long cancelled = 0;
+		for (TeleportStats.Counter counter : TeleportStats.Counter.values())
+		{
+			if (counter.name().startsWith("CANCELLED_"))
+			{
+				cancelled += stats.get(counter);
+			}
+		}
+
+		final long intervalEvents = events - sampledEvents;
+		sampledEvents = events;
+
+		return new SimulationReport.Sample(tick / SAMPLE_INTERVAL_TICKS,
+				(int) players.stream().filter(SyntheticPlayer::isOnline).count(),
+				teleportHandler.sessionCount(),
+				teleportHandler.activeWarmups(),
+				teleportHandler.cooldownCount(),
+				fixture.wheel().size(),
+				listeners.registeredListeners().size(),
+				intervalEvents,
+				stats.get(TeleportStats.Counter.USES),
+				stats.get(TeleportStats.Counter.COMPLETIONS),
+				cancelled,
+				usedHeapMegabytes());
+	}
+
+
+	private static double usedHeapMegabytes()
+	{
+		// collect first, so the sample shows retained objects rather than garbage
+		System.gc();
+		final Runtime runtime = Runtime.getRuntime();
+		return (runtime.totalMemory() - runtime.freeMemory()) / (1024.0d * 1024.0d);
+	}
+
+
+	/**
+	 * The command line options
+	 *
+	 * @param players        the number of players
+	 * @param minutes        the simulated run time
+	 * @param seed           the seed of the player scripts
+	 * @param label          a label for the report, such as the commit id
+	 * @param report         the report file
+	 * @param regionThreaded true to schedule tasks as on a region threaded server
+	 * @param settings       the configuration values, by configuration key
+	 */
+	record Options(int players, int minutes, long seed, String label, Path report, boolean regionThreaded,
+			Map<String, Object> settings)
+	{
+		static Options parse(final String[] args)
+		{
+			int players = 2000;
+			int minutes = 60;
+			long seed = 1L;
+			String label = "";
+			Path report = Path.of("spawnstar-simulation.csv");
+			boolean regionThreaded = false;
+			final Map<String, Object> settings = defaultSettings();
+
+			for (int i = 0; i < args.length; i++)
+			{
+				final String option = args[i];
+				if (option.equals("--region-threaded"))
+				{
+					regionThreaded = true;
+					continue;
+				}
+				if (i + 1 >= args.length)
+				{
+					throw new IllegalArgumentException("Missing value for " + option);
+				}
+				final String value = args[++i];
+				try
+				{
+					switch (option)
+					{
+						case "--players" -> players = Integer.parseInt(value);
+						case "--minutes" -> minutes = Integer.parseInt(value);
+						case "--seed" -> seed = Long.parseLong(value);
+						case "--label" -> label = value;
+						case "--report" -> report = Path.of(value);
+						case "--set" ->
+						{
+							final int separator = value.indexOf('=');
+							if (separator < 1)
+							{
+								throw new IllegalArgumentException("Expected key=value for --set: " + value);
+							}
+							settings.put(value.substring(0, separator), settingValue(value.substring(separator + 1)));
+						}
+						default -> throw new IllegalArgumentException("Unknown option: " + option);
+					}
+				}
+				catch (NumberFormatException exception)
+				{
+					throw new IllegalArgumentException("Not a number for " + option + ": " + value);
+				}
+			}
+
+			if (players < 1 || minutes < 1)
+			{
+				throw new IllegalArgumentException("Players and minutes must be positive.");
+			}
+			return new Options(players, minutes, seed, label, report, regionThreaded, settings);
+		}
+
+
+		/**
+		 * The plugin defaults that matter for load, with every cancellation enabled; cooldowns and
+		 * usage are not written to files, and items are kept so every player can use one again
+		 */
+		private static Map<String, Object> defaultSettings()
+		{
+			final Map<String, Object> settings = new LinkedHashMap<>();
+			settings.put("teleport-warmup", 5);
+			settings.put("teleport-cooldown", 60);
+			settings.put("shift-click", true);
+			settings.put("cancel-on-damage", true);
+			settings.put("cancel-on-movement", true);
+			settings.put("cancel-on-interaction", true);
+			settings.put("particle-effects", true);
+			settings.put("remove-from-inventory", "never");
+			return settings;
+		}
+
+
+		private static Object settingValue(final String value)
+		{
+			if (value.equals("true") || value.equals("false"))
+			{
+				return Boolean.parseBoolean(value);
+			}
+			try
+			{
+				return Integer.parseInt(value);
+			}
+			catch (NumberFormatException exception)
+			{
+				return value;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.simulation;
+
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Collects the per-tick cost and the periodic samples of a load simulation, and writes them as a CSV
+ * file with one row per sample. The run parameters are written before the rows and the totals after
+ * them, as {@code # key=value} comment lines, so that reports of different commits can be compared
+ * line by line.
+ * <p>
+ * The tick cost is the time spent in the plugin event handlers, commands and tick wheel during a tick,
+ * excluding the time spent by the simulation itself.
+ */
+final class SimulationReport
+{
+	private static final String COLUMNS = "minute,online,sessions,warming,cooldowns,wheel-entries,listeners,"
+			+ "events,uses,completions,cancelled,heap-mb,tick-mean-us,tick-p50-us,tick-p99-us,tick-max-us";
+
+	/**
+	 * The state of the plugin at a sample tick. Counts of uses, completions and cancellations are totals
+	 * since the start of the run; events are counted since the previous sample.
+	 */
+	record Sample(long minute, int online, int sessions, int warming, int cooldowns, int wheelEntries,
+	              int listeners, long events, long uses, long completions, long cancelled, double heapMegabytes) { }
+
+	private final Map<String, String> parameters = new LinkedHashMap<>();
+	private final Map<String, String> totals = new LinkedHashMap<>();
+	private final List<Sample> samples = new ArrayList<>();
+	private final List<String> rows = new ArrayList<>();
+	private final long[] tickNanos;
+	private int ticks;
+	private int sampledTicks;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param totalTicks the number of ticks of the run, for which the tick costs are allocated up front
+	 */
+	SimulationReport(final long totalTicks)
+	{
+		this.tickNanos = new long[Math.toIntExact(totalTicks)];
+	}
+
+
+	/**
+	 * Add a run parameter
+	 *
+	 * @param key   the parameter name
+	 * @param value the parameter value
+	 */
+	void parameter(final String key, final Object value)
+	{
+		parameters.put(key, String.valueOf(value));
+	}
+
+
+	/**
+	 * Record the cost of a tick
+	 *
+	 * @param nanos the time spent in the plugin during the tick
+	 */
+	void recordTick(final long nanos)
+	{
+		tickNanos[ticks++] = nanos;
+	}
+
+
+	/**
+	 * Add a sample, with the tick costs recorded since the previous sample
+	 *
+	 * @param sample the plugin state
+	 */
+	void sample(final Sample sample)
+	{
+		final long[] interval = Arrays.copyOfRange(tickNanos, sampledTicks, ticks);
+		sampledTicks = ticks;
+		Arrays.sort(interval);
+
+		samples.add(sample);
+		rows.add(String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f",
+				sample.minute(), sample.online(), sample.sessions(), sample.warming(), sample.cooldowns(),
+				sample.wheelEntries(), sample.listeners(), sample.events(), sample.uses(), sample.completions(),
+				sample.cancelled(), sample.heapMegabytes(), micros(mean(interval)), micros(percentile(interval, 0.50d)),
+				micros(percentile(interval, 0.99d)), micros(percentile(interval, 1.0d))));
+	}
+
+
+	/**
+	 * Compute the totals of the run, after the last sample
+	 *
+	 * @param wallNanos the wall clock time of the run
+	 * @param events    the number of events dispatched
+	 * @param stats     the teleport statistics of the plugin
+	 */
+	void finish(final long wallNanos, final long events, final TeleportStats stats)
+	{
+		final long[] sorted = Arrays.copyOf(tickNanos, ticks);
+		Arrays.sort(sorted);
+
+		total("wall-seconds", String.format(Locale.ROOT, "%.1f", wallNanos / 1e9d));
+		total("ticks", ticks);
+		total("events", events);
+		for (TeleportStats.Counter counter : TeleportStats.Counter.values())
+		{
+			total(counter.displayName(), stats.get(counter));
+		}
+		total("tick-mean-us", String.format(Locale.ROOT, "%.1f", micros(mean(sorted))));
+		total("tick-p50-us", String.format(Locale.ROOT, "%.1f", micros(percentile(sorted, 0.50d))));
+		total("tick-p99-us", String.format(Locale.ROOT, "%.1f", micros(percentile(sorted, 0.99d))));
+		total("tick-p999-us", String.format(Locale.ROOT, "%.1f", micros(percentile(sorted, 0.999d))));
+		total("tick-max-us", String.format(Locale.ROOT, "%.1f", micros(percentile(sorted, 1.0d))));
+		total("ticks-over-1ms", Arrays.stream(sorted).filter(nanos -> nanos > 1_000_000L).count());
+		total("max-sessions", samples.stream().mapToInt(Sample::sessions).max().orElse(0));
+		total("max-cooldowns", samples.stream().mapToInt(Sample::cooldowns).max().orElse(0));
+		total("max-wheel-entries", samples.stream().mapToInt(Sample::wheelEntries).max().orElse(0));
+		total("heap-first-mb", String.format(Locale.ROOT, "%.1f", samples.isEmpty() ? 0.0d : samples.getFirst().heapMegabytes()));
+		total("heap-last-mb", String.format(Locale.ROOT, "%.1f", samples.isEmpty() ? 0.0d : samples.getLast().heapMegabytes()));
+		total("heap-growth-mb-per-hour", String.format(Locale.ROOT, "%.2f", heapGrowthPerHour()));
+	}
+
+
+	/**
+	 * Write the report
+	 *
+	 * @param path the report file
+	 * @throws IOException if the file could not be written
+	 */
+	void write(final Path path) throws IOException
+	{
+		final List<String> lines = new ArrayList<>();
+		lines.add("# SpawnStar load simulation");
+		parameters.forEach((key, value) -> lines.add("# " + key + "=" + value));
+		lines.add(COLUMNS);
+		lines.addAll(rows);
+		totals.forEach((key, value) -> lines.add("# " + key + "=" + value));
+		Files.write(path, lines, StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Get the totals of the run
+	 *
+	 * @return one {@code key=value} line for each total
+	 */
+	String summary()
+	{
+		final StringBuilder builder = new StringBuilder();
+		totals.forEach((key, value) -> builder.append(key).append('=').append(value).append(System.lineSeparator()));
+		return builder.toString();
+	}
+
+
+	private void total(final String key, final Object value)
+	{
+		totals.put(key, String.valueOf(value));
+	}
+
+
+	/**
+	 * Get the least squares slope of the sampled heap use, skipping the first sample, which is taken
+	 * before the plugin state has built up
+	 */
+	private double heapGrowthPerHour()
+	{
+		final List<Sample> steady = samples.size() > 2 ? samples.subList(1, samples.size()) : samples;
+		final int n = steady.size();
+		if (n < 2)
+		{
+			return 0.0d;
+		}
+
+		double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+		for (Sample sample : steady)
+		{
+			final double x = sample.minute() / 60.0d;
+			sumX += x;
+			sumY += sample.heapMegabytes();
+			sumXY += x * sample.heapMegabytes();
+			sumXX += x * x;
+		}
+		final double denominator = n * sumXX - sumX * sumX;
+		return denominator == 0.0d ? 0.0d : (n * sumXY - sumX * sumY) / denominator;
+	}
+
+
+	private static double mean(final long[] values)
+	{
+		return values.length == 0 ? 0.0d : Arrays.stream(values).average().orElse(0.0d);
+	}
+
+
+	private static double percentile(final long[] sorted, final double quantile)
+	{
+		if (sorted.length == 0)
+		{
+			return 0.0d;
+		}
+		final int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+
+	private static double micros(final double nanos)
+	{
+		return nanos / 1000.0d;
+	}
+
+}
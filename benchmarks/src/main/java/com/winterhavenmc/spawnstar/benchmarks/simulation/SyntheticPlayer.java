@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.simulation;
+
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeEvents;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+
+import org.bukkit.Location;
+
+import java.util.SplittableRandom;
+
+
+/**
+ * A scripted player, which wanders around spawn, uses its SpawnStar item from time to time, and leaves
+ * and rejoins the server. When a warmup starts, the player picks what it will do before the warmup ends:
+ * most players wait, turning their head, and the others walk away, take damage, die, quit or click again
+ * at a random tick of the warmup. A player whose item use is refused sometimes clicks repeatedly, as
+ * players do while their cooldown runs.
+ * <p>
+ * Every action is drawn from the random generator of the player, so a run is repeatable for a seed.
+ */
+final class SyntheticPlayer
+{
+	// walking speed in blocks per tick
+	private static final double WALK_SPEED = 0.215d;
+
+	// distance from spawn beyond which walking players turn back
+	private static final double WANDER_RADIUS = 250.0d;
+
+	// ticks between clicks of a player clicking repeatedly
+	private static final int SPAM_INTERVAL_TICKS = 4;
+
+	private enum State { IDLE, WALKING, WARMING, SPAMMING, OFFLINE }
+
+	/**
+	 * What a player does during its warmup, chosen when the warmup starts
+	 */
+	private enum WarmupScript { WAIT, WALK_AWAY, TAKE_DAMAGE, DIE, QUIT, CLICK_AGAIN }
+
+	private final LoadSimulation simulation;
+	private final String name;
+	private final SplittableRandom random;
+	private FakePlayer player;
+	private State state = State.IDLE;
+	private WarmupScript script = WarmupScript.WAIT;
+	private long nextActionTick;
+	private long scriptTick;
+	private long teleports;
+	private double heading;
+	private int spamClicks;
+
+
+	SyntheticPlayer(final LoadSimulation simulation, final FakePlayer player, final SplittableRandom random)
+	{
+		this.simulation = simulation;
+		this.name = player.player().getName();
+		this.player = player;
+		this.random = random;
+
+		// spread the first actions of all players over the first minute
+		this.nextActionTick = random.nextLong(1, 60 * LoadSimulation.TICKS_PER_SECOND);
+	}
+
+
+	/**
+	 * Perform the actions of this player for a tick
+	 *
+	 * @param tick the current tick
+	 */
+	void act(final long tick)
+	{
+		switch (state)
+		{
+			case IDLE ->
+			{
+				if (tick >= nextActionTick)
+				{
+					decide(tick);
+				}
+				else if (random.nextInt(10) == 0)
+				{
+					turn();
+				}
+			}
+			case WALKING ->
+			{
+				step(WALK_SPEED);
+				if (tick >= nextActionTick)
+				{
+					idle(tick, 2, 20);
+				}
+			}
+			case WARMING ->
+			{
+				if (!simulation.isWarmingUp(player))
+				{
+					warmupEnded(tick);
+				}
+				else if (tick == scriptTick)
+				{
+					runScript(tick);
+				}
+				else if (random.nextInt(10) == 0)
+				{
+					turn();
+				}
+			}
+			case SPAMMING ->
+			{
+				if (tick >= nextActionTick)
+				{
+					click(tick);
+					if (state == State.SPAMMING)
+					{
+						spamClicks--;
+						nextActionTick = tick + SPAM_INTERVAL_TICKS;
+						if (spamClicks <= 0)
+						{
+							idle(tick, 5, 30);
+						}
+					}
+				}
+			}
+			case OFFLINE ->
+			{
+				if (tick >= nextActionTick)
+				{
+					player = simulation.join(name, random.nextDouble(-WANDER_RADIUS, WANDER_RADIUS), random.nextDouble(-WANDER_RADIUS, WANDER_RADIUS));
+					teleports = 0;
+					idle(tick, 5, 60);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Test if the player is online
+	 *
+	 * @return {@code true} if the player is online, {@code false} if not
+	 */
+	boolean isOnline()
+	{
+		return state != State.OFFLINE;
+	}
+
+
+	private void decide(final long tick)
+	{
+		final int roll = random.nextInt(100);
+		if (roll < 45)
+		{
+			walk(tick, 2, 20);
+		}
+		else if (roll < 80)
+		{
+			click(tick);
+		}
+		else if (roll < 97)
+		{
+			idle(tick, 2, 20);
+		}
+		else
+		{
+			quit(tick);
+		}
+	}
+
+
+	private void click(final long tick)
+	{
+		// sneak while clicking, so the item is used whether or not shift-click is required
+		player.setSneaking(true);
+		simulation.dispatch(FakeEvents.rightClickAir(player));
+		player.setSneaking(false);
+
+		if (state == State.WARMING)
+		{
+			return;
+		}
+
+		if (simulation.isWarmingUp(player))
+		{
+			state = State.WARMING;
+			script = pickScript();
+			scriptTick = tick + random.nextLong(1, Math.max(2, simulation.warmupTicks()));
+		}
+		else if (state != State.SPAMMING)
+		{
+			refused(tick);
+		}
+	}
+
+
+	private void refused(final long tick)
+	{
+		if (random.nextInt(4) == 0)
+		{
+			// most likely refused by the cooldown; click again and again
+			state = State.SPAMMING;
+			spamClicks = random.nextInt(5, 20);
+			nextActionTick = tick + SPAM_INTERVAL_TICKS;
+		}
+		else
+		{
+			// possibly refused for being too close to spawn; walk somewhere else
+			walk(tick, 5, 20);
+		}
+	}
+
+
+	private WarmupScript pickScript()
+	{
+		final int roll = random.nextInt(100);
+		if (roll < 70) return WarmupScript.WAIT;
+		if (roll < 82) return WarmupScript.WALK_AWAY;
+		if (roll < 90) return WarmupScript.TAKE_DAMAGE;
+		if (roll < 92) return WarmupScript.DIE;
+		if (roll < 96) return WarmupScript.QUIT;
+		return WarmupScript.CLICK_AGAIN;
+	}
+
+
+	private void runScript(final long tick)
+	{
+		switch (script)
+		{
+			case WAIT -> { }
+			case WALK_AWAY ->
+			{
+				heading = random.nextDouble(2 * Math.PI);
+				step(1.5d);
+			}
+			case TAKE_DAMAGE -> simulation.dispatch(FakeEvents.damage(player, random.nextDouble(1.0d, 6.0d)));
+			case DIE ->
+			{
+				simulation.dispatch(FakeEvents.death(player));
+
+				// respawn at the world spawn
+				final Location spawn = player.world().spawnLocation();
+				player.moveTo(spawn.getX(), spawn.getY(), spawn.getZ());
+			}
+			case QUIT -> quit(tick);
+			case CLICK_AGAIN -> click(tick);
+		}
+	}
+
+
+	private void warmupEnded(final long tick)
+	{
+		if (player.teleports() > teleports)
+		{
+			// teleported to spawn; walk away from it
+			teleports = player.teleports();
+			walk(tick, 10, 30);
+		}
+		else
+		{
+			idle(tick, 5, 30);
+		}
+	}
+
+
+	private void quit(final long tick)
+	{
+		simulation.quit(player);
+		state = State.OFFLINE;
+		nextActionTick = tick + seconds(30, 300);
+	}
+
+
+	private void idle(final long tick, final int minSeconds, final int maxSeconds)
+	{
+		state = State.IDLE;
+		nextActionTick = tick + seconds(minSeconds, maxSeconds);
+	}
+
+
+	private void walk(final long tick, final int minSeconds, final int maxSeconds)
+	{
+		state = State.WALKING;
+		heading = random.nextDouble(2 * Math.PI);
+		nextActionTick = tick + seconds(minSeconds, maxSeconds);
+	}
+
+
+	private void step(final double distance)
+	{
+		final Location from = player.location();
+		if (from.getX() * from.getX() + from.getZ() * from.getZ() > WANDER_RADIUS * WANDER_RADIUS)
+		{
+			heading = Math.atan2(-from.getZ(), -from.getX());
+		}
+		player.moveTo(from.getX() + Math.cos(heading) * distance, from.getY(), from.getZ() + Math.sin(heading) * distance);
+		simulation.dispatch(FakeEvents.move(player, from));
+	}
+
+
+	private void turn()
+	{
+		final Location from = player.location();
+		player.turn(random.nextFloat() * 360.0f - 180.0f);
+		simulation.dispatch(FakeEvents.move(player, from));
+	}
+
+
+	private long seconds(final int min, final int max)
+	{
+		return random.nextLong(min * (long) LoadSimulation.TICKS_PER_SECOND, max * (long) LoadSimulation.TICKS_PER_SECOND + 1);
+	}
+
+}
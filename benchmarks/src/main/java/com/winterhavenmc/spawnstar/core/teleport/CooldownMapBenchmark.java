@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.SpawnStarFixture;
+import com.winterhavenmc.spawnstar.core.persistence.CooldownStore;
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures cooldown lookups and insertions in the {@link CooldownMap} for a population of online players,
+ * a percentage of whom are cooling down. Lookups visit the players in turn, so the hit rate matches the
+ * cooling percentage. This benchmark is in the teleport package because the cooldown map is package private.
+ * <p>
+ * Run with {@code -prof gc} to report the allocation rate alongside the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CooldownMapBenchmark
+{
+	@Param({"10", "100", "1000", "5000"})
+	private int players;
+
+	@Param({"0", "10", "50"})
+	private int coolingPercent;
+
+	private TickClock clock;
+	private CooldownMap cooldownMap;
+	private UUID[] uids;
+	private Player[] cooling;
+	private int next;
+
+
+	@Setup(Level.Trial)
+	public void startCooldowns()
+	{
+		final SpawnStarFixture fixture = new SpawnStarFixture(Map.of());
+		final List<FakePlayer> online = fixture.addPlayers(players);
+		clock = fixture.clock();
+		cooldownMap = new CooldownMap(fixture.tasks(), clock, fixture.settings(), CooldownStore.NONE);
+
+		final int coolingCount = Math.max(1, players * coolingPercent / 100);
+		final long now = clock.nanoTime();
+		uids = new UUID[players];
+		cooling = new Player[coolingCount];
+		for (int i = 0; i < players; i++)
+		{
+			uids[i] = online.get(i).uid();
+			if (i < coolingCount)
+			{
+				cooling[i] = online.get(i).player();
+				if (coolingPercent > 0)
+				{
+					cooldownMap.startPlayerCooldown(cooling[i], now);
+				}
+			}
+		}
+	}
+
+
+	@Benchmark
+	public long getRemainingNanos()
+	{
+		next = next + 1 < uids.length ? next + 1 : 0;
+		return cooldownMap.getRemainingNanos(uids[next], clock.nanoTime());
+	}
+
+
+	@Benchmark
+	public long startPlayerCooldown()
+	{
+		next = next + 1 < cooling.length ? next + 1 : 0;
+		return cooldownMap.startPlayerCooldown(cooling[next], clock.nanoTime());
+	}
+
+}
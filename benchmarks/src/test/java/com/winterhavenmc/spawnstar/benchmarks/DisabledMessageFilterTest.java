@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks;
+
+import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeItemStack;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.SpawnStarFixture;
+import com.winterhavenmc.spawnstar.core.messages.DisabledMessageFilter;
+import com.winterhavenmc.spawnstar.core.util.Macro;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Checks that every message composed through {@link DisabledMessageFilter} reaches the player exactly as the
+ * message builder sends it, in every language file shipped with the plugin, so that the filter drops only
+ * messages that the message builder would not send either.
+ */
+class DisabledMessageFilterTest
+{
+	private static final List<String> LANGUAGES = List.of("en-US", "de-DE", "es-ES");
+
+	private static final Duration DURATION = Duration.ofSeconds(65);
+	private static final int QUEUE_POSITION = 1234;
+
+
+	static Stream<Arguments> messages()
+	{
+		return LANGUAGES.stream().flatMap(language -> Arrays.stream(MessageId.values())
+				.map(messageId -> Arguments.of(language, messageId)));
+	}
+
+
+	@ParameterizedTest(name = "{0} {1}")
+	@MethodSource("messages")
+	void sendsMessageBuilderOutput(final String language, final MessageId messageId)
+	{
+		final SpawnStarFixture fixture = new SpawnStarFixture(Map.of("language", language));
+		final List<FakePlayer> players = fixture.addPlayers(2);
+		final FakePlayer viaFilter = players.get(0);
+		final FakePlayer viaMessageBuilder = players.get(1);
+		final World world = fixture.world().world();
+		final ItemStack item = FakeItemStack.spawnStar();
+
+		final boolean filterSent = fixture.teleportHandler().messageFilter().compose(viaFilter.player(), messageId)
+				.setMacro(Macro.ITEM, item)
+				.setMacro(Macro.DESTINATION_WORLD, world)
+				.setMacro(Macro.DURATION, DURATION)
+				.setMacro(Macro.QUEUE_POSITION, QUEUE_POSITION)
+				.send();
+
+		final MessageBuilder messageBuilder = fixture.messageBuilder();
+		final boolean builderSent = messageBuilder.compose(viaMessageBuilder.player(), messageId)
+				.setMacro(Macro.ITEM, item)
+				.setMacro(Macro.DESTINATION_WORLD, world)
+				.setMacro(Macro.DURATION, DURATION)
+				.setMacro(Macro.QUEUE_POSITION, QUEUE_POSITION)
+				.send();
+
+		assertEquals(builderSent, filterSent, "send result");
+		assertEquals(viaMessageBuilder.messages(), viaFilter.messages(), "messages sent");
+		assertEquals(viaMessageBuilder.lastMessage(), viaFilter.lastMessage(), "message text");
+	}
+
+}
@@ -0,0 +1,584 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.simulation;
+
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeEvents;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeItemStack;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakePlayer;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.FakeWorld;
+import com.winterhavenmc.spawnstar.benchmarks.fixture.SpawnStarFixture;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportSession;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.Event;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+
+/**
+ * Runs the SpawnStar teleport engine and player listeners against a fake server under the virtual clock of
+ * the fixture, feeding them random interleavings of item use, movement, damage, death, quit and rejoin
+ * events from every player, together with configuration reloads and world unloads, and checks the
+ * invariants of the engine after every event and every tick:
+ * <ul>
+ * <li>no scheduled task leaks: the wheel holds only the repeating entries of the engine, the tasks of
+ * pending warmups and the hand-offs they have scheduled, and nothing else once every warmup has ended;</li>
+ * <li>the task registry holds at most one warmup task per warming player, and no task is overdue;</li>
+ * <li>no player is warming up while their cooldown runs;</li>
+ * <li>no player is teleported after their warmup was cancelled, until they use their item again;</li>
+ * <li>the warmup count matches the warming sessions, and sessions, cooldowns and queued teleports are
+ * bounded by the number of players;</li>
+ * <li>no event handler or scheduled task throws.</li>
+ * </ul>
+ * Each run draws every action from its seed, so a failure is reproduced by running its seed again. The
+ * first violation stops the run and reports the seed, the tick, the invariant and the last actions of the
+ * run, with the test properties that repeat it. Runs are started by {@link InvariantSimulationTest}.
+ */
+final class InvariantSimulation
+{
+	// ticks with no events after the run, long enough for every warmup, deferral and queued teleport to end
+	private static final int SETTLE_TICKS = 60 * LoadSimulation.TICKS_PER_SECOND;
+
+	// the listener registry schedules one task when the last warmup ends
+	private static final int IDLE_TASKS = 1;
+
+	// on a region threaded server, a warming player may have a warmup task, a render, a position sample,
+	// a queued completion and the tracking hand-offs of its renderer and poller pending at once
+	private static final int REGION_TASKS_PER_WARMUP = 6;
+
+	// pending warmup count publications on a region threaded server
+	private static final int REGION_GLOBAL_TASKS = 2;
+
+	private static final int TRACE_LENGTH = 40;
+
+	private final Options options;
+	private final long seed;
+	private final SplittableRandom random;
+	private final SpawnStarFixture fixture;
+	private final TeleportHandler teleportHandler;
+	private final CommandSender console;
+	private final Command command;
+	private final List<Actor> actors = new ArrayList<>();
+	private final Deque<String> trace = new ArrayDeque<>();
+	private final List<LogRecord> failures = new ArrayList<>();
+	private final Handler failureHandler;
+	private FakeWorld nether;
+	private int baselineTasks;
+	private int maxTasks;
+	private long tick;
+	private long events;
+	private long reloads;
+	private long unloads;
+
+
+	/**
+	 * Create a simulation of one run
+	 *
+	 * @param options the size of the run and the scheduler it runs on
+	 * @param seed    the seed that every action of the run is drawn from
+	 */
+	InvariantSimulation(final Options options, final long seed)
+	{
+		this.options = options;
+		this.seed = seed;
+		this.random = new SplittableRandom(seed);
+		this.fixture = new SpawnStarFixture(startSettings(), options.regionThreaded());
+		this.teleportHandler = fixture.teleportHandler();
+		fixture.registerListeners();
+		this.console = fixture.server().server().getConsoleSender();
+		this.command = new Command("spawnstar")
+		{
+			@Override
+			public boolean execute(final CommandSender sender, final String label, final String[] args)
+			{
+				return fixture.commandDispatcher().onCommand(sender, this, label, args);
+			}
+		};
+
+		// a task that throws is logged by the wheel instead of stopping the tick; count it as a failure
+		this.failureHandler = new Handler()
+		{
+			@Override
+			public void publish(final LogRecord record)
+			{
+				if (record.getThrown() != null)
+				{
+					failures.add(record);
+				}
+			}
+
+			@Override
+			public void flush() { }
+
+			@Override
+			public void close() { }
+		};
+
+		for (int i = 0; i < options.players(); i++)
+		{
+			actors.add(new Actor("player" + i));
+		}
+	}
+
+
+	/**
+	 * Run the simulation, and let every warmup end
+	 *
+	 * @return the failure report, or {@code null} if every invariant held
+	 */
+	String run()
+	{
+		final Logger logger = fixture.server().plugin().getLogger();
+		logger.addHandler(failureHandler);
+		try
+		{
+			loadNether();
+			fixture.tick();
+			baselineTasks = fixture.wheel().size();
+
+			for (tick = 1; tick <= options.ticks(); tick++)
+			{
+				for (Actor actor : actors)
+				{
+					act(actor);
+				}
+				if (random.nextInt(1200) == 0)
+				{
+					reload();
+				}
+				if (random.nextInt(600) == 0)
+				{
+					toggleNether();
+				}
+				advance();
+			}
+
+			trace("settle");
+			for (int i = 0; i < SETTLE_TICKS; i++, tick++)
+			{
+				advance();
+			}
+			check(teleportHandler.activeWarmups() == 0, "warmups remain after every warmup has ended: " + teleportHandler.activeWarmups());
+			check(teleportHandler.queueDepth() == 0, "teleports remain queued after every warmup has ended: " + teleportHandler.queueDepth());
+			check(fixture.wheel().size() == baselineTasks, "scheduled tasks leaked: " + fixture.wheel().size()
+					+ " tasks after every warmup has ended, " + baselineTasks + " expected");
+			check(!fixture.tasks().liveCounts().containsKey(TaskRegistry.Purpose.WARMUP),
+					"warmup tasks remain registered after every warmup has ended: " + fixture.tasks().liveCounts());
+			return null;
+		}
+		catch (Violation violation)
+		{
+			return failureReport(violation.getMessage());
+		}
+		catch (RuntimeException exception)
+		{
+			return failureReport("the plugin threw " + exception);
+		}
+		finally
+		{
+			logger.removeHandler(failureHandler);
+		}
+	}
+
+
+	private void act(final Actor actor)
+	{
+		if (actor.player == null || !actor.online)
+		{
+			if (random.nextInt(100) == 0)
+			{
+				join(actor);
+			}
+			return;
+		}
+
+		if (random.nextInt(20) != 0)
+		{
+			return;
+		}
+
+		final FakePlayer player = actor.player;
+		final int roll = random.nextInt(100);
+		if (roll < 35)
+		{
+			// sneak while clicking, so the item is used whether or not shift-click is required
+			trace(actor, "click");
+			player.setSneaking(true);
+			dispatch(FakeEvents.rightClickAir(player));
+			player.setSneaking(false);
+		}
+		else if (roll < 60)
+		{
+			trace(actor, "turn");
+			final Location from = player.location();
+			player.turn(random.nextFloat() * 360.0f - 180.0f);
+			dispatch(FakeEvents.move(player, from));
+		}
+		else if (roll < 75)
+		{
+			trace(actor, "step");
+			final Location from = player.location();
+			player.moveTo(from.getX() + random.nextDouble(-2.0d, 2.0d), from.getY(), from.getZ() + random.nextDouble(-2.0d, 2.0d));
+			dispatch(FakeEvents.move(player, from));
+		}
+		else if (roll < 85)
+		{
+			trace(actor, "damage");
+			dispatch(FakeEvents.damage(player, random.nextDouble(1.0d, 6.0d)));
+		}
+		else if (roll < 90)
+		{
+			trace(actor, "death");
+			dispatch(FakeEvents.death(player));
+			final Location spawn = player.world().spawnLocation();
+			player.moveTo(spawn.getX(), spawn.getY(), spawn.getZ());
+		}
+		else
+		{
+			trace(actor, "quit");
+			dispatch(FakeEvents.quit(player));
+			fixture.server().removePlayer(player);
+			actor.online = false;
+		}
+		observe(actor, true);
+	}
+
+
+	private void join(final Actor actor)
+	{
+		if (actor.player != null)
+		{
+			// a task of the previous login must not teleport the player after they quit
+			observe(actor, false);
+		}
+
+		final FakeWorld world = nether != null && random.nextInt(4) == 0 ? nether : fixture.world();
+		trace(actor, "join " + world.name());
+		final double x = random.nextDouble(20.0d, 200.0d) * (random.nextBoolean() ? 1 : -1);
+		final double z = random.nextDouble(20.0d, 200.0d) * (random.nextBoolean() ? 1 : -1);
+		actor.player = fixture.server().addPlayer(actor.name, world, x, 64.0d, z);
+		actor.player.setItemInMainHand(FakeItemStack.spawnStar());
+		actor.online = true;
+		actor.warming = false;
+		actor.cancelled = false;
+		actor.teleports = 0;
+	}
+
+
+	/**
+	 * Change the configuration at random and reload it with the reload command
+	 */
+	private void reload()
+	{
+		final Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("teleport-warmup", random.nextInt(0, 4));
+		settings.put("teleport-cooldown", random.nextInt(0, 6));
+		settings.put("particle-effects", random.nextBoolean());
+		settings.put("cancel-on-damage", random.nextBoolean());
+		settings.put("cancel-on-movement", random.nextBoolean());
+		settings.put("cancel-on-interaction", random.nextBoolean());
+		settings.put("movement-check", random.nextBoolean() ? "event" : "poll");
+		settings.put("max-teleports-per-tick", random.nextInt(1, 4));
+
+		trace("reload " + settings);
+		settings.forEach(fixture.server().config()::set);
+		command.execute(console, "spawnstar", new String[] { "reload" });
+		reloads++;
+		observeAll(true);
+	}
+
+
+	/**
+	 * Unload the nether world if no player is in it, as a server only unloads empty worlds, or load it again
+	 */
+	private void toggleNether()
+	{
+		if (nether == null)
+		{
+			loadNether();
+		}
+		else if (nether.world().getPlayers().isEmpty())
+		{
+			trace("unload " + nether.name());
+			dispatch(new WorldUnloadEvent(nether.world()));
+			fixture.server().removeWorld(nether);
+			nether = null;
+			unloads++;
+			observeAll(true);
+		}
+	}
+
+
+	private void loadNether()
+	{
+		trace("load world_nether");
+		nether = fixture.server().addWorld("world_nether", World.Environment.NETHER);
+		dispatch(new WorldLoadEvent(nether.world()));
+	}
+
+
+	private void dispatch(final Event event)
+	{
+		fixture.server().callEvent(event);
+		events++;
+		checkFailures();
+	}
+
+
+	private void advance()
+	{
+		fixture.tick();
+		checkFailures();
+		observeAll(false);
+		checkInvariants();
+	}
+
+
+	private void observeAll(final boolean byEvent)
+	{
+		for (Actor actor : actors)
+		{
+			if (actor.player != null)
+			{
+				observe(actor, byEvent);
+			}
+		}
+	}
+
+
+	/**
+	 * Follow the warmup of a player. A warmup that ends during an event without a teleport was cancelled,
+	 * and the player must not be teleported until they start another warmup. Warmups that end during a tick
+	 * are not marked, since on a region threaded server the player arrives on a later tick.
+	 */
+	private void observe(final Actor actor, final boolean byEvent)
+	{
+		final FakePlayer player = actor.player;
+		final boolean warming = actor.online && teleportHandler.isWarmingUp(player.player());
+		final long teleports = player.teleports();
+
+		check(!actor.cancelled || teleports == actor.teleports, actor.name + " was teleported after their warmup was cancelled");
+
+		if (byEvent && actor.warming && !warming && teleports == actor.teleports)
+		{
+			actor.cancelled = true;
+		}
+		else if (!actor.warming && warming)
+		{
+			actor.cancelled = false;
+		}
+		actor.warming = warming;
+		actor.teleports = teleports;
+	}
+
+
+	private void checkInvariants()
+	{
+		final long now = fixture.clock().nanoTime();
+		int online = 0;
+		int warming = 0;
+		for (Actor actor : actors)
+		{
+			if (actor.online)
+			{
+				online++;
+				final TeleportSession session = teleportHandler.findSession(actor.player.player());
+				if (session != null && session.isWarmingUp())
+				{
+					warming++;
+					check(session.cooldownRemainingNanos(now) == 0L, actor.name + " is warming up while cooling down");
+				}
+			}
+		}
+
+		check(teleportHandler.activeWarmups() == warming, "the warmup count is " + teleportHandler.activeWarmups()
+				+ ", but " + warming + " sessions are warming up");
+		check(teleportHandler.sessionCount() <= online, teleportHandler.sessionCount() + " sessions for " + online + " online players");
+		check(teleportHandler.cooldownCount() <= actors.size(), teleportHandler.cooldownCount() + " cooldowns for " + actors.size() + " players");
+		check(teleportHandler.queueDepth() <= warming, teleportHandler.queueDepth() + " queued teleports for " + warming + " warmups");
+
+		final int tasks = fixture.wheel().size();
+		final int limit = options.regionThreaded()
+				? baselineTasks + IDLE_TASKS + warming * REGION_TASKS_PER_WARMUP + online + REGION_GLOBAL_TASKS
+				: baselineTasks + IDLE_TASKS + warming;
+		check(tasks <= limit, "scheduled tasks leaked: " + tasks + " tasks for " + warming + " warmups, at most " + limit + " expected");
+		maxTasks = Math.max(maxTasks, tasks);
+
+		final int warmupTasks = fixture.tasks().liveCounts().getOrDefault(TaskRegistry.Purpose.WARMUP, 0);
+		check(warmupTasks <= warming, warmupTasks + " registered warmup tasks for " + warming + " warmups");
+		final List<TaskRegistry.Entry> overdue = fixture.tasks().overdueTasks();
+		check(overdue.isEmpty(), "scheduled tasks overdue: " + overdue);
+	}
+
+
+	private void checkFailures()
+	{
+		if (!failures.isEmpty())
+		{
+			final LogRecord record = failures.get(0);
+			throw new Violation("a scheduled task threw " + record.getThrown());
+		}
+	}
+
+
+	private static void check(final boolean condition, final String invariant)
+	{
+		if (!condition)
+		{
+			throw new Violation(invariant);
+		}
+	}
+
+
+	private void trace(final Actor actor, final String action)
+	{
+		trace(actor.name + " " + action);
+	}
+
+
+	private void trace(final String action)
+	{
+		if (trace.size() == TRACE_LENGTH)
+		{
+			trace.removeFirst();
+		}
+		trace.addLast(tick + ": " + action);
+	}
+
+
+	private String failureReport(final String invariant)
+	{
+		final StringBuilder report = new StringBuilder();
+		report.append("FAILED seed=").append(seed).append(" tick=").append(tick).append(": ").append(invariant).append('\n');
+		if (!failures.isEmpty() && failures.get(0).getThrown() != null)
+		{
+			report.append("cause: ").append(failures.get(0).getThrown()).append('\n');
+		}
+		report.append("last actions:\n");
+		for (String action : trace)
+		{
+			report.append("  ").append(action).append('\n');
+		}
+		report.append("repeat with: -Dtest=InvariantSimulationTest -Dsimulation.runs=1 -Dsimulation.seed=").append(seed)
+				.append(" -Dsimulation.players=").append(options.players())
+				.append(" -Dsimulation.ticks=").append(options.ticks())
+				.append(" -Dsimulation.region-threaded=").append(options.regionThreaded())
+				.append('\n');
+		return report.toString();
+	}
+
+
+	/**
+	 * Summarize a run in which every invariant held
+	 *
+	 * @return the seed and the number of events, reloads, world unloads, item uses and teleports of the run
+	 */
+	String summary()
+	{
+		return "seed=" + seed
+				+ " ticks=" + options.ticks()
+				+ " events=" + events
+				+ " reloads=" + reloads
+				+ " unloads=" + unloads
+				+ " uses=" + teleportHandler.stats().get(TeleportStats.Counter.USES)
+				+ " completions=" + teleportHandler.stats().get(TeleportStats.Counter.COMPLETIONS)
+				+ " max-tasks=" + maxTasks
+				+ " ok";
+	}
+
+
+	/**
+	 * The settings at the start of a run: short warmups and cooldowns, with every cancellation enabled
+	 */
+	private static Map<String, Object> startSettings()
+	{
+		final Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("teleport-warmup", 2);
+		settings.put("teleport-cooldown", 3);
+		settings.put("minimum-distance", 0);
+		settings.put("cancel-on-damage", true);
+		settings.put("cancel-on-movement", true);
+		settings.put("cancel-on-interaction", true);
+		settings.put("particle-effects", true);
+		settings.put("max-teleports-per-tick", 2);
+		return settings;
+	}
+
+
+	/**
+	 * A simulated player and what the simulation has seen of their warmup
+	 */
+	private static final class Actor
+	{
+		private final String name;
+		private FakePlayer player;
+		private boolean online;
+		private boolean warming;
+		private boolean cancelled;
+		private long teleports;
+
+
+		private Actor(final String name)
+		{
+			this.name = name;
+		}
+	}
+
+
+	/**
+	 * Thrown when an invariant does not hold
+	 */
+	private static final class Violation extends RuntimeException
+	{
+		private Violation(final String invariant)
+		{
+			super(invariant, null, false, false);
+		}
+	}
+
+
+	/**
+	 * The size of a run and the scheduler it runs on
+	 *
+	 * @param players        the number of players
+	 * @param ticks          the number of ticks of the run
+	 * @param regionThreaded true to schedule tasks as on a region threaded server
+	 */
+	record Options(int players, int ticks, boolean regionThreaded)
+	{
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.benchmarks.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+
+/**
+ * Runs the {@link InvariantSimulation} over a fixed list of seeds on both schedulers, so that every build
+ * replays the same interleavings. A failing run reports its seed, tick, invariant and last actions.
+ * <p>
+ * Longer runs over consecutive seeds are made on demand with the {@code simulation.runs} property:
+ * <pre>
+ * mvn -pl benchmarks test -Dtest=InvariantSimulationTest -Dsimulation.runs=100 \
+ *     [-Dsimulation.seed=1] [-Dsimulation.players=40] [-Dsimulation.ticks=6000] [-Dsimulation.region-threaded=true]
+ * </pre>
+ */
+class InvariantSimulationTest
+{
+	private static final int PLAYERS = 20;
+	private static final int TICKS = 1200;
+
+
+	@ParameterizedTest(name = "seed {0}")
+	@ValueSource(longs = { 1L, 2L, 3L, 17L, 42L, 1009L, 65537L, 8675309L })
+	void holdsInvariants(final long seed)
+	{
+		simulate(new InvariantSimulation.Options(PLAYERS, TICKS, false), seed);
+	}
+
+
+	@ParameterizedTest(name = "region threaded, seed {0}")
+	@ValueSource(longs = { 1L, 2L, 3L, 17L, 42L, 1009L, 65537L, 8675309L })
+	void holdsInvariantsRegionThreaded(final long seed)
+	{
+		simulate(new InvariantSimulation.Options(PLAYERS, TICKS, true), seed);
+	}
+
+
+	@Test
+	@EnabledIfSystemProperty(named = "simulation.runs", matches = "[1-9][0-9]*")
+	void holdsInvariantsOverLongRuns(final TestReporter reporter)
+	{
+		final InvariantSimulation.Options options = new InvariantSimulation.Options(
+				Integer.getInteger("simulation.players", 40),
+				Integer.getInteger("simulation.ticks", 6000),
+				Boolean.getBoolean("simulation.region-threaded"));
+		final int runs = Integer.getInteger("simulation.runs");
+		final long seed = Long.getLong("simulation.seed", 1L);
+
+		for (int run = 0; run < runs; run++)
+		{
+			reporter.publishEntry("seed " + (seed + run), simulate(options, seed + run));
+		}
+	}
+
+
+	/**
+	 * Run the simulation of one seed, and fail with its report if an invariant was violated
+	 *
+	 * @param options the size of the run and the scheduler it runs on
+	 * @param seed    the seed of the run
+	 * @return the summary of the run
+	 */
+	private static String simulate(final InvariantSimulation.Options options, final long seed)
+	{
+		final InvariantSimulation simulation = new InvariantSimulation(options, seed);
+		final String failure = simulation.run();
+		if (failure != null)
+		{
+			fail(failure);
+		}
+		return simulation.summary();
+	}
+
+}
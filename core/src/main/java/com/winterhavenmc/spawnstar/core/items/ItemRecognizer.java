@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.items;
+
+import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.library.messagebuilder.models.keys.ItemKey;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+
+/**
+ * Recognizes SpawnStar items with a sequence of checks ordered from cheapest to most expensive, so that
+ * the common case of an unrelated item is rejected without inspecting item meta:
+ * <ol>
+ *   <li>the item material is tested against a bitset of SpawnStar item materials</li>
+ *   <li>the item persistent data container is tested for a key carried by SpawnStar items</li>
+ *   <li>items that pass every check are confirmed by the message builder item check</li>
+ * </ol>
+ * On servers that provide the Paper {@code ItemStack.getPersistentDataContainer} method, the key check reads
+ * the item data directly. Otherwise, it reads the persistent data container of a copy of the item meta.
+ * <p>
+ * Decisions are not cached. Servers pass a new item stack mirror to each event and inventory read, so an
+ * item stack instance is rarely seen twice, and a stack whose meta is changed in place must be checked again.
+ * <p>
+ * Items may be tested from any thread. The materials and keys are replaced when the recognizer is rebuilt.
+ */
+public final class ItemRecognizer
+{
+	private static final String ITEM_KEY = "SPAWNSTAR";
+
+	// number of words in the material bitset, one bit per material ordinal
+	private static final int MATERIAL_WORDS = (Material.values().length + 63) >>> 6;
+
+	private final Predicate<ItemStack> verifier;
+	private final MethodHandle dataContainerView;
+	private final MethodHandle dataContainerViewHas;
+
+	// bitset of item materials by ordinal
+	private volatile long[] materials = new long[MATERIAL_WORDS];
+
+	// persistent data keys carried by SpawnStar items; empty if the reference item has none
+	private volatile NamespacedKey[] keys = new NamespacedKey[0];
+
+
+	/**
+	 * Class constructor. The recognizer rejects every item until it is rebuilt.
+	 *
+	 * @param verifier the authoritative item check, applied to items that pass every other check
+	 */
+	public ItemRecognizer(final Predicate<ItemStack> verifier)
+	{
+		this.verifier = Objects.requireNonNull(verifier);
+
+		MethodHandle view = null;
+		MethodHandle viewHas = null;
+		try
+		{
+			final Method method = ItemStack.class.getMethod("getPersistentDataContainer");
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			view = lookup.unreflect(method);
+			viewHas = lookup.unreflect(method.getReturnType().getMethod("has", NamespacedKey.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException exception)
+		{
+			// not a paper server; keys are read from a copy of the item meta
+		}
+		this.dataContainerView = view;
+		this.dataContainerViewHas = viewHas;
+	}
+
+
+	/**
+	 * Create a recognizer for the SpawnStar item defined in the language file and the configured item material,
+	 * which is rebuilt when the configuration is reloaded. The message builder must be reloaded before the
+	 * settings, so that the rebuild sees the new item definition.
+	 *
+	 * @param messageBuilder an instance of the message builder
+	 * @param settings       the settings holder
+	 * @return a new item recognizer
+	 */
+	public static ItemRecognizer create(final MessageBuilder messageBuilder, final SettingsHolder settings)
+	{
+		final ItemRecognizer recognizer = new ItemRecognizer(itemStack -> messageBuilder.items().isItem(itemStack));
+		final Runnable rebuild = () -> recognizer.rebuild(List.of(settings.get().item().material()), referenceItem(messageBuilder));
+
+		rebuild.run();
+		settings.onReload(newSettings -> rebuild.run());
+		return recognizer;
+	}
+
+
+	/**
+	 * Replace the item materials and persistent data keys
+	 *
+	 * @param itemMaterials the materials of SpawnStar items
+	 * @param referenceItem a SpawnStar item, whose material is added to the item materials and whose
+	 *                      persistent data keys are required of recognized items; or {@code null}
+	 */
+	public void rebuild(final Collection<Material> itemMaterials, final ItemStack referenceItem)
+	{
+		final List<Material> allMaterials = new ArrayList<>(itemMaterials);
+		NamespacedKey[] newKeys = new NamespacedKey[0];
+
+		if (referenceItem != null)
+		{
+			allMaterials.add(referenceItem.getType());
+			final ItemMeta meta = referenceItem.getItemMeta();
+			if (meta != null)
+			{
+				newKeys = meta.getPersistentDataContainer().getKeys().toArray(new NamespacedKey[0]);
+			}
+		}
+
+		final long[] newMaterials = new long[MATERIAL_WORDS];
+		for (Material material : allMaterials)
+		{
+			if (material != null)
+			{
+				newMaterials[material.ordinal() >>> 6] |= 1L << material.ordinal();
+			}
+		}
+
+		this.materials = newMaterials;
+		this.keys = newKeys;
+	}
+
+
+	/**
+	 * Test if an item stack is a SpawnStar item
+	 *
+	 * @param itemStack the item stack to test; may be {@code null}
+	 * @return {@code true} if the item stack is a SpawnStar item, {@code false} if not
+	 */
+	public boolean isItem(final ItemStack itemStack)
+	{
+		return hasItemMaterial(itemStack)
+				&& itemStack.hasItemMeta()
+				&& hasKeys(itemStack)
+				&& verifier.test(itemStack);
+	}
+
+
+	/**
+	 * Test if an item stack has the material of a SpawnStar item, which is the first and cheapest check
+	 * of {@link #isItem}
+	 *
+	 * @param itemStack the item stack to test; may be {@code null}
+	 * @return {@code true} if the item stack may be a SpawnStar item, {@code false} if it is not
+	 */
+	public boolean hasItemMaterial(final ItemStack itemStack)
+	{
+		if (itemStack == null)
+		{
+			return false;
+		}
+
+		final long[] materials = this.materials;
+		final int ordinal = itemStack.getType().ordinal();
+		return (materials[ordinal >>> 6] & (1L << ordinal)) != 0;
+	}
+
+
+	/**
+	 * Test if the persistent data keys are read without copying the item meta
+	 *
+	 * @return {@code true} if the Paper item data container is available, {@code false} if not
+	 */
+	public boolean readsDataDirectly()
+	{
+		return dataContainerView != null;
+	}
+
+
+	private boolean hasKeys(final ItemStack itemStack)
+	{
+		final NamespacedKey[] keys = this.keys;
+		if (keys.length == 0)
+		{
+			return true;
+		}
+
+		if (dataContainerView != null)
+		{
+			try
+			{
+				final Object container = dataContainerView.invoke(itemStack);
+				for (NamespacedKey key : keys)
+				{
+					if (!(boolean) dataContainerViewHas.invoke(container, key))
+					{
+						return false;
+					}
+				}
+				return true;
+			}
+			catch (Throwable throwable)
+			{
+				// fall through to the item meta
+			}
+		}
+
+		final ItemMeta meta = itemStack.getItemMeta();
+		if (meta == null)
+		{
+			return false;
+		}
+		for (NamespacedKey key : keys)
+		{
+			if (!meta.getPersistentDataContainer().has(key))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static ItemStack referenceItem(final MessageBuilder messageBuilder)
+	{
+		return ItemKey.of(ITEM_KEY).isValid()
+				.flatMap(validItemKey -> messageBuilder.items().createItem(validItemKey))
+				.orElse(null);
+	}
+
+}
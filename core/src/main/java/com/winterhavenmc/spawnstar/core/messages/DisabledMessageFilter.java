@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.messages;
+
+import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/**
+ * Drops messages that are disabled in the language file before they are composed, and passes every other
+ * message to the message builder, which composes and sends it. This spares a message builder compose on hot
+ * paths such as the warming notice, which is disabled by default and requested on every click during a warmup.
+ * <p>
+ * The message builder does not report whether a message is enabled, so the {@code ENABLED} flags are read from
+ * the language file configured for the message builder when this class is created, and again when the
+ * configuration is reloaded. The filter fails open: a message is dropped only if the language file sets its
+ * {@code ENABLED} flag to false, so a language file that cannot be found or read drops nothing, and every
+ * message is left to the message builder.
+ * <p>
+ * Messages may be composed on any thread. Each thread composes into its own reused message.
+ */
+public final class DisabledMessageFilter
+{
+	private static final String LANGUAGE_DIRECTORY = "language";
+	private static final String DEFAULT_LANGUAGE = "en-US";
+
+	private final Plugin plugin;
+	private final MessageBuilder messageBuilder;
+
+	// messages disabled in the current language file
+	private volatile Set<MessageId> disabled = Set.of();
+
+	private final ThreadLocal<FilteredMessage> messages = ThreadLocal.withInitial(() -> new FilteredMessage(this));
+
+
+	/**
+	 * Class constructor. The language file of the message builder is read immediately.
+	 *
+	 * @param plugin         an instance of the plugin
+	 * @param messageBuilder an instance of the message builder, which composes and sends every enabled message
+	 */
+	public DisabledMessageFilter(final Plugin plugin, final MessageBuilder messageBuilder)
+	{
+		this.plugin = plugin;
+		this.messageBuilder = messageBuilder;
+		reload();
+	}
+
+
+	/**
+	 * Read the disabled messages from the language file configured for the message builder
+	 */
+	public void reload()
+	{
+		final String language = plugin.getConfig().getString("language", DEFAULT_LANGUAGE);
+		final ConfigurationSection entries = loadLanguage(language).getConfigurationSection("MESSAGES");
+
+		final Set<MessageId> newDisabled = EnumSet.noneOf(MessageId.class);
+		if (entries != null)
+		{
+			for (MessageId messageId : MessageId.values())
+			{
+				final ConfigurationSection entry = entries.getConfigurationSection(messageId.name());
+				if (entry != null && !entry.getBoolean("ENABLED", true))
+				{
+					newDisabled.add(messageId);
+				}
+			}
+		}
+		disabled = newDisabled;
+	}
+
+
+	/**
+	 * Compose a message. The returned message is reused by the next call on the same thread, so it must
+	 * be sent before another message is composed.
+	 *
+	 * @param recipient the message recipient
+	 * @param messageId the message identifier
+	 * @return the message, ready for macros to be set
+	 */
+	public FilteredMessage compose(final CommandSender recipient, final MessageId messageId)
+	{
+		return messages.get().reset(recipient, messageId);
+	}
+
+
+	/**
+	 * Test if a message is enabled, because the language file does not disable it
+	 *
+	 * @param messageId the message identifier
+	 * @return {@code true} if the message is passed to the message builder, {@code false} if it is dropped
+	 */
+	public boolean isEnabled(final MessageId messageId)
+	{
+		return !disabled.contains(messageId);
+	}
+
+
+	MessageBuilder messageBuilder()
+	{
+		return messageBuilder;
+	}
+
+
+	/**
+	 * Load a language file from the plugin data folder, or from the plugin jar if it is not installed
+	 */
+	private YamlConfiguration loadLanguage(final String language)
+	{
+		final File file = new File(new File(plugin.getDataFolder(), LANGUAGE_DIRECTORY), language + ".yml");
+		if (file.isFile())
+		{
+			return YamlConfiguration.loadConfiguration(file);
+		}
+
+		final InputStream resource = plugin.getResource(LANGUAGE_DIRECTORY + "/" + language + ".yml");
+		if (resource == null)
+		{
+			plugin.getLogger().warning("Language file '" + language + "' not found; no message is filtered.");
+			return new YamlConfiguration();
+		}
+
+		try (Reader reader = new InputStreamReader(resource, StandardCharsets.UTF_8))
+		{
+			return YamlConfiguration.loadConfiguration(reader);
+		}
+		catch (IOException exception)
+		{
+			plugin.getLogger().warning("Language file '" + language + "' could not be read; no message is filtered: "
+					+ exception.getMessage());
+			return new YamlConfiguration();
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.messages;
+
+import com.winterhavenmc.spawnstar.core.util.Macro;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.Arrays;
+
+
+/**
+ * A message composed by {@link DisabledMessageFilter}, with the same macro and send methods as a message
+ * composed by the message builder. Macro values are held in an array indexed by macro ordinal, and each thread
+ * reuses one instance, so a disabled message is dropped without allocating. An enabled message is composed and
+ * sent by the message builder.
+ */
+public final class FilteredMessage
+{
+	private static final Macro[] MACROS = Macro.values();
+
+	private final DisabledMessageFilter messageFilter;
+	private final Object[] values = new Object[MACROS.length];
+	private CommandSender recipient;
+	private MessageId messageId;
+
+
+	FilteredMessage(final DisabledMessageFilter messageFilter)
+	{
+		this.messageFilter = messageFilter;
+	}
+
+
+	FilteredMessage reset(final CommandSender recipient, final MessageId messageId)
+	{
+		this.recipient = recipient;
+		this.messageId = messageId;
+		Arrays.fill(values, null);
+		return this;
+	}
+
+
+	/**
+	 * Set the value of a macro placeholder
+	 *
+	 * @param macro the macro
+	 * @param value the value of the macro
+	 * @return this message
+	 */
+	public FilteredMessage setMacro(final Macro macro, final Object value)
+	{
+		values[macro.ordinal()] = value;
+		return this;
+	}
+
+
+	/**
+	 * Test if the message is enabled, because the language file does not disable it
+	 *
+	 * @return {@code true} if the message is enabled, {@code false} if it is never sent
+	 */
+	public boolean isEnabled()
+	{
+		return messageFilter.isEnabled(messageId);
+	}
+
+
+	/**
+	 * Send the message to its recipient
+	 *
+	 * @return {@code true} if the message was sent, {@code false} if it was disabled or not sent by the message builder
+	 */
+	public boolean send()
+	{
+		if (!isEnabled())
+		{
+			return false;
+		}
+
+		var message = messageFilter.messageBuilder().compose(recipient, messageId);
+		for (Macro macro : MACROS)
+		{
+			if (values[macro.ordinal()] != null)
+			{
+				message = message.setMacro(macro, values[macro.ordinal()]);
+			}
+		}
+		return message.send();
+	}
+
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.persistence;
+
+import com.winterhavenmc.spawnstar.core.util.UuidLongMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * A {@link CooldownStore} backed by a compact append-only binary journal and a snapshot file.
+ * <p>
+ * Each record is 24 bytes: the two halves of the player uuid and the expiry time in epoch
+ * milliseconds. New records are queued without blocking and written in batches by a background
+ * thread, which also keeps a primitive map of the latest expiry time for each uuid. When the
+ * journal grows to more than twice the number of live entries, or periodically, the live entries
+ * are written to a new snapshot and the journal is truncated. On startup, the snapshot and then
+ * the journal are read in large sequential chunks, with later records replacing earlier ones.
+ */
+public final class CooldownJournal implements CooldownStore
+{
+	private static final String JOURNAL_FILE_NAME = "cooldowns.journal";
+	private static final String SNAPSHOT_FILE_NAME = "cooldowns.snapshot";
+	private static final int JOURNAL_MAGIC = 0x53534a4c;
+	private static final int SNAPSHOT_MAGIC = 0x5353534e;
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+	private static final int RECORD_BYTES = 24;
+	private static final int BATCH_RECORDS = 4096;
+	private static final int MIN_COMPACTION_RECORDS = 1 << 16;
+	private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final long COMPACTION_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(15);
+
+	private final Path journalFile;
+	private final Path snapshotFile;
+	private final Logger logger;
+	private final ConcurrentLinkedQueue<PendingRecord> pending = new ConcurrentLinkedQueue<>();
+
+	// latest expiry time for each uuid; owned by the writer thread once it has started
+	private final UuidLongMap live = new UuidLongMap(1024);
+
+	private FileChannel journal;
+	private long journalRecords;
+	private long lastCompaction;
+	private Thread writer;
+	private volatile boolean running;
+
+
+	private CooldownJournal(final Path directory, final Logger logger)
+	{
+		this.journalFile = directory.resolve(JOURNAL_FILE_NAME);
+		this.snapshotFile = directory.resolve(SNAPSHOT_FILE_NAME);
+		this.logger = Objects.requireNonNull(logger);
+	}
+
+
+	/**
+	 * Create a journal in a directory. No files are read until {@link #replay(EntryConsumer)} is called.
+	 *
+	 * @param directory the directory that holds the journal and snapshot files
+	 * @param logger    the logger used to report recovery statistics and errors
+	 * @return a new journal
+	 * @throws IOException if the directory could not be created
+	 */
+	public static CooldownJournal open(final Path directory, final Logger logger) throws IOException
+	{
+		Files.createDirectories(directory);
+		return new CooldownJournal(directory, logger);
+	}
+
+
+	/**
+	 * Read the snapshot and journal files, pass every unexpired entry to a consumer,
+	 * and start the background writer thread. Must be called once, before entries are written.
+	 *
+	 * @param consumer the consumer that receives each restored entry
+	 * @return the number of entries restored
+	 */
+	@Override
+	public int replay(final EntryConsumer consumer)
+	{
+		if (writer != null)
+		{
+			throw new IllegalStateException("The cooldown journal has already been replayed.");
+		}
+
+		final long startNanos = System.nanoTime();
+
+		try
+		{
+			readFile(snapshotFile, SNAPSHOT_MAGIC);
+			journalRecords = readFile(journalFile, JOURNAL_MAGIC);
+			openJournal();
+		}
+		catch (IOException exception)
+		{
+			logger.log(Level.WARNING, "Could not read saved cooldowns; cooldowns will not be persisted.", exception);
+			live.clear();
+			return 0;
+		}
+
+		final long nowMillis = System.currentTimeMillis();
+		live.removeIf(expiry -> expiry <= nowMillis);
+		live.forEach(consumer::accept);
+		final int restored = live.size();
+
+		logger.info(String.format("Restored %d cooldowns in %d ms.", restored,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+
+		lastCompaction = System.nanoTime();
+		running = true;
+		writer = new Thread(this::writeLoop, "SpawnStar cooldown journal");
+		writer.setDaemon(true);
+		writer.start();
+
+		return restored;
+	}
+
+
+	/**
+	 * Queue a record for the writer thread. Records are discarded if the journal could not be opened.
+	 */
+	@Override
+	public void append(final long mostSigBits, final long leastSigBits, final long expiryEpochMillis)
+	{
+		if (running)
+		{
+			pending.offer(new PendingRecord(mostSigBits, leastSigBits, expiryEpochMillis));
+		}
+	}
+
+
+	/**
+	 * Stop the writer thread, writing all pending entries and a final snapshot
+	 */
+	@Override
+	public void close()
+	{
+		if (writer == null)
+		{
+			return;
+		}
+
+		running = false;
+		LockSupport.unpark(writer);
+
+		try
+		{
+			writer.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	/**
+	 * Get the size of the journal and snapshot files combined
+	 *
+	 * @return the combined file size in bytes
+	 * @throws IOException if the file sizes could not be read
+	 */
+	public long diskSize() throws IOException
+	{
+		long size = 0;
+		if (Files.exists(journalFile))
+		{
+			size += Files.size(journalFile);
+		}
+		if (Files.exists(snapshotFile))
+		{
+			size += Files.size(snapshotFile);
+		}
+		return size;
+	}
+
+
+	private void writeLoop()
+	{
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_BYTES);
+
+		while (running)
+		{
+			LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+
+			try
+			{
+				drain(buffer);
+				if (shouldCompact())
+				{
+					compact();
+				}
+			}
+			catch (IOException | UncheckedIOException exception)
+			{
+				logger.log(Level.WARNING, "Could not write cooldown journal.", exception);
+			}
+		}
+
+		try
+		{
+			drain(buffer);
+			compact();
+			journal.close();
+		}
+		catch (IOException | UncheckedIOException exception)
+		{
+			logger.log(Level.WARNING, "Could not write cooldown snapshot.", exception);
+		}
+	}
+
+
+	private void drain(final ByteBuffer buffer) throws IOException
+	{
+		PendingRecord record;
+		while ((record = pending.poll()) != null)
+		{
+			buffer.putLong(record.mostSigBits()).putLong(record.leastSigBits()).putLong(record.expiryEpochMillis());
+			live.put(record.mostSigBits(), record.leastSigBits(), record.expiryEpochMillis());
+
+			if (!buffer.hasRemaining())
+			{
+				journalRecords += write(journal, buffer);
+			}
+		}
+
+		journalRecords += write(journal, buffer);
+	}
+
+
+	private boolean shouldCompact()
+	{
+		if (journalRecords >= MIN_COMPACTION_RECORDS && journalRecords > 2L * live.size())
+		{
+			return true;
+		}
+
+		return journalRecords > 0 && System.nanoTime() - lastCompaction >= COMPACTION_INTERVAL_NANOS;
+	}
+
+
+	/**
+	 * Write all unexpired entries to a new snapshot file, then truncate the journal. If the server
+	 * stops between these two steps, the journal is replayed over the new snapshot, which is harmless.
+	 */
+	private void compact() throws IOException
+	{
+		final long nowMillis = System.currentTimeMillis();
+		live.removeIf(expiry -> expiry <= nowMillis);
+
+		final Path tempFile = snapshotFile.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+		try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_BYTES);
+			buffer.putInt(SNAPSHOT_MAGIC).putInt(FORMAT_VERSION);
+
+			// the header leaves the buffer out of step with whole records, so flush before a record that does not fit
+			live.forEach((msb, lsb, expiry) ->
+			{
+				if (buffer.remaining() < RECORD_BYTES)
+				{
+					try
+					{
+						write(out, buffer);
+					}
+					catch (IOException exception)
+					{
+						throw new UncheckedIOException(exception);
+					}
+				}
+				buffer.putLong(msb).putLong(lsb).putLong(expiry);
+			});
+
+			write(out, buffer);
+			out.force(true);
+		}
+
+		Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		journal.truncate(HEADER_BYTES);
+		journal.position(HEADER_BYTES);
+		journal.force(true);
+		journalRecords = 0;
+		lastCompaction = System.nanoTime();
+	}
+
+
+	/**
+	 * Read all whole records from a file into the live map
+	 *
+	 * @return the number of records read
+	 */
+	private long readFile(final Path file, final int magic) throws IOException
+	{
+		if (!Files.exists(file) || Files.size(file) < HEADER_BYTES)
+		{
+			return 0;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			while (header.hasRemaining() && channel.read(header) >= 0) { }
+			header.flip();
+
+			if (header.getInt() != magic || header.getInt() != FORMAT_VERSION)
+			{
+				logger.warning("Ignoring unrecognized cooldown file " + file.getFileName() + ".");
+				return 0;
+			}
+
+			final long records = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_BYTES);
+			long remaining = records;
+
+			while (remaining > 0)
+			{
+				buffer.clear();
+				buffer.limit((int) Math.min(buffer.capacity(), remaining * RECORD_BYTES));
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0) { }
+				buffer.flip();
+
+				while (buffer.remaining() >= RECORD_BYTES)
+				{
+					live.put(buffer.getLong(), buffer.getLong(), buffer.getLong());
+					remaining--;
+				}
+
+				// stop if the file was shortened while it was being read
+				if (buffer.hasRemaining() || buffer.limit() == 0)
+				{
+					break;
+				}
+			}
+
+			return records - remaining;
+		}
+	}
+
+
+	/**
+	 * Open the journal for appending, writing a new header if the file is missing or unrecognized,
+	 * and discarding any partial record left by an interrupted write
+	 */
+	private void openJournal() throws IOException
+	{
+		journal = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		final long wholeRecordsEnd = HEADER_BYTES + journalRecords * RECORD_BYTES;
+		if (journalRecords == 0 || journal.size() < wholeRecordsEnd)
+		{
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(JOURNAL_MAGIC).putInt(FORMAT_VERSION);
+			journal.truncate(0);
+			journal.position(0);
+			write(journal, header);
+			journalRecords = 0;
+		}
+		else
+		{
+			journal.truncate(wholeRecordsEnd);
+			journal.position(wholeRecordsEnd);
+		}
+	}
+
+
+	/**
+	 * Write the contents of a buffer to a channel and clear the buffer
+	 *
+	 * @return the number of whole records written
+	 */
+	private static int write(final FileChannel channel, final ByteBuffer buffer) throws IOException
+	{
+		buffer.flip();
+		final int records = buffer.remaining() / RECORD_BYTES;
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer);
+		}
+		buffer.clear();
+		return records;
+	}
+
+
+	private record PendingRecord(long mostSigBits, long leastSigBits, long expiryEpochMillis) { }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.persistence;
+
+/**
+ * Persistent storage for player cooldown expiry times. Expiry times are stored as wall clock
+ * epoch milliseconds, so that they remain meaningful across server restarts.
+ */
+public interface CooldownStore
+{
+	/**
+	 * A store that does not persist anything, for use when persistence is disabled
+	 */
+	CooldownStore NONE = new CooldownStore()
+	{
+		@Override
+		public int replay(final EntryConsumer consumer)
+		{
+			return 0;
+		}
+
+		@Override
+		public void append(final long mostSigBits, final long leastSigBits, final long expiryEpochMillis) { }
+
+		@Override
+		public void close() { }
+	};
+
+
+	/**
+	 * Pass every unexpired stored entry to a consumer. If an entry was stored more than once,
+	 * only its most recent expiry time is passed.
+	 *
+	 * @param consumer the consumer that receives each restored entry
+	 * @return the number of entries restored
+	 */
+	int replay(EntryConsumer consumer);
+
+
+	/**
+	 * Record a cooldown expiry time. Implementations must not block the calling thread.
+	 *
+	 * @param mostSigBits       the most significant bits of the player uuid
+	 * @param leastSigBits      the least significant bits of the player uuid
+	 * @param expiryEpochMillis the cooldown expiry time, in epoch milliseconds
+	 */
+	void append(long mostSigBits, long leastSigBits, long expiryEpochMillis);
+
+
+	/**
+	 * Write any pending entries and release resources. Called when the plugin is disabled.
+	 */
+	void close();
+
+
+	/**
+	 * Receives entries restored from a store
+	 */
+	@FunctionalInterface
+	interface EntryConsumer
+	{
+		void accept(long mostSigBits, long leastSigBits, long expiryEpochMillis);
+	}
+
+}
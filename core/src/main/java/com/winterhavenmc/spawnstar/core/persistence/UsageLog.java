@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.persistence;
+
+/**
+ * A destination for records of SpawnStar item use
+ */
+public interface UsageLog
+{
+	/**
+	 * A log that discards every record, for use when the usage log could not be opened
+	 */
+	UsageLog NONE = new UsageLog()
+	{
+		@Override
+		public void record(final UsageRecord record) { }
+
+		@Override
+		public long dropped()
+		{
+			return 0;
+		}
+
+		@Override
+		public void close() { }
+	};
+
+
+	/**
+	 * Record an item use. Implementations must not block the calling thread.
+	 *
+	 * @param record the usage record
+	 */
+	void record(UsageRecord record);
+
+
+	/**
+	 * Get the number of records discarded because they could not be queued
+	 *
+	 * @return the number of dropped records
+	 */
+	long dropped();
+
+
+	/**
+	 * Write any pending records and release resources. Called when the plugin is disabled.
+	 */
+	void close();
+
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.persistence;
+
+import com.winterhavenmc.spawnstar.core.settings.FsyncPolicy;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.settings.SpawnStarSettings;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+
+/**
+ * A {@link UsageLog} that writes records as JSON lines to rotating files.
+ * <p>
+ * Records are added to a bounded queue without locking or blocking; when the queue is full, the record
+ * is dropped and counted. A background thread writes queued records in batches to {@code usage.jsonl}.
+ * When that file reaches the configured size or age, it is renamed with its rotation time and a new file
+ * is started, and the oldest rotated files beyond the configured count are deleted. How often written
+ * records are forced to disk is set by the configured {@link FsyncPolicy}.
+ */
+public final class UsageLogWriter implements UsageLog
+{
+	private static final String ACTIVE_FILE_NAME = "usage.jsonl";
+	private static final String ROTATED_FILE_PREFIX = "usage-";
+	private static final String FILE_SUFFIX = ".jsonl";
+	private static final DateTimeFormatter ROTATED_FILE_TIME =
+			DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+	private static final int QUEUE_CAPACITY = 8192;
+	private static final int BATCH_BYTES = 64 * 1024;
+	private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final long FSYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private final Path directory;
+	private final Path activeFile;
+	private final Logger logger;
+	private final SettingsHolder settings;
+	private final ConcurrentLinkedQueue<UsageRecord> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicLong dropped = new AtomicLong();
+
+	// owned by the writer thread
+	private final StringBuilder line = new StringBuilder(256);
+	private FileChannel channel;
+	private long fileSize;
+	private long fileStartMillis;
+	private long lastFsync;
+	private boolean unsynced;
+	private long reportedDropped;
+
+	private final Thread writer;
+	private volatile boolean running;
+
+
+	private UsageLogWriter(final Path directory, final Logger logger, final SettingsHolder settings)
+	{
+		this.directory = directory;
+		this.activeFile = directory.resolve(ACTIVE_FILE_NAME);
+		this.logger = Objects.requireNonNull(logger);
+		this.settings = Objects.requireNonNull(settings);
+		this.writer = new Thread(this::writeLoop, "SpawnStar usage log");
+		this.writer.setDaemon(true);
+	}
+
+
+	/**
+	 * Create a usage log writer in a directory and start its writer thread. The active file is opened
+	 * when the first record is written.
+	 *
+	 * @param directory the directory that holds the usage log files
+	 * @param logger    the logger used to report dropped records and errors
+	 * @param settings  the settings holder, read for the rotation and fsync settings
+	 * @return a new running usage log writer
+	 * @throws IOException if the directory could not be created
+	 */
+	public static UsageLogWriter start(final Path directory, final Logger logger, final SettingsHolder settings) throws IOException
+	{
+		Files.createDirectories(directory);
+		final UsageLogWriter usageLog = new UsageLogWriter(directory, logger, settings);
+		usageLog.running = true;
+		usageLog.writer.start();
+		return usageLog;
+	}
+
+
+	/**
+	 * Queue a record for the writer thread, or drop it if the queue is full
+	 */
+	@Override
+	public void record(final UsageRecord record)
+	{
+		if (!running)
+		{
+			return;
+		}
+
+		if (queued.incrementAndGet() > QUEUE_CAPACITY)
+		{
+			queued.decrementAndGet();
+			dropped.incrementAndGet();
+			return;
+		}
+
+		queue.offer(record);
+	}
+
+
+	@Override
+	public long dropped()
+	{
+		return dropped.get();
+	}
+
+
+	/**
+	 * Stop the writer thread, writing all queued records and forcing them to disk
+	 */
+	@Override
+	public void close()
+	{
+		if (!running)
+		{
+			return;
+		}
+
+		running = false;
+		LockSupport.unpark(writer);
+
+		try
+		{
+			writer.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	private void writeLoop()
+	{
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_BYTES);
+
+		while (running)
+		{
+			LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+
+			try
+			{
+				drain(buffer, settings.get());
+			}
+			catch (IOException exception)
+			{
+				logger.log(Level.WARNING, "Could not write usage log.", exception);
+				closeChannel();
+			}
+			reportDropped();
+		}
+
+		try
+		{
+			drain(buffer, settings.get());
+			if (channel != null)
+			{
+				channel.force(false);
+			}
+		}
+		catch (IOException exception)
+		{
+			logger.log(Level.WARNING, "Could not write usage log.", exception);
+		}
+		closeChannel();
+		reportDropped();
+	}
+
+
+	private void drain(final ByteBuffer buffer, final SpawnStarSettings settings) throws IOException
+	{
+		if (queue.isEmpty())
+		{
+			syncIfDue(settings.logging().fsync());
+			return;
+		}
+
+		rotateIfDue(settings);
+		openIfClosed();
+
+		UsageRecord record;
+		while ((record = queue.poll()) != null)
+		{
+			queued.decrementAndGet();
+			final byte[] bytes = encode(record);
+
+			if (bytes.length > buffer.remaining())
+			{
+				flush(buffer);
+			}
+			if (bytes.length > buffer.capacity())
+			{
+				writeFully(ByteBuffer.wrap(bytes));
+			}
+			else
+			{
+				buffer.put(bytes);
+			}
+		}
+		flush(buffer);
+
+		unsynced = true;
+		if (settings.logging().fsync() == FsyncPolicy.ALWAYS)
+		{
+			channel.force(false);
+			unsynced = false;
+		}
+		else
+		{
+			syncIfDue(settings.logging().fsync());
+		}
+	}
+
+
+	private void flush(final ByteBuffer buffer) throws IOException
+	{
+		buffer.flip();
+		writeFully(buffer);
+		buffer.clear();
+	}
+
+
+	private void writeFully(final ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			fileSize += channel.write(buffer);
+		}
+	}
+
+
+	private void syncIfDue(final FsyncPolicy policy) throws IOException
+	{
+		if (unsynced && policy == FsyncPolicy.PERIODIC && System.nanoTime() - lastFsync >= FSYNC_INTERVAL_NANOS)
+		{
+			channel.force(false);
+			lastFsync = System.nanoTime();
+			unsynced = false;
+		}
+	}
+
+
+	private void openIfClosed() throws IOException
+	{
+		if (channel != null)
+		{
+			return;
+		}
+
+		channel = FileChannel.open(activeFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		fileSize = channel.size();
+		fileStartMillis = fileSize > 0
+				? Files.readAttributes(activeFile, BasicFileAttributes.class).creationTime().toMillis()
+				: System.currentTimeMillis();
+		lastFsync = System.nanoTime();
+	}
+
+
+	private void rotateIfDue(final SpawnStarSettings settings) throws IOException
+	{
+		if (channel == null && Files.exists(activeFile))
+		{
+			openIfClosed();
+		}
+		if (channel == null)
+		{
+			return;
+		}
+
+		final long nowMillis = System.currentTimeMillis();
+		if (fileSize < settings.logging().maxBytes() && nowMillis - fileStartMillis < settings.logging().rotateMillis())
+		{
+			return;
+		}
+
+		channel.force(false);
+		closeChannel();
+
+		final Path rotatedFile = directory.resolve(ROTATED_FILE_PREFIX + ROTATED_FILE_TIME.format(Instant.ofEpochMilli(nowMillis)) + FILE_SUFFIX);
+		Files.move(activeFile, rotatedFile, StandardCopyOption.REPLACE_EXISTING);
+		deleteOldFiles(settings.logging().maxFiles());
+	}
+
+
+	/**
+	 * Delete the oldest rotated files, keeping the given number. Rotated file names sort by rotation time.
+	 */
+	private void deleteOldFiles(final int keep) throws IOException
+	{
+		final List<Path> rotated;
+		try (Stream<Path> files = Files.list(directory))
+		{
+			rotated = files.filter(file -> file.getFileName().toString().startsWith(ROTATED_FILE_PREFIX)
+							&& file.getFileName().toString().endsWith(FILE_SUFFIX))
+					.sorted()
+					.toList();
+		}
+
+		for (int i = 0; i < rotated.size() - keep; i++)
+		{
+			Files.deleteIfExists(rotated.get(i));
+		}
+	}
+
+
+	private void closeChannel()
+	{
+		if (channel != null)
+		{
+			try
+			{
+				channel.close();
+			}
+			catch (IOException exception)
+			{
+				logger.log(Level.WARNING, "Could not close usage log.", exception);
+			}
+			channel = null;
+			unsynced = false;
+		}
+	}
+
+
+	private void reportDropped()
+	{
+		final long total = dropped.get();
+		if (total > reportedDropped)
+		{
+			logger.warning("Dropped " + (total - reportedDropped) + " usage log records because the queue was full.");
+			reportedDropped = total;
+		}
+	}
+
+
+	/**
+	 * Encode a record as one line of JSON
+	 */
+	private byte[] encode(final UsageRecord record)
+	{
+		line.setLength(0);
+		line.append("{\"time\":\"").append(Instant.ofEpochMilli(record.epochMillis())).append('"');
+		line.append(",\"uuid\":\"").append(record.playerUid()).append('"');
+		appendString(",\"player\":", record.playerName());
+		appendString(",\"from_world\":", record.fromWorld());
+		appendCoordinates(",\"from\":", record.fromX(), record.fromY(), record.fromZ());
+		appendString(",\"to_world\":", record.toWorld());
+		appendCoordinates(",\"to\":", record.toX(), record.toY(), record.toZ());
+		appendString(",\"item\":", record.item());
+		line.append("}\n");
+		return line.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+
+	private void appendCoordinates(final String name, final double x, final double y, final double z)
+	{
+		line.append(name).append('[')
+				.append(Math.round(x * 100.0) / 100.0).append(',')
+				.append(Math.round(y * 100.0) / 100.0).append(',')
+				.append(Math.round(z * 100.0) / 100.0).append(']');
+	}
+
+
+	private void appendString(final String name, final String value)
+	{
+		line.append(name);
+		if (value == null)
+		{
+			line.append("null");
+			return;
+		}
+
+		line.append('"');
+		for (int i = 0; i < value.length(); i++)
+		{
+			final char c = value.charAt(i);
+			switch (c)
+			{
+				case '"' -> line.append("\\\"");
+				case '\\' -> line.append("\\\\");
+				case '\n' -> line.append("\\n");
+				case '\r' -> line.append("\\r");
+				case '\t' -> line.append("\\t");
+				default ->
+				{
+					if (c < 0x20)
+					{
+						line.append(String.format("\\u%04x", (int) c));
+					}
+					else
+					{
+						line.append(c);
+					}
+				}
+			}
+		}
+		line.append('"');
+	}
+
+}
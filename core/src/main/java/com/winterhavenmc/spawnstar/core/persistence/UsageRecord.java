@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.persistence;
+
+import java.util.UUID;
+
+
+/**
+ * An immutable record of one SpawnStar item use, captured on the main thread and written by a {@link UsageLog}
+ *
+ * @param epochMillis the time of use, in epoch milliseconds
+ * @param playerUid   the uuid of the player
+ * @param playerName  the name of the player
+ * @param fromWorld   the name of the world the player was in
+ * @param fromX       the x coordinate of the player
+ * @param fromY       the y coordinate of the player
+ * @param fromZ       the z coordinate of the player
+ * @param toWorld     the name of the destination world
+ * @param toX         the x coordinate of the destination
+ * @param toY         the y coordinate of the destination
+ * @param toZ         the z coordinate of the destination
+ * @param item        the material name of the item used
+ */
+public record UsageRecord(long epochMillis,
+                          UUID playerUid,
+                          String playerName,
+                          String fromWorld,
+                          double fromX,
+                          double fromY,
+                          double fromZ,
+                          String toWorld,
+                          double toX,
+                          double toY,
+                          double toZ,
+                          String item)
+{
+}
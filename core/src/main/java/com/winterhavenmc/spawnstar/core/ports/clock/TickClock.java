@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.ports.clock;
+
+
+/**
+ * Supplies the current time to the teleport engine. Warmups, message repeat delays and click limits are
+ * measured in server ticks; cooldowns are measured in nanoseconds, so that they last the configured time
+ * when the server falls behind; usage records and persisted cooldowns are stamped with wall clock time.
+ * Every method may be called from any thread.
+ */
+public interface TickClock
+{
+	/**
+	 * Get the number of ticks the plugin has run
+	 *
+	 * @return the current tick
+	 */
+	long currentTick();
+
+
+	/**
+	 * Get a monotonic time, for measuring elapsed time; only the difference between two values is meaningful
+	 *
+	 * @return the current time in nanoseconds
+	 */
+	long nanoTime();
+
+
+	/**
+	 * Get the wall clock time
+	 *
+	 * @return the current time in milliseconds since the epoch
+	 */
+	long currentTimeMillis();
+}
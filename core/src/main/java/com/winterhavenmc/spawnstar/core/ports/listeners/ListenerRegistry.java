@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.ports.listeners;
+
+import java.util.List;
+
+/**
+ * A registry of event listener units that are registered with the server as they are needed
+ */
+public interface ListenerRegistry
+{
+	/**
+	 * Get the names of all listener units
+	 *
+	 * @return the listener unit names, in registration order
+	 */
+	List<String> listenerNames();
+
+
+	/**
+	 * Get the names of the listener units currently registered with the server
+	 *
+	 * @return the registered listener unit names, in registration order
+	 */
+	List<String> registeredListeners();
+}
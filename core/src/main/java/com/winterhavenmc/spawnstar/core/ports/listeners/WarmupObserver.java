@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.ports.listeners;
+
+/**
+ * Receives notice when the number of pending teleport warmups changes between zero and non-zero,
+ * so that event handlers which are only needed during a warmup can be registered on demand
+ */
+public interface WarmupObserver
+{
+	/**
+	 * Called when the first warmup starts while no other warmup is pending
+	 */
+	void warmupsStarted();
+
+
+	/**
+	 * Called when the last pending warmup finishes or is cancelled
+	 */
+	void warmupsEnded();
+}
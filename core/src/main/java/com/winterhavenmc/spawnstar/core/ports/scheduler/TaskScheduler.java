@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.ports.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Runs plugin actions on the thread that owns the state they touch. On a single threaded server every
+ * action runs on the main thread. On a region threaded server, global housekeeping runs on the global
+ * region thread, and actions for a player run on the thread of the region the player is in.
+ */
+public interface TaskScheduler
+{
+	/**
+	 * A scheduled action that may be cancelled
+	 */
+	interface Task
+	{
+		/**
+		 * Cancel the action. Cancelling an action that has run, or has been cancelled, has no effect.
+		 */
+		void cancel();
+	}
+
+
+	/**
+	 * Run an action repeatedly on the thread that owns global server state
+	 *
+	 * @param action the action to run
+	 * @param delay  the delay in ticks before the first run, at least one
+	 * @param period the period in ticks between runs, at least one
+	 * @return a handle that may be used to cancel the action
+	 */
+	Task runGlobalTimer(Runnable action, long delay, long period);
+
+
+	/**
+	 * Run an action on the thread that owns global server state; immediately if called from that thread,
+	 * otherwise at the next tick
+	 *
+	 * @param action the action to run
+	 */
+	void executeGlobal(Runnable action);
+
+
+	/**
+	 * Run an action once after a delay on the thread that owns an entity. The action is not run if the
+	 * entity is removed from the server first.
+	 *
+	 * @param entity the entity
+	 * @param action the action to run
+	 * @param delay  the delay in ticks, at least one
+	 * @return a handle that may be used to cancel the action
+	 */
+	Task runForEntity(Entity entity, Runnable action, long delay);
+
+
+	/**
+	 * Run an action on the thread that owns an entity; immediately if called from that thread, otherwise
+	 * at the next tick. The action is not run if the entity is removed from the server first.
+	 *
+	 * @param entity the entity
+	 * @param action the action to run
+	 */
+	void executeForEntity(Entity entity, Runnable action);
+
+
+	/**
+	 * Teleport a player, loading the destination without blocking where the server supports it
+	 *
+	 * @param player      the player, which must be owned by the calling thread
+	 * @param destination the destination
+	 * @return a future completed with {@code true} on the thread that owns the player once the player has
+	 * arrived, or with {@code false} if the teleport failed
+	 */
+	CompletableFuture<Boolean> teleport(Player player, Location destination);
+
+
+	/**
+	 * Test if entities in different regions are owned by different threads
+	 *
+	 * @return {@code true} if the server is region threaded, {@code false} if every action runs on the main thread
+	 */
+	boolean isRegionThreaded();
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.scheduler;
+
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Owns every task the plugin schedules, on the server scheduler or on the {@link TickWheel}. Each task is
+ * recorded with its purpose, the player that owns it, if any, the tick it was created and the number of
+ * ticks it is expected to live; a one-shot task leaves the registry when it runs or is cancelled, and a
+ * repeating task when it is cancelled.
+ * <p>
+ * The registry cancels the tasks of a player when the player quits or dies, and every task when the plugin
+ * is disabled. It reports the live tasks by purpose, which is the scheduler load the plugin adds, and the
+ * tasks that have outlived their expected lifetime, which have leaked.
+ * <p>
+ * Hand-offs to another thread through {@link TaskScheduler#executeGlobal(Runnable)} and
+ * {@link TaskScheduler#executeForEntity(Entity, Runnable)} are not recorded, since they run within a tick.
+ * The registry may be used from any thread, except that tasks on the wheel must be scheduled on the
+ * thread that advances it.
+ */
+public final class TaskRegistry
+{
+	/**
+	 * The expected lifetime of a task that runs until it is cancelled
+	 */
+	public static final long FOREVER = Long.MAX_VALUE;
+
+	// ticks a one-shot task may run late, on a busy region, before it is reported as overdue
+	private static final long OVERDUE_GRACE_TICKS = 100L;
+
+	/**
+	 * What a task is scheduled for
+	 */
+	public enum Purpose
+	{
+		TICK_DRIVER,
+		WARMUP,
+		COOLDOWN_SWEEP,
+		CHUNK_PRELOAD,
+		MOVEMENT_POLL,
+		WARMUP_EFFECTS,
+		ADMISSION_QUEUE,
+		LISTENER_IDLE,
+		;
+
+
+		/**
+		 * Get the name of this purpose as displayed, in lower case with dashes
+		 *
+		 * @return the display name
+		 */
+		public String displayName()
+		{
+			return name().toLowerCase().replace('_', '-');
+		}
+	}
+
+	private final TaskScheduler scheduler;
+	private final TickWheel wheel;
+	private final TickClock clock;
+	private final Set<Entry> live = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param scheduler the scheduler of server tasks
+	 * @param wheel     the timing wheel
+	 * @param clock     the clock that dates the tasks
+	 */
+	public TaskRegistry(final TaskScheduler scheduler, final TickWheel wheel, final TickClock clock)
+	{
+		this.scheduler = Objects.requireNonNull(scheduler);
+		this.wheel = Objects.requireNonNull(wheel);
+		this.clock = Objects.requireNonNull(clock);
+	}
+
+
+	/**
+	 * Run an action repeatedly on the thread that owns global server state
+	 *
+	 * @param purpose what the task is for
+	 * @param action  the action to run
+	 * @param delay   the delay in ticks before the first run, at least one
+	 * @param period  the period in ticks between runs, at least one
+	 * @return the task, which may be cancelled
+	 */
+	public TaskScheduler.Task runGlobalTimer(final Purpose purpose, final Runnable action, final long delay, final long period)
+	{
+		final Entry entry = register(purpose, null, FOREVER);
+		return attach(entry, scheduler.runGlobalTimer(action, delay, period));
+	}
+
+
+	/**
+	 * Run an action once after a delay on the thread that owns an entity, which owns the task
+	 *
+	 * @param purpose what the task is for
+	 * @param entity  the entity
+	 * @param action  the action to run
+	 * @param delay   the delay in ticks, at least one
+	 * @return the task, which may be cancelled
+	 */
+	public TaskScheduler.Task runForEntity(final Purpose purpose, final Entity entity, final Runnable action, final long delay)
+	{
+		final Entry entry = register(purpose, entity.getUniqueId(), delay);
+		return attach(entry, scheduler.runForEntity(entity, entry.once(action), delay));
+	}
+
+
+	/**
+	 * Run an action repeatedly on the wheel
+	 *
+	 * @param purpose what the task is for
+	 * @param action  the action to run
+	 * @param delay   the delay in ticks before the first run
+	 * @param period  the period in ticks between runs, at least one
+	 * @return the task, which may be cancelled
+	 */
+	public TaskScheduler.Task scheduleRepeating(final Purpose purpose, final Runnable action, final long delay, final long period)
+	{
+		final Entry entry = register(purpose, null, FOREVER);
+		return attach(entry, wheel.scheduleRepeating(action, delay, period)::cancel);
+	}
+
+
+	/**
+	 * Run an action once after a delay on the wheel
+	 *
+	 * @param purpose what the task is for
+	 * @param action  the action to run
+	 * @param delay   the delay in ticks
+	 * @return the task, which may be cancelled
+	 */
+	public TaskScheduler.Task schedule(final Purpose purpose, final Runnable action, final long delay)
+	{
+		final Entry entry = register(purpose, null, delay);
+		return attach(entry, wheel.schedule(entry.once(action), delay)::cancel);
+	}
+
+
+	/**
+	 * Cancel every task owned by a player
+	 *
+	 * @param owner the uuid of the player
+	 * @return the number of tasks cancelled
+	 */
+	public int cancelOwnedBy(final UUID owner)
+	{
+		int cancelled = 0;
+		for (Entry entry : live)
+		{
+			if (owner.equals(entry.owner) && entry.release())
+			{
+				cancelled++;
+			}
+		}
+		return cancelled;
+	}
+
+
+	/**
+	 * Cancel every task, when the plugin is disabled
+	 */
+	public void cancelAll()
+	{
+		for (Entry entry : live)
+		{
+			entry.release();
+		}
+	}
+
+
+	/**
+	 * Get the number of live tasks
+	 *
+	 * @return the number of tasks that have not run or been cancelled
+	 */
+	public int size()
+	{
+		return live.size();
+	}
+
+
+	/**
+	 * Get the number of live tasks for each purpose
+	 *
+	 * @return the task counts, in purpose order, for purposes with live tasks
+	 */
+	public Map<Purpose, Integer> liveCounts()
+	{
+		final Map<Purpose, Integer> counts = new EnumMap<>(Purpose.class);
+		for (Entry entry : live)
+		{
+			counts.merge(entry.purpose, 1, Integer::sum);
+		}
+		return counts;
+	}
+
+
+	/**
+	 * Get the tasks that have outlived their expected lifetime
+	 *
+	 * @return the overdue tasks, oldest first
+	 */
+	public List<Entry> overdueTasks()
+	{
+		final long now = clock.currentTick();
+		final List<Entry> overdue = new ArrayList<>();
+		for (Entry entry : live)
+		{
+			if (entry.isOverdue(now))
+			{
+				overdue.add(entry);
+			}
+		}
+		overdue.sort(Comparator.comparingLong(Entry::createdTick));
+		return overdue;
+	}
+
+
+	private Entry register(final Purpose purpose, final UUID owner, final long expectedTicks)
+	{
+		// recorded before the task is scheduled, so a task that runs at once on another thread finds its entry
+		final Entry entry = new Entry(purpose, owner, clock.currentTick(), expectedTicks);
+		live.add(entry);
+		return entry;
+	}
+
+
+	private TaskScheduler.Task attach(final Entry entry, final TaskScheduler.Task handle)
+	{
+		entry.handle = handle;
+
+		// a task cancelled by another thread while it was being scheduled is cancelled now; cancelling
+		// a one-shot task that has already run has no effect
+		if (!live.contains(entry))
+		{
+			handle.cancel();
+		}
+		return entry;
+	}
+
+
+	/**
+	 * A task recorded in the registry. Cancelling it cancels the scheduled task.
+	 */
+	public final class Entry implements TaskScheduler.Task
+	{
+		private final Purpose purpose;
+		private final UUID owner;
+		private final long createdTick;
+		private final long expectedTicks;
+		private volatile TaskScheduler.Task handle;
+
+
+		private Entry(final Purpose purpose, final UUID owner, final long createdTick, final long expectedTicks)
+		{
+			this.purpose = Objects.requireNonNull(purpose);
+			this.owner = owner;
+			this.createdTick = createdTick;
+			this.expectedTicks = expectedTicks;
+		}
+
+
+		@Override
+		public void cancel()
+		{
+			release();
+		}
+
+
+		public Purpose purpose()
+		{
+			return purpose;
+		}
+
+
+		/**
+		 * Get the player that owns the task
+		 *
+		 * @return the uuid of the player, or {@code null} if the task is owned by the plugin
+		 */
+		public UUID owner()
+		{
+			return owner;
+		}
+
+
+		public long createdTick()
+		{
+			return createdTick;
+		}
+
+
+		/**
+		 * Get the number of ticks the task is expected to live
+		 *
+		 * @return the expected lifetime in ticks, or {@link #FOREVER} for a task that runs until it is cancelled
+		 */
+		public long expectedTicks()
+		{
+			return expectedTicks;
+		}
+
+
+		@Override
+		public String toString()
+		{
+			return purpose.displayName()
+					+ (owner == null ? "" : " of " + owner)
+					+ ", " + (clock.currentTick() - createdTick) + " ticks old"
+					+ (expectedTicks == FOREVER ? "" : ", expected " + expectedTicks);
+		}
+
+
+		private boolean isOverdue(final long now)
+		{
+			return expectedTicks != FOREVER && now - createdTick > expectedTicks + OVERDUE_GRACE_TICKS;
+		}
+
+
+		/**
+		 * Wrap the action of a one-shot task, so the task leaves the registry when it runs
+		 */
+		private Runnable once(final Runnable action)
+		{
+			return () ->
+			{
+				live.remove(this);
+				action.run();
+			};
+		}
+
+
+		/**
+		 * Remove the task from the registry and cancel it, if it is still live
+		 *
+		 * @return {@code true} if the task was live, {@code false} if it had run or been cancelled
+		 */
+		private boolean release()
+		{
+			if (live.remove(this))
+			{
+				final TaskScheduler.Task task = handle;
+				if (task != null)
+				{
+					task.cancel();
+				}
+				return true;
+			}
+			return false;
+		}
+	}
+
+}
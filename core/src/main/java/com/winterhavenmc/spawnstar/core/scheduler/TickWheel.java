@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.scheduler;
+
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * A hierarchical timing wheel that schedules actions in server ticks. The wheel is advanced
+ * by a single repeating server task calling {@link #tick()} once per tick, so any number of
+ * pending actions adds no load to the server scheduler. Scheduling and cancelling are O(1).
+ * <p>
+ * The wheel has four levels of 64 slots each. Level 0 holds actions due within 64 ticks;
+ * each higher level covers 64 times the range of the level below it, and its entries are
+ * cascaded down a level as the wheel turns. Actions due further out than the top level can
+ * hold are parked in the top level and re-cascaded until they come within range.
+ * <p>
+ * This class is not thread safe, and must only be used from the thread that calls {@link #tick()},
+ * except for {@link #currentTick()}, which may be read from any thread.
+ */
+public final class TickWheel
+{
+	private static final int SLOT_BITS = 6;
+	private static final int SLOT_COUNT = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOT_COUNT - 1;
+	private static final int LEVEL_COUNT = 4;
+	private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVEL_COUNT)) - 1;
+
+	private final Logger logger;
+	private final Task[][] slots = new Task[LEVEL_COUNT][SLOT_COUNT];
+	// written only by the thread that calls tick(); read by any thread that needs the current tick
+	private volatile long currentTick;
+	private int size;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param logger the logger used to report exceptions thrown by scheduled actions
+	 */
+	public TickWheel(final Logger logger)
+	{
+		this.logger = Objects.requireNonNull(logger);
+	}
+
+
+	/**
+	 * Schedule an action to run once after a delay
+	 *
+	 * @param action the action to run
+	 * @param delay  the delay in ticks; values less than one are treated as one
+	 * @return a handle that may be used to cancel the scheduled action
+	 */
+	public Task schedule(final Runnable action, final long delay)
+	{
+		return add(action, delay, 0L);
+	}
+
+
+	/**
+	 * Schedule an action to run repeatedly until cancelled
+	 *
+	 * @param action the action to run
+	 * @param delay  the delay in ticks before the first run; values less than one are treated as one
+	 * @param period the period in ticks between runs; must be at least one
+	 * @return a handle that may be used to cancel the scheduled action
+	 */
+	public Task scheduleRepeating(final Runnable action, final long delay, final long period)
+	{
+		if (period < 1)
+		{
+			throw new IllegalArgumentException("period must be at least one tick");
+		}
+
+		return add(action, delay, period);
+	}
+
+
+	/**
+	 * Advance the wheel by one tick, running every action that has come due
+	 */
+	public void tick()
+	{
+		final long tick = ++currentTick;
+
+		// cascade higher level slots into lower levels each time a lower level wraps around
+		for (int level = 1; level < LEVEL_COUNT; level++)
+		{
+			if (((tick >>> (SLOT_BITS * (level - 1))) & SLOT_MASK) != 0)
+			{
+				break;
+			}
+			cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+		}
+
+		// run all tasks in the current level 0 slot
+		final int index = (int) (tick & SLOT_MASK);
+		Task task;
+		while ((task = slots[0][index]) != null)
+		{
+			unlink(task);
+
+			if (task.deadline > tick)
+			{
+				insert(task);
+				continue;
+			}
+
+			run(task);
+
+			// reschedule repeating tasks that were not cancelled while running
+			if (task.period > 0 && !task.cancelled)
+			{
+				task.deadline = tick + task.period;
+				insert(task);
+			}
+		}
+	}
+
+
+	/**
+	 * Get the number of ticks the wheel has been advanced since it was created
+	 *
+	 * @return the current wheel tick
+	 */
+	public long currentTick()
+	{
+		return currentTick;
+	}
+
+
+	/**
+	 * Get the number of actions currently scheduled
+	 *
+	 * @return the number of pending actions
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * Cancel all pending actions
+	 */
+	public void clear()
+	{
+		for (int level = 0; level < LEVEL_COUNT; level++)
+		{
+			for (int index = 0; index < SLOT_COUNT; index++)
+			{
+				Task task;
+				while ((task = slots[level][index]) != null)
+				{
+					task.cancelled = true;
+					unlink(task);
+				}
+			}
+		}
+	}
+
+
+	private Task add(final Runnable action, final long delay, final long period)
+	{
+		Task task = new Task(this, Objects.requireNonNull(action), currentTick + Math.max(1L, delay), period);
+		insert(task);
+		return task;
+	}
+
+
+	private void insert(final Task task)
+	{
+		long delta = task.deadline - currentTick;
+		long slotTick = task.deadline;
+
+		// park tasks that are beyond the range of the wheel in the furthest slot of the top level
+		if (delta > MAX_DELTA)
+		{
+			delta = MAX_DELTA;
+			slotTick = currentTick + MAX_DELTA;
+		}
+
+		int level = 0;
+		while (level < LEVEL_COUNT - 1 && delta >= (1L << (SLOT_BITS * (level + 1))))
+		{
+			level++;
+		}
+
+		int index = (int) ((slotTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+		Task head = slots[level][index];
+		task.level = level;
+		task.index = index;
+		task.prev = null;
+		task.next = head;
+		if (head != null)
+		{
+			head.prev = task;
+		}
+		slots[level][index] = task;
+		size++;
+	}
+
+
+	private void unlink(final Task task)
+	{
+		if (task.level < 0)
+		{
+			return;
+		}
+
+		if (task.prev != null)
+		{
+			task.prev.next = task.next;
+		}
+		else
+		{
+			slots[task.level][task.index] = task.next;
+		}
+
+		if (task.next != null)
+		{
+			task.next.prev = task.prev;
+		}
+
+		task.prev = null;
+		task.next = null;
+		task.level = -1;
+		size--;
+	}
+
+
+	private void cascade(final int level, final int index)
+	{
+		Task task;
+		while ((task = slots[level][index]) != null)
+		{
+			unlink(task);
+			insert(task);
+		}
+	}
+
+
+	private void run(final Task task)
+	{
+		try
+		{
+			task.action.run();
+		}
+		catch (RuntimeException exception)
+		{
+			logger.log(Level.WARNING, "A scheduled task threw an exception.", exception);
+		}
+	}
+
+
+	/**
+	 * A handle for an action scheduled on the wheel
+	 */
+	public static final class Task
+	{
+		private final TickWheel wheel;
+		private final Runnable action;
+		private final long period;
+		private long deadline;
+		private boolean cancelled;
+
+		// intrusive list links
+		private Task prev;
+		private Task next;
+		private int level = -1;
+		private int index;
+
+
+		private Task(final TickWheel wheel, final Runnable action, final long deadline, final long period)
+		{
+			this.wheel = wheel;
+			this.action = action;
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+
+		/**
+		 * Cancel this task. A cancelled task will not run again.
+		 *
+		 * @return {@code true} if the task was cancelled by this call, {@code false} if it was already cancelled
+		 */
+		public boolean cancel()
+		{
+			if (cancelled)
+			{
+				return false;
+			}
+
+			cancelled = true;
+			wheel.unlink(this);
+			return true;
+		}
+
+
+		/**
+		 * Check if this task has been cancelled
+		 *
+		 * @return {@code true} if the task has been cancelled, {@code false} if not
+		 */
+		public boolean isCancelled()
+		{
+			return cancelled;
+		}
+
+
+		/**
+		 * Check if this task is still scheduled to run
+		 *
+		 * @return {@code true} if the task is pending on the wheel, {@code false} if not
+		 */
+		public boolean isPending()
+		{
+			return level >= 0;
+		}
+
+
+		/**
+		 * Get the wheel tick on which this task is next due to run
+		 *
+		 * @return the deadline tick
+		 */
+		public long getDeadline()
+		{
+			return deadline;
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.settings;
+
+/**
+ * Enum with entries for the valid values of the log-use-fsync configuration setting
+ */
+public enum FsyncPolicy
+{
+	/**
+	 * Force usage log records to disk after every batch is written
+	 */
+	ALWAYS,
+
+	/**
+	 * Force usage log records to disk at most every few seconds, and when a file is rotated or closed
+	 */
+	PERIODIC,
+
+	/**
+	 * Leave writing usage log records to disk to the operating system
+	 */
+	NEVER,
+	;
+
+
+	/**
+	 * Parse a configuration string into an enum constant. Matching is case-insensitive.
+	 *
+	 * @param value the configuration string to parse
+	 * @param defaultValue the constant to return if the string does not match any constant
+	 * @return the matching enum constant, or {@code defaultValue} if no match
+	 */
+	public static FsyncPolicy parse(final String value, final FsyncPolicy defaultValue)
+	{
+		if (value == null)
+		{
+			return defaultValue;
+		}
+
+		String normalized = value.trim().toUpperCase();
+		for (FsyncPolicy constant : values())
+		{
+			if (constant.name().equals(normalized))
+			{
+				return constant;
+			}
+		}
+
+		return defaultValue;
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.settings;
+
+/**
+ * Enum with entries for the valid values of the movement-check configuration setting
+ */
+public enum MovementCheck
+{
+	/**
+	 * Cancel on any movement reported by a player move event
+	 */
+	EVENT,
+
+	/**
+	 * Sample the block position of warming players at an interval, without a player move event handler
+	 */
+	POLL,
+	;
+
+
+	/**
+	 * Parse a configuration string into an enum constant. Matching is case-insensitive.
+	 *
+	 * @param value the configuration string to parse
+	 * @param defaultValue the constant to return if the string does not match any constant
+	 * @return the matching enum constant, or {@code defaultValue} if no match
+	 */
+	public static MovementCheck parse(final String value, final MovementCheck defaultValue)
+	{
+		if (value == null)
+		{
+			return defaultValue;
+		}
+
+		String normalized = value.trim().toUpperCase();
+		for (MovementCheck constant : values())
+		{
+			if (constant.name().equals(normalized))
+			{
+				return constant;
+			}
+		}
+
+		return defaultValue;
+	}
+
+}
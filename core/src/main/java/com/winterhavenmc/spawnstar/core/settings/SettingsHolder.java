@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.settings;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ * Holds the current {@link SpawnStarSettings} snapshot. The snapshot reference is replaced
+ * atomically on reload, so readers always see a complete and consistent set of values.
+ */
+public final class SettingsHolder implements Supplier<SpawnStarSettings>
+{
+	private final Plugin plugin;
+	private final List<Consumer<SpawnStarSettings>> reloadListeners = new CopyOnWriteArrayList<>();
+	private volatile SpawnStarSettings settings;
+
+
+	/**
+	 * Class constructor. Creates the initial snapshot from the plugin configuration.
+	 *
+	 * @param plugin an instance of the plugin
+	 */
+	public SettingsHolder(final Plugin plugin)
+	{
+		this.plugin = Objects.requireNonNull(plugin);
+		this.settings = SpawnStarSettings.from(plugin.getConfig());
+	}
+
+
+	/**
+	 * Get the current settings snapshot
+	 *
+	 * @return the current settings snapshot
+	 */
+	@Override
+	public SpawnStarSettings get()
+	{
+		return settings;
+	}
+
+
+	/**
+	 * Register a listener to be notified with the new snapshot after each reload, for components
+	 * that derive their own state from settings values
+	 *
+	 * @param listener the listener to notify
+	 */
+	public void onReload(final Consumer<SpawnStarSettings> listener)
+	{
+		reloadListeners.add(Objects.requireNonNull(listener));
+	}
+
+
+	/**
+	 * Create a new snapshot from the plugin configuration and swap it in, then notify reload listeners.
+	 * The plugin configuration should be reloaded from disk before calling this method.
+	 *
+	 * @return the new settings snapshot
+	 */
+	public SpawnStarSettings reload()
+	{
+		SpawnStarSettings newSettings = SpawnStarSettings.from(plugin.getConfig());
+		this.settings = newSettings;
+		reloadListeners.forEach(listener -> listener.accept(newSettings));
+		return newSettings;
+	}
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.settings;
+
+import com.winterhavenmc.library.messagebuilder.models.time.TimeUnit;
+import com.winterhavenmc.spawnstar.core.util.Config;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * An immutable, typed snapshot of the plugin configuration. Values that are used on hot paths
+ * are parsed and precomputed once when the snapshot is created, so event handlers never
+ * have to perform string key lookups against the configuration. Related values are grouped
+ * into nested records, each created from the configuration by its own factory method.
+ *
+ * @param item         the item settings
+ * @param teleport     the teleport destination and warmup settings
+ * @param cooldown     the cooldown settings
+ * @param cancellation the settings for cancelling a pending teleport
+ * @param effects      the warmup and arrival effect settings
+ * @param limits       the per-tick and per-player rate limits
+ * @param logging      the usage log and timings settings
+ */
+public record SpawnStarSettings(Item item,
+                                Teleport teleport,
+                                Cooldown cooldown,
+                                Cancellation cancellation,
+                                Effects effects,
+                                Limits limits,
+                                Logging logging)
+{
+	private static final int MAX_PRELOAD_RADIUS = 4;
+	private static final int MAX_MOVEMENT_TOLERANCE = 1024;
+	private static final int MAX_PARTICLE_VIEW_DISTANCE = 256;
+
+
+	/**
+	 * Item settings
+	 *
+	 * @param material            the configured SpawnStar item material
+	 * @param removeFromInventory when a SpawnStar item is removed from the player inventory
+	 * @param shiftClick          whether shift-click is required to use an item
+	 * @param leftClick           whether left-click is allowed to use an item
+	 * @param passThroughBlocks   names of additional block materials that are used normally when clicked with an item
+	 * @param allowInRecipes      whether items may be used in crafting recipes
+	 */
+	public record Item(Material material,
+	                   RemoveFromInventory removeFromInventory,
+	                   boolean shiftClick,
+	                   boolean leftClick,
+	                   List<String> passThroughBlocks,
+	                   boolean allowInRecipes)
+	{
+		static Item from(final ConfigurationSection config)
+		{
+			return new Item(
+					getMaterial(config, Config.ITEM_MATERIAL),
+					RemoveFromInventory.parse(config.getString(Config.REMOVE_FROM_INVENTORY.getKey()),
+							RemoveFromInventory.parse(Config.REMOVE_FROM_INVENTORY.getValue(), RemoveFromInventory.ON_SUCCESS)),
+					getBoolean(config, Config.SHIFT_CLICK),
+					getBoolean(config, Config.LEFT_CLICK),
+					List.copyOf(config.getStringList(Config.PASS_THROUGH_BLOCKS.getKey())),
+					getBoolean(config, Config.ALLOW_IN_RECIPES));
+		}
+	}
+
+
+	/**
+	 * Teleport destination and warmup settings
+	 *
+	 * @param minimumDistance        the configured minimum distance from spawn, in blocks
+	 * @param minimumDistanceSquared the minimum distance squared, for comparison with {@code distanceSquared}
+	 * @param warmup                 the teleport warmup as a duration
+	 * @param warmupTicks            the teleport warmup in server ticks
+	 * @param warmupNanos            the teleport warmup in nanoseconds
+	 * @param preloadRadius          the radius in chunks preloaded around the destination during warmup, or -1 to disable
+	 * @param fromNether             whether use in a nether world returns the player to the overworld spawn
+	 * @param fromEnd                whether use in an end world returns the player to the overworld spawn
+	 * @param worldLinks             explicit links from nether or end world names to overworld names
+	 */
+	public record Teleport(int minimumDistance,
+	                       double minimumDistanceSquared,
+	                       Duration warmup,
+	                       long warmupTicks,
+	                       long warmupNanos,
+	                       int preloadRadius,
+	                       boolean fromNether,
+	                       boolean fromEnd,
+	                       Map<String, String> worldLinks)
+	{
+		static Teleport from(final ConfigurationSection config)
+		{
+			final int minimumDistance = Math.max(0, getInt(config, Config.MINIMUM_DISTANCE));
+			final long warmupSeconds = Math.max(0, getInt(config, Config.TELEPORT_WARMUP));
+
+			return new Teleport(
+					minimumDistance,
+					(double) minimumDistance * minimumDistance,
+					Duration.ofSeconds(warmupSeconds),
+					TimeUnit.SECONDS.toTicks(warmupSeconds),
+					Duration.ofSeconds(warmupSeconds).toNanos(),
+					Math.max(-1, Math.min(MAX_PRELOAD_RADIUS, getInt(config, Config.PRELOAD_RADIUS))),
+					getBoolean(config, Config.FROM_NETHER),
+					getBoolean(config, Config.FROM_END),
+					getStringMap(config, Config.WORLD_LINKS));
+		}
+	}
+
+
+	/**
+	 * Cooldown settings
+	 *
+	 * @param duration the teleport cooldown as a duration
+	 * @param ticks    the teleport cooldown in server ticks
+	 * @param nanos    the teleport cooldown in nanoseconds
+	 * @param persist  whether cooldowns are saved across restarts and reloads
+	 */
+	public record Cooldown(Duration duration,
+	                       long ticks,
+	                       long nanos,
+	                       boolean persist)
+	{
+		static Cooldown from(final ConfigurationSection config)
+		{
+			final long cooldownSeconds = Math.max(0, getInt(config, Config.TELEPORT_COOLDOWN));
+
+			return new Cooldown(
+					Duration.ofSeconds(cooldownSeconds),
+					TimeUnit.SECONDS.toTicks(cooldownSeconds),
+					Duration.ofSeconds(cooldownSeconds).toNanos(),
+					getBoolean(config, Config.PERSIST_COOLDOWNS));
+		}
+	}
+
+
+	/**
+	 * Settings for cancelling a pending teleport
+	 *
+	 * @param onDamage                 whether damage cancels a pending teleport
+	 * @param onMovement               whether movement cancels a pending teleport
+	 * @param movementCheck            how movement of warming players is detected
+	 * @param movementPollTicks        the interval in ticks between position samples, in poll mode
+	 * @param movementToleranceSquared the squared distance in blocks a player may move without cancelling, in poll mode
+	 * @param onInteraction            whether block interaction cancels a pending teleport
+	 */
+	public record Cancellation(boolean onDamage,
+	                           boolean onMovement,
+	                           MovementCheck movementCheck,
+	                           int movementPollTicks,
+	                           int movementToleranceSquared,
+	                           boolean onInteraction)
+	{
+		/**
+		 * Test if movement is checked by sampling warming player positions instead of handling move events
+		 *
+		 * @return {@code true} if cancel-on-movement is enabled in poll mode, {@code false} if not
+		 */
+		public boolean pollsMovement()
+		{
+			return onMovement && movementCheck == MovementCheck.POLL;
+		}
+
+
+		/**
+		 * Test if movement is checked by handling player move events
+		 *
+		 * @return {@code true} if cancel-on-movement is enabled in event mode, {@code false} if not
+		 */
+		public boolean handlesMoveEvents()
+		{
+			return onMovement && movementCheck == MovementCheck.EVENT;
+		}
+
+
+		static Cancellation from(final ConfigurationSection config)
+		{
+			final int movementTolerance = Math.max(0, Math.min(MAX_MOVEMENT_TOLERANCE, getInt(config, Config.MOVEMENT_TOLERANCE)));
+
+			return new Cancellation(
+					getBoolean(config, Config.CANCEL_ON_DAMAGE),
+					getBoolean(config, Config.CANCEL_ON_MOVEMENT),
+					MovementCheck.parse(config.getString(Config.MOVEMENT_CHECK.getKey()), MovementCheck.EVENT),
+					Math.max(1, getInt(config, Config.MOVEMENT_POLL_INTERVAL)),
+					movementTolerance * movementTolerance,
+					getBoolean(config, Config.CANCEL_ON_INTERACTION));
+		}
+	}
+
+
+	/**
+	 * Warmup and arrival effect settings
+	 *
+	 * @param particles           whether particle effects are displayed during warmup
+	 * @param viewDistanceSquared the squared distance in blocks within which players are sent warmup effects
+	 * @param budget              the maximum number of warmup effects sent to players per tick
+	 * @param lightning           whether a lightning effect is displayed at the destination
+	 */
+	public record Effects(boolean particles,
+	                      double viewDistanceSquared,
+	                      int budget,
+	                      boolean lightning)
+	{
+		static Effects from(final ConfigurationSection config)
+		{
+			final int viewDistance = Math.max(0, Math.min(MAX_PARTICLE_VIEW_DISTANCE, getInt(config, Config.PARTICLE_VIEW_DISTANCE)));
+
+			return new Effects(
+					getBoolean(config, Config.PARTICLE_EFFECTS),
+					(double) viewDistance * viewDistance,
+					Math.max(1, getInt(config, Config.PARTICLE_BUDGET)),
+					getBoolean(config, Config.LIGHTNING));
+		}
+	}
+
+
+	/**
+	 * Per-tick and per-player rate limits
+	 *
+	 * @param maxTeleportsPerTick        the maximum number of teleports completed per tick, or 0 for no limit
+	 * @param maxWorldTeleportsPerTick   the maximum number of teleports into one world completed per tick, or 0 for no limit
+	 * @param interactDelayTicks         the number of ticks during which a duplicate interact event is ignored
+	 * @param interactBurst              the number of item clicks a player may make at once, or 0 to accept every click
+	 * @param interactRefillTicks        the number of ticks in which a player regains one item click
+	 * @param denialMessageIntervalTicks the minimum number of ticks between denial messages sent to one player
+	 */
+	public record Limits(int maxTeleportsPerTick,
+	                     int maxWorldTeleportsPerTick,
+	                     int interactDelayTicks,
+	                     int interactBurst,
+	                     int interactRefillTicks,
+	                     long denialMessageIntervalTicks)
+	{
+		static Limits from(final ConfigurationSection config)
+		{
+			return new Limits(
+					Math.max(0, getInt(config, Config.MAX_TELEPORTS_PER_TICK)),
+					Math.max(0, getInt(config, Config.MAX_WORLD_TELEPORTS_PER_TICK)),
+					Math.max(0, getInt(config, Config.INTERACT_DELAY)),
+					Math.max(0, getInt(config, Config.INTERACT_BURST)),
+					Math.max(1, getInt(config, Config.INTERACT_REFILL_TICKS)),
+					TimeUnit.SECONDS.toTicks(Math.max(0, getInt(config, Config.DENIAL_MESSAGE_INTERVAL))));
+		}
+	}
+
+
+	/**
+	 * Usage log and timings settings
+	 *
+	 * @param logUse       whether item usage is logged
+	 * @param console      whether item usage is also logged to the server console
+	 * @param maxBytes     the size in bytes at which the usage log file is rotated
+	 * @param rotateMillis the age in milliseconds at which the usage log file is rotated
+	 * @param maxFiles     the number of rotated usage log files kept
+	 * @param fsync        when written usage log records are forced to disk
+	 * @param timings      whether handler latency timings are recorded from startup or reload
+	 */
+	public record Logging(boolean logUse,
+	                      boolean console,
+	                      long maxBytes,
+	                      long rotateMillis,
+	                      int maxFiles,
+	                      FsyncPolicy fsync,
+	                      boolean timings)
+	{
+		static Logging from(final ConfigurationSection config)
+		{
+			return new Logging(
+					getBoolean(config, Config.LOG_USE),
+					getBoolean(config, Config.LOG_USE_CONSOLE),
+					Math.max(1, getInt(config, Config.LOG_USE_MAX_FILE_SIZE)) * 1024L * 1024L,
+					Duration.ofHours(Math.max(1, getInt(config, Config.LOG_USE_ROTATE_HOURS))).toMillis(),
+					Math.max(0, getInt(config, Config.LOG_USE_MAX_FILES)),
+					FsyncPolicy.parse(config.getString(Config.LOG_USE_FSYNC.getKey()), FsyncPolicy.PERIODIC),
+					getBoolean(config, Config.TIMINGS));
+		}
+	}
+
+
+	/**
+	 * Create a settings snapshot from a configuration section. Missing or invalid values
+	 * are replaced with the defaults defined in the {@link Config} enum.
+	 *
+	 * @param config the configuration section to read
+	 * @return a new immutable settings snapshot
+	 */
+	public static SpawnStarSettings from(final ConfigurationSection config)
+	{
+		return new SpawnStarSettings(
+				Item.from(config),
+				Teleport.from(config),
+				Cooldown.from(config),
+				Cancellation.from(config),
+				Effects.from(config),
+				Limits.from(config),
+				Logging.from(config));
+	}
+
+
+	private static boolean getBoolean(final ConfigurationSection config, final Config setting)
+	{
+		return config.getBoolean(setting.getKey(), Boolean.parseBoolean(setting.getValue()));
+	}
+
+
+	private static Material getMaterial(final ConfigurationSection config, final Config setting)
+	{
+		final String name = config.getString(setting.getKey());
+		final Material material = name == null ? null : Material.matchMaterial(name);
+		return material != null ? material : Material.valueOf(setting.getValue());
+	}
+
+
+	private static Map<String, String> getStringMap(final ConfigurationSection config, final Config setting)
+	{
+		final ConfigurationSection section = config.getConfigurationSection(setting.getKey());
+		if (section == null)
+		{
+			return Map.of();
+		}
+
+		final Map<String, String> map = new HashMap<>();
+		for (String key : section.getKeys(false))
+		{
+			String value = section.getString(key);
+			if (value != null && !value.isBlank())
+			{
+				map.put(key, value.trim());
+			}
+		}
+		return Map.copyOf(map);
+	}
+
+
+	private static int getInt(final ConfigurationSection config, final Config setting)
+	{
+		return config.getInt(setting.getKey(), Integer.parseInt(setting.getValue()));
+	}
+
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Latency histograms of the plugin event handlers and teleport tasks, over sliding one minute and fifteen
+ * minute windows. A handler reads the clock with {@link #start()} on entry, and passes the result to
+ * {@link #record(Handler, long)} on exit. While timings are disabled, {@code start} returns without reading
+ * the clock and {@code record} returns at its first comparison.
+ * <p>
+ * Durations are counted in log-linear buckets: four buckets for each power of two nanoseconds, so a
+ * reported percentile is within 25% of the measured duration. Each window is a ring of time slots with
+ * one histogram per handler, and a slot is cleared by the first duration recorded after its time has
+ * come around again. A window includes the current, partial slot, so it covers between the window length
+ * and one slot more. Counts are atomic array elements, and recording neither locks nor allocates.
+ */
+public final class HandlerTimings
+{
+	/**
+	 * The timed handlers
+	 */
+	public enum Handler
+	{
+		PLAYER_INTERACT("onPlayerInteract"),
+		PLAYER_MOVEMENT("onPlayerMovement"),
+		ENTITY_DAMAGE("onEntityDamage"),
+		CRAFT_PREPARE("onCraftPrepare"),
+		INITIATE_TELEPORT("initiateTeleport"),
+		DELAYED_TELEPORT("DelayedTeleportTask"),
+		;
+
+		private final String displayName;
+
+
+		Handler(final String displayName)
+		{
+			this.displayName = displayName;
+		}
+
+
+		/**
+		 * Get the name of the method or class timed by this handler entry
+		 *
+		 * @return the display name
+		 */
+		public String displayName()
+		{
+			return displayName;
+		}
+	}
+
+
+	/**
+	 * The sliding windows over which durations are reported
+	 */
+	public enum Window
+	{
+		ONE_MINUTE("1m", TimeUnit.SECONDS.toNanos(15), 4),
+		FIFTEEN_MINUTES("15m", TimeUnit.MINUTES.toNanos(1), 15),
+		;
+
+		private final String displayName;
+		private final long slotNanos;
+		private final int windowSlots;
+
+
+		Window(final String displayName, final long slotNanos, final int windowSlots)
+		{
+			this.displayName = displayName;
+			this.slotNanos = slotNanos;
+			this.windowSlots = windowSlots;
+		}
+
+
+		/**
+		 * Get the short name of this window, such as {@code "1m"}
+		 *
+		 * @return the display name
+		 */
+		public String displayName()
+		{
+			return displayName;
+		}
+	}
+
+
+	/**
+	 * The number of durations recorded in a window, and the upper bounds in nanoseconds of the buckets
+	 * that hold the 50th, 99th and 99.9th percentile durations; the percentiles are zero if the count is zero
+	 *
+	 * @param count the number of recorded durations
+	 * @param p50   the median duration
+	 * @param p99   the 99th percentile duration
+	 * @param p999  the 99.9th percentile duration
+	 */
+	public record Summary(long count, long p50, long p99, long p999) { }
+
+
+	// returned by start() while timings are disabled
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+
+	// buckets per power of two, as a number of bits
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	// durations of 2^34 nanoseconds (about 17 seconds) or more are counted in the last bucket, reported as 2^34
+	private static final int MAX_EXPONENT = 34;
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + 1;
+
+	private static final int HANDLERS = Handler.values().length;
+
+	private final Ring[] rings = new Ring[Window.values().length];
+	private volatile boolean enabled;
+
+
+	/**
+	 * Class constructor. Timings start disabled and empty.
+	 */
+	public HandlerTimings()
+	{
+		for (Window window : Window.values())
+		{
+			rings[window.ordinal()] = new Ring(window);
+		}
+	}
+
+
+	/**
+	 * Test if durations are recorded
+	 *
+	 * @return {@code true} if timings are enabled, {@code false} if not
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+
+	/**
+	 * Enable or disable recording. Durations recorded before timings were disabled are kept.
+	 *
+	 * @param enabled {@code true} to record durations, {@code false} to stop
+	 */
+	public void setEnabled(final boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+
+	/**
+	 * Read the clock at the start of a timed handler
+	 *
+	 * @return the start time to pass to {@link #record}, or a sentinel value if timings are disabled
+	 */
+	public long start()
+	{
+		return enabled ? System.nanoTime() : NOT_TIMED;
+	}
+
+
+	/**
+	 * Record the duration of a timed handler, from its start time to now
+	 *
+	 * @param handler the timed handler
+	 * @param start   the value returned by {@link #start()} on entry to the handler
+	 */
+	public void record(final Handler handler, final long start)
+	{
+		if (start == NOT_TIMED)
+		{
+			return;
+		}
+
+		final long now = System.nanoTime();
+		final int bucket = bucketOf(now - start);
+		for (Ring ring : rings)
+		{
+			ring.increment(handler.ordinal(), bucket, now);
+		}
+	}
+
+
+	/**
+	 * Summarize the durations of a handler recorded in a window
+	 *
+	 * @param handler the timed handler
+	 * @param window  the window
+	 * @return the count and percentiles of the recorded durations
+	 */
+	public Summary summary(final Handler handler, final Window window)
+	{
+		final long[] counts = rings[window.ordinal()].sum(handler.ordinal(), System.nanoTime());
+
+		long count = 0;
+		for (long bucketCount : counts)
+		{
+			count += bucketCount;
+		}
+		if (count == 0)
+		{
+			return new Summary(0, 0, 0, 0);
+		}
+
+		return new Summary(count,
+				percentile(counts, count, 0.5d),
+				percentile(counts, count, 0.99d),
+				percentile(counts, count, 0.999d));
+	}
+
+
+	/**
+	 * Discard all recorded durations
+	 */
+	public void reset()
+	{
+		for (Ring ring : rings)
+		{
+			ring.clear();
+		}
+	}
+
+
+	static int bucketOf(final long nanos)
+	{
+		if (nanos < SUB_BUCKETS)
+		{
+			return (int) Math.max(0, nanos);
+		}
+
+		final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		if (exponent >= MAX_EXPONENT)
+		{
+			return BUCKETS - 1;
+		}
+
+		final int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+
+	static long upperBoundOf(final int bucket)
+	{
+		if (bucket < SUB_BUCKETS)
+		{
+			return bucket;
+		}
+		if (bucket == BUCKETS - 1)
+		{
+			return 1L << MAX_EXPONENT;
+		}
+
+		final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		final long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+		return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+
+	private static long percentile(final long[] counts, final long count, final double fraction)
+	{
+		final long rank = Math.max(1, (long) Math.ceil(count * fraction));
+		long seen = 0;
+		for (int bucket = 0; bucket < counts.length; bucket++)
+		{
+			seen += counts[bucket];
+			if (seen >= rank)
+			{
+				return upperBoundOf(bucket);
+			}
+		}
+		return upperBoundOf(counts.length - 1);
+	}
+
+
+	/**
+	 * A ring of time slots, each holding one histogram per handler. The ring has one slot more than the
+	 * window, so the oldest slot of a full window is not cleared while the current slot fills.
+	 */
+	private static final class Ring
+	{
+		private static final long UNUSED = Long.MIN_VALUE;
+
+		private final long slotNanos;
+		private final int windowSlots;
+		private final int slots;
+		private final AtomicLongArray slotNumbers;
+		private final AtomicLongArray counts;
+
+
+		private Ring(final Window window)
+		{
+			this.slotNanos = window.slotNanos;
+			this.windowSlots = window.windowSlots;
+			this.slots = window.windowSlots + 1;
+			this.slotNumbers = new AtomicLongArray(slots);
+			this.counts = new AtomicLongArray(slots * HANDLERS * BUCKETS);
+			clear();
+		}
+
+
+		private void increment(final int handler, final int bucket, final long now)
+		{
+			final long slotNumber = Math.floorDiv(now, slotNanos);
+			final int slot = (int) Math.floorMod(slotNumber, (long) slots);
+
+			final long previous = slotNumbers.get(slot);
+			if (previous != slotNumber && slotNumbers.compareAndSet(slot, previous, slotNumber))
+			{
+				// the slot held an earlier time; a duration recorded concurrently with the clear may be lost
+				final int base = slot * HANDLERS * BUCKETS;
+				for (int i = base; i < base + HANDLERS * BUCKETS; i++)
+				{
+					counts.set(i, 0L);
+				}
+			}
+
+			counts.incrementAndGet((slot * HANDLERS + handler) * BUCKETS + bucket);
+		}
+
+
+		private long[] sum(final int handler, final long now)
+		{
+			final long current = Math.floorDiv(now, slotNanos);
+			final long[] sum = new long[BUCKETS];
+
+			for (int slot = 0; slot < slots; slot++)
+			{
+				final long slotNumber = slotNumbers.get(slot);
+				if (slotNumber != UNUSED && slotNumber <= current && current - slotNumber <= windowSlots)
+				{
+					final int base = (slot * HANDLERS + handler) * BUCKETS;
+					for (int bucket = 0; bucket < BUCKETS; bucket++)
+					{
+						sum[bucket] += counts.get(base + bucket);
+					}
+				}
+			}
+			return sum;
+		}
+
+
+		private void clear()
+		{
+			for (int slot = 0; slot < slots; slot++)
+			{
+				slotNumbers.set(slot, UNUSED);
+			}
+			for (int i = 0; i < counts.length(); i++)
+			{
+				counts.set(i, 0L);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.stats;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * In-memory teleport statistics since the plugin was enabled: counters for item uses, completed teleports,
+ * each cancellation and denial reason, dropped item clicks, sent, coalesced and disabled denial messages, a histogram
+ * of completed warmup lengths, item uses per world, and the depth of and waiting time in the teleport
+ * admission queue.
+ * <p>
+ * All counters are {@link LongAdder} instances created up front, and the histogram buckets are fixed,
+ * so recording a statistic does not allocate. Per-world counters are created the first time a world
+ * is recorded, and are allocation free after that.
+ */
+public final class TeleportStats
+{
+	/**
+	 * The counted teleport events
+	 */
+	public enum Counter
+	{
+		USES,
+		COMPLETIONS,
+		CANCELLED_DAMAGE,
+		CANCELLED_MOVEMENT,
+		CANCELLED_INTERACTION,
+		CANCELLED_DEATH,
+		CANCELLED_QUIT,
+		CANCELLED_NO_ITEM,
+		DENIED_MIN_DISTANCE,
+		DENIED_WORLD_DISABLED,
+		QUEUED,
+		INTERACTIONS_DROPPED,
+		DENIALS_SENT,
+		DENIALS_COALESCED,
+		DENIALS_DISABLED,
+		;
+
+
+		/**
+		 * Get the name of this counter as displayed and reported, in lower case with dashes
+		 *
+		 * @return the display name
+		 */
+		public String displayName()
+		{
+			return name().toLowerCase().replace('_', '-');
+		}
+	}
+
+
+	// upper bounds in seconds of the warmup length histogram buckets; the last bucket has no upper bound
+	private static final long[] WARMUP_BUCKET_BOUNDS = { 1, 2, 5, 10, 30, 60 };
+	private static final long TICKS_PER_SECOND = 20;
+
+	private final LongAdder[] counters = new LongAdder[Counter.values().length];
+	private final LongAdder[] warmupBuckets = new LongAdder[WARMUP_BUCKET_BOUNDS.length + 1];
+	private final Map<String, LongAdder> worldUses = new ConcurrentHashMap<>();
+	private final LongAdder queueWaitTicks = new LongAdder();
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+
+	/**
+	 * Class constructor. All statistics start at zero.
+	 */
+	public TeleportStats()
+	{
+		for (int i = 0; i < counters.length; i++)
+		{
+			counters[i] = new LongAdder();
+		}
+		for (int i = 0; i < warmupBuckets.length; i++)
+		{
+			warmupBuckets[i] = new LongAdder();
+		}
+	}
+
+
+	/**
+	 * Increment a counter
+	 *
+	 * @param counter the counter to increment
+	 */
+	public void increment(final Counter counter)
+	{
+		counters[counter.ordinal()].increment();
+	}
+
+
+	/**
+	 * Record an item use in a world, incrementing the use counter
+	 *
+	 * @param worldName the name of the world the item was used in
+	 */
+	public void recordUse(final String worldName)
+	{
+		counters[Counter.USES.ordinal()].increment();
+
+		LongAdder adder = worldUses.get(worldName);
+		if (adder == null)
+		{
+			adder = worldUses.computeIfAbsent(worldName, name -> new LongAdder());
+		}
+		adder.increment();
+	}
+
+
+	/**
+	 * Record a completed teleport, incrementing the completion counter
+	 *
+	 * @param warmupTicks the length of the warmup in ticks, from use to teleport
+	 */
+	public void recordCompletion(final long warmupTicks)
+	{
+		counters[Counter.COMPLETIONS.ordinal()].increment();
+
+		final long seconds = warmupTicks / TICKS_PER_SECOND;
+		int bucket = 0;
+		while (bucket < WARMUP_BUCKET_BOUNDS.length && seconds >= WARMUP_BUCKET_BOUNDS[bucket])
+		{
+			bucket++;
+		}
+		warmupBuckets[bucket].increment();
+	}
+
+
+	/**
+	 * Record the current depth of the teleport admission queue
+	 *
+	 * @param depth the number of queued teleports
+	 */
+	public void recordQueueDepth(final int depth)
+	{
+		queueDepth.set(depth);
+		maxQueueDepth.accumulate(depth);
+	}
+
+
+	/**
+	 * Record a queued teleport leaving the admission queue to complete
+	 *
+	 * @param waitTicks the number of ticks the teleport waited in the queue
+	 */
+	public void recordQueueWait(final long waitTicks)
+	{
+		queueWaitTicks.add(waitTicks);
+	}
+
+
+	/**
+	 * Get the value of a counter
+	 *
+	 * @param counter the counter
+	 * @return the current value
+	 */
+	public long get(final Counter counter)
+	{
+		return counters[counter.ordinal()].sum();
+	}
+
+
+	/**
+	 * Get the completed warmup length histogram
+	 *
+	 * @return a map of bucket label to count, in bucket order, such as {@code "2-5s"} or {@code "60s+"}
+	 */
+	public Map<String, Long> warmupLengths()
+	{
+		final Map<String, Long> histogram = new LinkedHashMap<>();
+		for (int i = 0; i < warmupBuckets.length; i++)
+		{
+			histogram.put(bucketLabel(i), warmupBuckets[i].sum());
+		}
+		return histogram;
+	}
+
+
+	/**
+	 * Get the number of item uses in each world
+	 *
+	 * @return an unmodifiable map of world name to use count, sorted by world name
+	 */
+	public Map<String, Long> worldUses()
+	{
+		final Map<String, Long> uses = new TreeMap<>();
+		worldUses.forEach((world, adder) -> uses.put(world, adder.sum()));
+		return Collections.unmodifiableMap(uses);
+	}
+
+
+	/**
+	 * Get the current depth of the teleport admission queue
+	 *
+	 * @return the number of queued teleports
+	 */
+	public int queueDepth()
+	{
+		return queueDepth.get();
+	}
+
+
+	/**
+	 * Get the largest depth of the teleport admission queue
+	 *
+	 * @return the largest number of teleports queued at once
+	 */
+	public long maxQueueDepth()
+	{
+		return maxQueueDepth.get();
+	}
+
+
+	/**
+	 * Get the total time queued teleports waited to complete
+	 *
+	 * @return the sum of the queue waiting times, in ticks
+	 */
+	public long queueWaitTicks()
+	{
+		return queueWaitTicks.sum();
+	}
+
+
+	private static String bucketLabel(final int bucket)
+	{
+		final long lower = bucket == 0 ? 0 : WARMUP_BUCKET_BOUNDS[bucket - 1];
+		return bucket == WARMUP_BUCKET_BOUNDS.length
+				? lower + "s+"
+				: lower + "-" + WARMUP_BUCKET_BOUNDS[bucket] + "s";
+	}
+
+}
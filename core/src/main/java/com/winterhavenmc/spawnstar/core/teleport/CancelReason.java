@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+
+
+/**
+ * Enum with entries for the reasons a pending teleport is cancelled
+ */
+public enum CancelReason
+{
+	DAMAGE(TeleportStats.Counter.CANCELLED_DAMAGE),
+	MOVEMENT(TeleportStats.Counter.CANCELLED_MOVEMENT),
+	INTERACTION(TeleportStats.Counter.CANCELLED_INTERACTION),
+	DEATH(TeleportStats.Counter.CANCELLED_DEATH),
+	QUIT(TeleportStats.Counter.CANCELLED_QUIT),
+	;
+
+
+	private final TeleportStats.Counter counter;
+
+
+	CancelReason(final TeleportStats.Counter counter)
+	{
+		this.counter = counter;
+	}
+
+
+	/**
+	 * Get the statistics counter incremented when a teleport is cancelled for this reason
+	 *
+	 * @return the statistics counter
+	 */
+	public TeleportStats.Counter counter()
+	{
+		return counter;
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+
+/**
+ * Loads the chunks around a teleport destination during warmup, so that the teleport itself does not
+ * load or generate chunks on the main thread.
+ * <p>
+ * On servers that provide the Paper {@code World.getChunkAtAsync} method, chunks are loaded asynchronously.
+ * Otherwise, chunks are loaded on the main thread from a queue, a few per tick. Each preloaded chunk is held
+ * with a plugin chunk ticket, reference counted across overlapping preloads, until the preload is released.
+ * <p>
+ * This class is not thread safe, and must only be used from the main server thread.
+ */
+final class ChunkPreloader
+{
+	// maximum number of chunks loaded per tick when the asynchronous chunk api is not available
+	private static final int SYNC_CHUNKS_PER_TICK = 2;
+
+	private final Plugin plugin;
+	private final MethodHandle getChunkAtAsync;
+	private final ArrayDeque<QueuedChunk> queue = new ArrayDeque<>();
+
+	// number of active preloads holding a ticket for each chunk
+	private final Map<ChunkRef, Integer> ticketCounts = new HashMap<>();
+
+
+	ChunkPreloader(final Plugin plugin, final TaskRegistry tasks)
+	{
+		this.plugin = Objects.requireNonNull(plugin);
+		this.getChunkAtAsync = findAsyncChunkMethod();
+
+		if (getChunkAtAsync == null)
+		{
+			tasks.scheduleRepeating(TaskRegistry.Purpose.CHUNK_PRELOAD, this::loadQueuedChunks, 1L, 1L);
+		}
+	}
+
+
+	/**
+	 * Start loading the square of chunks centered on the chunk containing a location
+	 *
+	 * @param destination the location
+	 * @param radius      the radius of the square in chunks; zero loads only the destination chunk
+	 * @return a preload handle, which must be released when the chunks are no longer needed
+	 */
+	Preload preload(final Location destination, final int radius)
+	{
+		final World world = Objects.requireNonNull(destination.getWorld());
+		final int centerX = destination.getBlockX() >> 4;
+		final int centerZ = destination.getBlockZ() >> 4;
+		final Preload preload = new Preload(world, (2 * radius + 1) * (2 * radius + 1));
+
+		// request chunks in rings outward from the center, so the destination chunk is loaded first
+		for (int ring = 0; ring <= radius; ring++)
+		{
+			for (int dx = -ring; dx <= ring; dx++)
+			{
+				for (int dz = -ring; dz <= ring; dz++)
+				{
+					if (Math.max(Math.abs(dx), Math.abs(dz)) == ring)
+					{
+						request(preload, centerX + dx, centerZ + dz);
+					}
+				}
+			}
+		}
+
+		return preload;
+	}
+
+
+	/**
+	 * Get the number of chunks waiting to be loaded on the main thread
+	 *
+	 * @return the number of queued chunks
+	 */
+	int queued()
+	{
+		return queue.size();
+	}
+
+
+	/**
+	 * Test if chunks are loaded asynchronously
+	 *
+	 * @return {@code true} if the asynchronous chunk api is available, {@code false} if not
+	 */
+	boolean isAsync()
+	{
+		return getChunkAtAsync != null;
+	}
+
+
+	private void request(final Preload preload, final int x, final int z)
+	{
+		if (preload.world.isChunkLoaded(x, z))
+		{
+			preload.loaded(x, z);
+		}
+		else if (getChunkAtAsync != null)
+		{
+			requestAsync(preload, x, z);
+		}
+		else
+		{
+			queue.add(new QueuedChunk(preload, x, z));
+		}
+	}
+
+
+	private void requestAsync(final Preload preload, final int x, final int z)
+	{
+		final CompletableFuture<?> future;
+		try
+		{
+			future = (CompletableFuture<?>) getChunkAtAsync.invoke(preload.world, x, z);
+		}
+		catch (Throwable throwable)
+		{
+			plugin.getLogger().log(Level.WARNING, "Asynchronous chunk load failed; loading chunk on the main thread.", throwable);
+			queue.add(new QueuedChunk(preload, x, z));
+			return;
+		}
+
+		// paper completes chunk futures on the main thread
+		future.whenComplete((chunk, throwable) ->
+		{
+			if (throwable != null)
+			{
+				plugin.getLogger().log(Level.WARNING, "Could not preload chunk " + x + "," + z + ".", throwable);
+				preload.pending--;
+			}
+			else
+			{
+				preload.loaded(x, z);
+			}
+		});
+	}
+
+
+	private void loadQueuedChunks()
+	{
+		int budget = SYNC_CHUNKS_PER_TICK;
+		while (budget > 0 && !queue.isEmpty())
+		{
+			final QueuedChunk queued = queue.poll();
+			final Preload preload = queued.preload();
+
+			// skip chunks of released preloads, and only count chunks that actually had to be loaded
+			if (!preload.released)
+			{
+				if (!preload.world.isChunkLoaded(queued.x(), queued.z()))
+				{
+					budget--;
+				}
+				preload.loaded(queued.x(), queued.z());
+			}
+		}
+	}
+
+
+	private void acquireTicket(final World world, final int x, final int z)
+	{
+		if (ticketCounts.merge(new ChunkRef(world.getUID(), x, z), 1, Integer::sum) == 1)
+		{
+			// loads the chunk if it is not already loaded
+			world.addPluginChunkTicket(x, z, plugin);
+		}
+	}
+
+
+	private void releaseTicket(final World world, final int x, final int z)
+	{
+		final ChunkRef ref = new ChunkRef(world.getUID(), x, z);
+		final Integer count = ticketCounts.get(ref);
+		if (count == null)
+		{
+			return;
+		}
+
+		if (count > 1)
+		{
+			ticketCounts.put(ref, count - 1);
+		}
+		else
+		{
+			ticketCounts.remove(ref);
+			world.removePluginChunkTicket(x, z, plugin);
+		}
+	}
+
+
+	private static MethodHandle findAsyncChunkMethod()
+	{
+		try
+		{
+			return MethodHandles.publicLookup().findVirtual(World.class, "getChunkAtAsync",
+					MethodType.methodType(CompletableFuture.class, int.class, int.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException exception)
+		{
+			return null;
+		}
+	}
+
+
+	/**
+	 * A handle for the chunks preloaded for one teleport
+	 */
+	final class Preload
+	{
+		private final World world;
+		private final long[] ticketed;
+		private int ticketCount;
+		private int pending;
+		private boolean released;
+
+
+		private Preload(final World world, final int chunkCount)
+		{
+			this.world = world;
+			this.ticketed = new long[chunkCount];
+			this.pending = chunkCount;
+		}
+
+
+		/**
+		 * Test if all chunks have been loaded
+		 *
+		 * @return {@code true} if no chunk loads are pending, {@code false} if some are
+		 */
+		boolean isDone()
+		{
+			return pending <= 0;
+		}
+
+
+		/**
+		 * Release the tickets held by this preload, allowing the chunks to unload. Chunks that have not
+		 * been loaded yet are no longer loaded.
+		 */
+		void release()
+		{
+			if (!released)
+			{
+				released = true;
+				for (int i = 0; i < ticketCount; i++)
+				{
+					releaseTicket(world, (int) (ticketed[i] >> 32), (int) ticketed[i]);
+				}
+				ticketCount = 0;
+			}
+		}
+
+
+		private void loaded(final int x, final int z)
+		{
+			pending--;
+			if (!released)
+			{
+				acquireTicket(world, x, z);
+				ticketed[ticketCount++] = ((long) x << 32) | (z & 0xffffffffL);
+			}
+		}
+	}
+
+
+	private record QueuedChunk(Preload preload, int x, int z) { }
+
+
+	private record ChunkRef(UUID worldUid, int x, int z) { }
+
+}
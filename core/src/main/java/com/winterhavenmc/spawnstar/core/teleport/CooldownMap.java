@@ -17,94 +17,143 @@
 
 package com.winterhavenmc.spawnstar.core.teleport;
 
-import com.winterhavenmc.library.messagebuilder.models.time.TimeUnit;
+import com.winterhavenmc.spawnstar.core.persistence.CooldownStore;
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.util.UuidLongMap;
 
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.HashMap;
 import java.util.UUID;
 
 
+/**
+ * Stores player cooldown expiry times as primitive monotonic timestamps, keyed by player uuid.
+ * <p>
+ * Entries are held in a {@link UuidLongMap}, so no objects are allocated per cooldown and no
+ * player references are retained. Expired entries are treated as absent when read, and are purged
+ * by an incremental sweep that examines a small number of slots each tick, instead of by a
+ * scheduled task per cooldown. New cooldowns are also passed to a {@link CooldownStore},
+ * so that they survive server restarts and plugin reloads.
+ * <p>
+ * Cooldowns are started and read on the threads that own their players, and swept on the global thread,
+ * so every access to the table holds the instance lock. Each access is a few array probes, so the lock
+ * is held briefly, and is uncontended on a single threaded server.
+ */
 class CooldownMap
 {
-	private final Plugin plugin;
+	private static final int MIN_SWEEP_SLOTS = 16;
+
+	// the sweep visits every slot in the table about once every 2^10 ticks
+	private static final int SWEEP_PASS_SHIFT = 10;
 
-	// hashmap to store player UUID and cooldown expire time in milliseconds
-	private final HashMap<UUID, Instant> cooldownMap;
+	private final TickClock clock;
+	private final SettingsHolder settings;
+	private final CooldownStore store;
 
+	// map of player uuid to cooldown expiry time as a clock nanoTime() value
+	private final UuidLongMap cooldownMap = new UuidLongMap(64);
 
-	CooldownMap(final Plugin plugin)
+
+	CooldownMap(final TaskRegistry tasks, final TickClock clock, final SettingsHolder settings, final CooldownStore store)
 	{
-		this.plugin = plugin;
-		cooldownMap = new HashMap<>();
+		this.clock = clock;
+		this.settings = settings;
+		this.store = store;
+
+		restore();
+
+		// a single repeating wheel entry purges expired cooldowns incrementally
+		tasks.scheduleRepeating(TaskRegistry.Purpose.COOLDOWN_SWEEP, this::sweep, 1L, 1L);
 	}
 
 
 	/**
-	 * Insert player uuid into cooldown hashmap with {@code expiretime} as value.<br>
-	 * Schedule task to remove player uuid from cooldown hashmap when time expires.
+	 * Insert player uuid into cooldown map with the configured cooldown expiry time as value.
 	 *
 	 * @param player the player being inserted into the cooldown map
+	 * @param now    the current time, as a {@link TickClock#nanoTime()} value
+	 * @return the cooldown expiry time, as a {@link TickClock#nanoTime()} value
 	 */
-	void startPlayerCooldown(final Player player)
+	synchronized long startPlayerCooldown(final Player player, final long now)
 	{
-		int cooldownSeconds = plugin.getConfig().getInt("teleport-cooldown");
-		Duration expTime = Duration.ofSeconds(cooldownSeconds);
-		cooldownMap.put(player.getUniqueId(), Instant.now().plus(expTime));
-		new CooldownTask(player).runTaskLater(plugin, TimeUnit.SECONDS.toTicks(cooldownSeconds));
+		final UUID uuid = player.getUniqueId();
+		final long cooldownNanos = settings.get().cooldown().nanos();
+		final long expiry = now + cooldownNanos;
+
+		cooldownMap.put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), expiry);
+		store.append(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(),
+				clock.currentTimeMillis() + Duration.ofNanos(cooldownNanos).toMillis());
+
+		return expiry;
 	}
 
 
 	/**
-	 * Get time remaining for player cooldown
+	 * Get the number of entries in the map, including expired entries that have not yet been purged
 	 *
-	 * @param player the player whose cooldown time remaining is being retrieved
-	 * @return remaining time as {@link Duration}
+	 * @return the number of entries in the map
 	 */
-	Duration getCooldownTimeRemaining(final Player player)
+	synchronized int size()
 	{
-		if (cooldownMap.containsKey(player.getUniqueId()))
-		{
-			Instant expInstant = cooldownMap.get(player.getUniqueId());
-			if (expInstant.isAfter(Instant.now()))
-			{
-				return Duration.between(Instant.now(), expInstant);
-			}
-		}
-
-		return Duration.ZERO;
+		return cooldownMap.size();
 	}
 
 
 	/**
-	 * Test if player is currently cooling down after item use
+	 * Get the remaining cooldown time for a uuid. An expired entry is removed when it is found.
 	 *
-	 * @param player the player to check for cooldown
-	 * @return boolean - {@code true} if player is cooling down after item use, {@code false} if not
+	 * @param uuid the player uuid
+	 * @param now  the current time, as a {@link TickClock#nanoTime()} value
+	 * @return the remaining time in nanoseconds, or zero if the uuid has no unexpired cooldown
 	 */
-	boolean isCoolingDown(final Player player)
+	synchronized long getRemainingNanos(final UUID uuid, final long now)
 	{
-		return getCooldownTimeRemaining(player).isPositive();
+		int slot = cooldownMap.slotOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+		if (slot < 0)
+		{
+			return 0L;
+		}
+
+		long remaining = cooldownMap.valueAt(slot) - now;
+		if (remaining > 0)
+		{
+			return remaining;
+		}
+
+		cooldownMap.removeAt(slot);
+		return 0L;
 	}
 
 
-	private class CooldownTask extends BukkitRunnable
+	/**
+	 * Examine the next group of slots in the table and remove any expired entries.
+	 * The number of slots examined scales with the table capacity.
+	 */
+	synchronized void sweep()
 	{
-		private final Player player;
-
-		public CooldownTask(Player player)
+		if (cooldownMap.size() > 0)
 		{
-			this.player = player;
+			final long now = clock.nanoTime();
+			cooldownMap.sweep(Math.max(MIN_SWEEP_SLOTS, cooldownMap.capacity() >>> SWEEP_PASS_SHIFT),
+					expiry -> expiry - now <= 0);
 		}
+	}
 
-		public void run()
-		{
-			cooldownMap.remove(player.getUniqueId());
-		}
+
+	/**
+	 * Load unexpired cooldowns from the persistent store, converting wall clock expiry times
+	 * to monotonic timestamps
+	 */
+	private void restore()
+	{
+		final long nowMillis = clock.currentTimeMillis();
+		final long nowNanos = clock.nanoTime();
+
+		store.replay((msb, lsb, expiryEpochMillis) ->
+				cooldownMap.put(msb, lsb, nowNanos + Duration.ofMillis(expiryEpochMillis - nowMillis).toNanos()));
 	}
 
 }
@@ -18,6 +18,13 @@
 package com.winterhavenmc.spawnstar.core.teleport;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.RemoveFromInventory;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
 import com.winterhavenmc.spawnstar.core.util.Macro;
 import com.winterhavenmc.spawnstar.core.util.MessageId;
 import com.winterhavenmc.spawnstar.core.util.SoundId;
@@ -25,116 +32,213 @@ import com.winterhavenmc.spawnstar.core.util.SoundId;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 
 /**
- * Class that extends BukkitRunnable to teleport a player to the world spawn location
- * after a configured warmup period.
+ * Class that implements Runnable to teleport a player to the world spawn location
+ * after a configured warmup period. Instances are scheduled on the {@link TaskScheduler} to run on the
+ * thread that owns the player. The destination and item are read from the player's {@link TeleportSession}.
+ * If the destination chunks are still loading when the warmup ends, the teleport is
+ * deferred one tick at a time, for up to {@link #MAX_DEFERRED_TICKS} ticks. The teleport then
+ * completes if the {@link TeleportAdmission} limits of the tick allow it, or waits in its queue.
  */
-final class DelayedTeleportTask extends BukkitRunnable
+final class DelayedTeleportTask implements Runnable
 {
-	private final Plugin plugin;
+	// five seconds; after this the teleport proceeds and loads any remaining chunks itself
+	static final int MAX_DEFERRED_TICKS = 100;
+
+	private final TickClock clock;
+	private final TaskScheduler scheduler;
 	private final MessageBuilder messageBuilder;
+	private final SettingsHolder settings;
 	private final TeleportHandler teleportHandler;
 	private final Player player;
-	private final Location destination;
-	private BukkitTask particleTask;
-	private final ItemStack playerItem;
+	private final TeleportSession session;
+	private int deferredTicks;
 
 
 	/**
 	 * Class constructor
 	 *
-	 * @param player      the player to be teleported
-	 * @param destination the world spawn location
-	 * @param playerItem  the player item used to initiate teleport
+	 * @param player  the player to be teleported
+	 * @param session the teleport session of the player
 	 */
-	DelayedTeleportTask(final Plugin plugin,
+	DelayedTeleportTask(final TickClock clock,
+	                    final TaskScheduler scheduler,
 	                    final MessageBuilder messageBuilder,
-						final TeleportHandler teleportHandler,
-						final Player player,
-						final Location destination,
-						final ItemStack playerItem)
+	                    final SettingsHolder settings,
+	                    final TeleportHandler teleportHandler,
+	                    final Player player,
+	                    final TeleportSession session)
 	{
-		this.plugin = plugin;
+		this.clock = clock;
+		this.scheduler = scheduler;
 		this.messageBuilder = messageBuilder;
+		this.settings = settings;
 		this.teleportHandler = teleportHandler;
 		this.player = player;
-		this.destination = destination;
-		this.playerItem = playerItem;
+		this.session = session;
+	}
+
+
+	@Override
+	public void run()
+	{
+		timed(this::runTask);
+	}
+
+
+	/**
+	 * Complete a teleport that waited in the admission queue. Must be called on the thread that owns the player.
+	 */
+	void completeQueued()
+	{
+		timed(this::complete);
+	}
+
+
+	Player player()
+	{
+		return player;
+	}
 
-		// start repeating task for generating particles at player location
-		if (plugin.getConfig().getBoolean("particle-effects"))
+
+	TeleportSession session()
+	{
+		return session;
+	}
+
+
+	private void timed(final Runnable action)
+	{
+		final long start = teleportHandler.timings().start();
+		try
+		{
+			action.run();
+		}
+		finally
 		{
-			// start particle task, with 2 tick delay so it doesn't self cancel on first run
-			particleTask = new ParticleTask(teleportHandler, player).runTaskTimer(plugin, 2L, 10);
+			teleportHandler.timings().record(HandlerTimings.Handler.DELAYED_TELEPORT, start);
 		}
 	}
 
 
-	@Override
-	public void run()
+	private void runTask()
 	{
-		// cancel particles task
-		particleTask.cancel();
+		// if player session is not warming up, the teleport was cancelled
+		if (!session.isWarmingUp())
+		{
+			return;
+		}
 
-		// if player is in warmup map
-		if (this.teleportHandler.isWarmingUp(player))
+		// if destination chunks are still loading, try again next tick
+		if (!session.isDestinationLoaded() && deferredTicks < MAX_DEFERRED_TICKS)
 		{
-			// remove player from warmup map
-			teleportHandler.removeWarmingUpPlayer(player);
+			deferredTicks++;
+			session.deferWarmup(teleportHandler.tasks().runForEntity(TaskRegistry.Purpose.WARMUP, player, this, 1L));
+			return;
+		}
+
+		// complete now if the limits of this tick allow it; otherwise the admission queue completes it later
+		if (teleportHandler.admission().admit(this))
+		{
+			complete();
+		}
+	}
+
 
-			// if remove-from-inventory is configured on-success, take one spawn star item from inventory now
-			if ("on-success".equalsIgnoreCase(plugin.getConfig().getString("remove-from-inventory")))
+	private void complete()
+	{
+		final Location destination = session.destination();
+		final ItemStack playerItem = session.item();
+
+		// end warmup after teleporting, so preloaded chunks are held until the player arrives
+		try
+		{
+			if (teleport(destination, playerItem))
 			{
-				// try to remove one SpawnStar item from player inventory
-				boolean notRemoved = true;
-				for (ItemStack itemStack : player.getInventory())
-				{
-					if (playerItem.isSimilar(itemStack))
-					{
-						ItemStack removeItem = itemStack.clone();
-						removeItem.setAmount(1);
-						player.getInventory().removeItem(removeItem);
-						notRemoved = false;
-						break;
-					}
-				}
+				teleportHandler.stats().recordCompletion(clock.currentTick() - session.initiateTick());
+			}
+			else
+			{
+				teleportHandler.stats().increment(TeleportStats.Counter.CANCELLED_NO_ITEM);
+			}
+		}
+		finally
+		{
+			teleportHandler.finishWarmup(session);
+		}
+
+		// start player cooldown
+		teleportHandler.startPlayerCooldown(player, session);
+	}
+
 
-				// if one SpawnStar item could not be removed from inventory, send message, set cooldown and return
-				if (notRemoved)
+	/**
+	 * Teleport the player, taking one item from their inventory first if configured
+	 *
+	 * @return {@code true} if the player was teleported, {@code false} if the item could not be taken
+	 */
+	private boolean teleport(final Location destination, final ItemStack playerItem)
+	{
+		// if remove-from-inventory is configured on-success, take one spawn star item from inventory now
+		if (settings.get().item().removeFromInventory() == RemoveFromInventory.ON_SUCCESS)
+		{
+			// try to remove one SpawnStar item from player inventory
+			boolean notRemoved = true;
+			for (ItemStack itemStack : player.getInventory())
+			{
+				if (playerItem.isSimilar(itemStack))
 				{
-					messageBuilder.compose(player, MessageId.TELEPORT_CANCELLED_NO_ITEM).send();
-					teleportHandler.startPlayerCooldown(player);
-					return;
+					ItemStack removeItem = itemStack.clone();
+					removeItem.setAmount(1);
+					player.getInventory().removeItem(removeItem);
+					notRemoved = false;
+					break;
 				}
 			}
 
-			// play pre-teleport sound if sound effects are enabled
-			messageBuilder.sounds().play(player, SoundId.TELEPORT_SUCCESS_DEPARTURE);
-
-			// teleport player to destination
-			player.teleport(destination);
-
-			// send player respawn message
-			messageBuilder.compose(player, MessageId.TELEPORT_SUCCESS)
-					.setMacro(Macro.DESTINATION_WORLD, destination.getWorld())
-					.send();
+			// if one SpawnStar item could not be removed from inventory, send message and return
+			if (notRemoved)
+			{
+				teleportHandler.messageFilter().compose(player, MessageId.TELEPORT_CANCELLED_NO_ITEM).send();
+				return false;
+			}
+		}
 
-			// play post-teleport sound if sound effects are enabled
-			messageBuilder.sounds().play(player, SoundId.TELEPORT_SUCCESS_ARRIVAL);
+		// play pre-teleport sound if sound effects are enabled
+		messageBuilder.sounds().play(player, SoundId.TELEPORT_SUCCESS_DEPARTURE);
 
-			// if lightning is enabled in config, strike lightning at spawn location
-			if (plugin.getConfig().getBoolean("lightning"))
+		// teleport player to destination; on a region threaded server the player arrives in a later tick
+		scheduler.teleport(player, destination).thenAccept(arrived ->
+		{
+			if (arrived)
 			{
-				player.getWorld().strikeLightningEffect(destination);
+				arrive(destination);
 			}
+		});
 
-			// start player cooldown
-			teleportHandler.startPlayerCooldown(player);
+		return true;
+	}
+
+
+	/**
+	 * Greet the player at the destination, on the thread that owns the player after the teleport
+	 */
+	private void arrive(final Location destination)
+	{
+		// send player respawn message
+		messageBuilder.compose(player, MessageId.TELEPORT_SUCCESS)
+				.setMacro(Macro.DESTINATION_WORLD, destination.getWorld())
+				.send();
+
+		// play post-teleport sound if sound effects are enabled
+		messageBuilder.sounds().play(player, SoundId.TELEPORT_SUCCESS_ARRIVAL);
+
+		// if lightning is enabled in config, strike lightning at spawn location
+		if (settings.get().effects().lightning())
+		{
+			player.getWorld().strikeLightningEffect(destination);
 		}
 	}
 
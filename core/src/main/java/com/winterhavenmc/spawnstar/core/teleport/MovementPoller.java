@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.settings.SpawnStarSettings;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Detects movement of warming players by sampling their block position at an interval, as an alternative
+ * to handling every player move event. Only players whose warmup started in poll mode are tracked, and
+ * each sample compares the squared integer block distance from the position at warmup start against
+ * the configured tolerance. Entries are dropped at the next sample after their warmup ends.
+ * <p>
+ * The tracked players are visited on the global thread, and each position is sampled on the thread that
+ * owns the player; on a single threaded server, that is the same thread, and the sample is taken at once.
+ */
+final class MovementPoller
+{
+	private final TickClock clock;
+	private final TaskScheduler scheduler;
+	private final SettingsHolder settings;
+	private final TeleportHandler teleportHandler;
+	private final List<Tracked> tracked = new ArrayList<>();
+	private long lastSampleTick;
+
+
+	MovementPoller(final TaskRegistry tasks,
+	               final TickClock clock,
+	               final TaskScheduler scheduler,
+	               final SettingsHolder settings,
+	               final TeleportHandler teleportHandler)
+	{
+		this.clock = clock;
+		this.scheduler = scheduler;
+		this.settings = settings;
+		this.teleportHandler = teleportHandler;
+
+		// a single repeating entry that returns immediately when no players are tracked
+		tasks.scheduleRepeating(TaskRegistry.Purpose.MOVEMENT_POLL, this::poll, 1L, 1L);
+	}
+
+
+	/**
+	 * Start tracking the position of a player whose warmup has just started
+	 *
+	 * @param player  the player
+	 * @param session the teleport session of the player, already in the warming phase
+	 */
+	void track(final Player player, final TeleportSession session)
+	{
+		final Location location = player.getLocation();
+		final Tracked entry = new Tracked(player, session, session.initiateTick(), location.getWorld().getUID(),
+				location.getBlockX(), location.getBlockY(), location.getBlockZ());
+		scheduler.executeGlobal(() -> tracked.add(entry));
+	}
+
+
+	/**
+	 * Get the number of players currently tracked
+	 *
+	 * @return the number of tracked players
+	 */
+	int size()
+	{
+		return tracked.size();
+	}
+
+
+	private void poll()
+	{
+		if (tracked.isEmpty())
+		{
+			return;
+		}
+
+		final SpawnStarSettings settings = this.settings.get();
+		final long tick = clock.currentTick();
+		if (tick - lastSampleTick < settings.cancellation().movementPollTicks())
+		{
+			return;
+		}
+		lastSampleTick = tick;
+
+		// iterate backwards so entries can be removed by swapping in the last entry
+		for (int i = tracked.size() - 1; i >= 0; i--)
+		{
+			final Tracked entry = tracked.get(i);
+
+			if (!entry.isCurrent())
+			{
+				removeAt(i);
+			}
+			else if (scheduler.isRegionThreaded())
+			{
+				final int toleranceSquared = settings.cancellation().movementToleranceSquared();
+				scheduler.executeForEntity(entry.player(), () -> sample(entry, toleranceSquared));
+			}
+			else
+			{
+				sample(entry, settings.cancellation().movementToleranceSquared());
+			}
+		}
+	}
+
+
+	/**
+	 * Cancel the warmup of a tracked player who has moved; the entry is dropped at the next sample
+	 */
+	private void sample(final Tracked entry, final int toleranceSquared)
+	{
+		if (entry.isCurrent() && entry.hasMoved(entry.player().getLocation(), toleranceSquared))
+		{
+			teleportHandler.cancelForMovement(entry.player(), entry.session());
+		}
+	}
+
+
+	private void removeAt(final int index)
+	{
+		final int last = tracked.size() - 1;
+		tracked.set(index, tracked.get(last));
+		tracked.remove(last);
+	}
+
+
+	private record Tracked(Player player, TeleportSession session, long initiateTick, UUID worldUid, int x, int y, int z)
+	{
+		/**
+		 * Test if the warmup this entry was created for is still pending
+		 */
+		boolean isCurrent()
+		{
+			return session.isWarmingUp() && session.initiateTick() == initiateTick;
+		}
+
+
+		/**
+		 * Test if a location is in another world, or further than the tolerance from the start block
+		 */
+		boolean hasMoved(final Location location, final int toleranceSquared)
+		{
+			if (location.getWorld() == null || !worldUid.equals(location.getWorld().getUID()))
+			{
+				return true;
+			}
+
+			final int dx = location.getBlockX() - x;
+			final int dy = location.getBlockY() - y;
+			final int dz = location.getBlockZ() - z;
+			return dx * dx + dy * dy + dz * dz > toleranceSquared;
+		}
+	}
+
+}
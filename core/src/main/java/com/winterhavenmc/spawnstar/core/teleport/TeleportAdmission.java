@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.core.messages.DisabledMessageFilter;
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.settings.SpawnStarSettings;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+import com.winterhavenmc.spawnstar.core.util.Macro;
+import com.winterhavenmc.spawnstar.core.util.MessageId;
+
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Limits the number of teleports completed per tick, so that a burst of warmups ending together is spread
+ * over several ticks instead of stalling one. A teleport whose warmup ends after the tick limit, or the limit
+ * of its destination world, has been reached waits in a queue ordered by the tick the player used their item.
+ * Queued teleports are completed from a single repeating wheel entry, and a teleport arriving while others
+ * are queued joins the queue, so no player overtakes an earlier one.
+ * <p>
+ * Queued players are still warming up, so anything that cancels a warmup also cancels a queued teleport;
+ * its entry is dropped at the next tick. Players are told their queue position when they join the queue,
+ * and again every {@link #PROGRESS_INTERVAL_TICKS} ticks while they wait.
+ * <p>
+ * Teleports are admitted on the threads that own their players and drained on the global thread, so the
+ * queue and the counts of the current tick are guarded by the instance lock. A drained teleport is
+ * completed, and a queue position message of a waiting player is sent, on the thread that owns the player.
+ */
+final class TeleportAdmission
+{
+	// ticks between queue position messages
+	static final long PROGRESS_INTERVAL_TICKS = 40L;
+
+	private final TickClock clock;
+	private final TaskScheduler scheduler;
+	private final DisabledMessageFilter messageFilter;
+	private final SettingsHolder settings;
+	private final TeleportStats stats;
+	private final List<Queued> queue = new ArrayList<>();
+
+	// teleports completed in the current tick, in total and by destination world
+	private final Map<UUID, Integer> worldCompletions = new HashMap<>();
+	private int completions;
+	private long countedTick = -1L;
+
+
+	TeleportAdmission(final TaskRegistry tasks,
+	                  final TickClock clock,
+	                  final TaskScheduler scheduler,
+	                  final DisabledMessageFilter messageFilter,
+	                  final SettingsHolder settings,
+	                  final TeleportStats stats)
+	{
+		this.clock = clock;
+		this.scheduler = scheduler;
+		this.messageFilter = messageFilter;
+		this.settings = settings;
+		this.stats = stats;
+
+		// a single repeating entry that returns immediately when no teleports are queued
+		tasks.scheduleRepeating(TaskRegistry.Purpose.ADMISSION_QUEUE, this::drain, 1L, 1L);
+	}
+
+
+	/**
+	 * Admit a teleport whose warmup has ended, or queue it if the limits of the current tick have been reached
+	 *
+	 * @param task the teleport task, whose destination chunks are loaded
+	 * @return {@code true} if the teleport may complete now, {@code false} if it was queued
+	 */
+	synchronized boolean admit(final DelayedTeleportTask task)
+	{
+		final TeleportSession session = task.session();
+		final UUID worldUid = session.destination().getWorld().getUID();
+
+		startTick();
+		if (queue.isEmpty() && hasCapacity(worldUid, settings.get()))
+		{
+			count(worldUid);
+			return true;
+		}
+
+		final long tick = clock.currentTick();
+		final int position = insert(new Queued(task, session, session.initiateTick(), worldUid, tick));
+		stats.increment(TeleportStats.Counter.QUEUED);
+		stats.recordQueueDepth(queue.size());
+		sendPosition(task, position);
+		return false;
+	}
+
+
+	/**
+	 * Get the number of queued teleports
+	 *
+	 * @return the queue depth
+	 */
+	synchronized int size()
+	{
+		return queue.size();
+	}
+
+
+	private synchronized void drain()
+	{
+		if (queue.isEmpty())
+		{
+			return;
+		}
+
+		startTick();
+		final SpawnStarSettings settings = this.settings.get();
+		final long tick = clock.currentTick();
+
+		// complete entries in queue order while the limits allow, compacting the remaining entries
+		int kept = 0;
+		for (int i = 0; i < queue.size(); i++)
+		{
+			final Queued entry = queue.get(i);
+			if (!entry.isCurrent())
+			{
+				continue;
+			}
+
+			if (hasCapacity(entry.worldUid(), settings))
+			{
+				count(entry.worldUid());
+				stats.recordQueueWait(tick - entry.queuedTick());
+				scheduler.executeForEntity(entry.task().player(), () ->
+				{
+					if (entry.isCurrent())
+					{
+						entry.task().completeQueued();
+					}
+				});
+				continue;
+			}
+
+			queue.set(kept++, entry);
+			if ((tick - entry.queuedTick()) % PROGRESS_INTERVAL_TICKS == 0)
+			{
+				final int position = kept;
+				scheduler.executeForEntity(entry.task().player(), () ->
+				{
+					if (entry.isCurrent())
+					{
+						sendPosition(entry.task(), position);
+					}
+				});
+			}
+		}
+		queue.subList(kept, queue.size()).clear();
+		stats.recordQueueDepth(kept);
+	}
+
+
+	/**
+	 * Insert an entry after every entry whose item was used in the same or an earlier tick
+	 *
+	 * @return the one-based queue position of the entry
+	 */
+	private int insert(final Queued entry)
+	{
+		int index = queue.size();
+		while (index > 0 && queue.get(index - 1).initiateTick() > entry.initiateTick())
+		{
+			index--;
+		}
+		queue.add(index, entry);
+		return index + 1;
+	}
+
+
+	private void startTick()
+	{
+		final long tick = clock.currentTick();
+		if (tick != countedTick)
+		{
+			countedTick = tick;
+			completions = 0;
+			worldCompletions.clear();
+		}
+	}
+
+
+	private boolean hasCapacity(final UUID worldUid, final SpawnStarSettings settings)
+	{
+		return (settings.limits().maxTeleportsPerTick() == 0 || completions < settings.limits().maxTeleportsPerTick())
+				&& (settings.limits().maxWorldTeleportsPerTick() == 0
+						|| worldCompletions.getOrDefault(worldUid, 0) < settings.limits().maxWorldTeleportsPerTick());
+	}
+
+
+	private void count(final UUID worldUid)
+	{
+		completions++;
+		if (settings.get().limits().maxWorldTeleportsPerTick() != 0)
+		{
+			worldCompletions.merge(worldUid, 1, Integer::sum);
+		}
+	}
+
+
+	private void sendPosition(final DelayedTeleportTask task, final int position)
+	{
+		messageFilter.compose(task.player(), MessageId.TELEPORT_QUEUED)
+				.setMacro(Macro.QUEUE_POSITION, position)
+				.send();
+	}
+
+
+	private record Queued(DelayedTeleportTask task, TeleportSession session, long initiateTick, UUID worldUid, long queuedTick)
+	{
+		/**
+		 * Test if the warmup this entry was queued for is still pending
+		 */
+		boolean isCurrent()
+		{
+			return session.isWarmingUp() && session.initiateTick() == initiateTick;
+		}
+	}
+
+}
@@ -18,84 +18,183 @@
 package com.winterhavenmc.spawnstar.core.teleport;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
-import com.winterhavenmc.library.messagebuilder.models.time.TimeUnit;
 
+import com.winterhavenmc.spawnstar.core.messages.DisabledMessageFilter;
+import com.winterhavenmc.spawnstar.core.messages.FilteredMessage;
+import com.winterhavenmc.spawnstar.core.persistence.CooldownStore;
+import com.winterhavenmc.spawnstar.core.persistence.UsageLog;
+import com.winterhavenmc.spawnstar.core.persistence.UsageRecord;
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.listeners.WarmupObserver;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.RemoveFromInventory;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.settings.SpawnStarSettings;
+import com.winterhavenmc.spawnstar.core.stats.HandlerTimings;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
 import com.winterhavenmc.spawnstar.core.util.Macro;
 import com.winterhavenmc.spawnstar.core.util.MessageId;
 
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * Class that manages player teleportation, including warmup and cooldown.
+ * All per-player state is held in one {@link TeleportSession} for each player.
+ * <p>
+ * Each session is owned by the thread that owns its player: on a region threaded server, event handlers and
+ * warmup tasks for a player run on the thread of the player's region, and only that thread changes the phase
+ * of the session. The session map, cooldown map, admission queue and warmup count are shared between
+ * threads, and the wheel entries that visit every warming player run on the global thread, handing any
+ * work on a player to the thread that owns them.
+ * <p>
+ * Tasks are scheduled through the {@link TaskScheduler} port and time is read from the {@link TickClock} port,
+ * so the engine runs unchanged on any scheduler and clock, including a virtual clock in benchmarks. Every
+ * scheduled task is recorded in the {@link TaskRegistry}; per-tick housekeeping runs as repeating entries
+ * of its wheel.
  */
 public final class TeleportHandler
 {
 	private final Plugin plugin;
 	private final MessageBuilder messageBuilder;
+	private final DisabledMessageFilter messageFilter;
+	private final SettingsHolder settings;
+	private final TaskRegistry tasks;
+	private final TaskScheduler scheduler;
+	private final TickClock clock;
+	private final WorldLinkIndex worldLinks;
+	private final UsageLog usageLog;
 	private final CooldownMap cooldownMap;
-	private final WarmupMap warmupMap;
+	private final ChunkPreloader chunkPreloader;
+	private final MovementPoller movementPoller;
+	private final WarmupEffectRenderer effectRenderer;
+	private final TeleportAdmission admission;
+	private final TeleportStats stats = new TeleportStats();
+	private final HandlerTimings timings = new HandlerTimings();
+
+	// map of player uuid to teleport session; sessions are removed when the player quits
+	private final Map<UUID, TeleportSession> sessions = new ConcurrentHashMap<>();
+
+	// number of sessions in the warming phase, and observers notified on the global thread when it changes
+	// to or from zero; the state last published to observers is only read and written on the global thread
+	private final AtomicInteger activeWarmups = new AtomicInteger();
+	private final List<WarmupObserver> warmupObservers = new CopyOnWriteArrayList<>();
+	private boolean warmupsPublished;
 
 
 	/**
 	 * Class constructor
 	 */
-	public TeleportHandler(final Plugin plugin, final MessageBuilder messageBuilder)
+	public TeleportHandler(final Plugin plugin,
+	                       final MessageBuilder messageBuilder,
+	                       final SettingsHolder settings,
+	                       final TaskRegistry tasks,
+	                       final TaskScheduler scheduler,
+	                       final TickClock clock,
+	                       final CooldownStore cooldownStore,
+	                       final WorldLinkIndex worldLinks,
+	                       final UsageLog usageLog)
 	{
 		this.plugin = plugin;
 		this.messageBuilder = messageBuilder;
-		cooldownMap = new CooldownMap(plugin);
-		warmupMap = new WarmupMap(plugin);
+		this.messageFilter = new DisabledMessageFilter(plugin, messageBuilder);
+		this.settings = settings;
+		this.tasks = tasks;
+		this.scheduler = scheduler;
+		this.clock = clock;
+		this.worldLinks = worldLinks;
+		this.usageLog = usageLog;
+		cooldownMap = new CooldownMap(tasks, clock, settings, cooldownStore);
+		chunkPreloader = new ChunkPreloader(plugin, tasks);
+		movementPoller = new MovementPoller(tasks, clock, scheduler, settings, this);
+		effectRenderer = new WarmupEffectRenderer(tasks, clock, scheduler, settings);
+		admission = new TeleportAdmission(tasks, clock, scheduler, messageFilter, settings, stats);
+
+		// the timings setting applies at startup and on reload; the timings command toggles it in between
+		timings.setEnabled(settings.get().logging().timings());
+		settings.onReload(newSettings -> timings.setEnabled(newSettings.logging().timings()));
+	}
+
+
+	/**
+	 * Get the teleport session of a player, creating it if the player has none.
+	 * A new session is initialized with the player's cooldown from the cooldown map.
+	 *
+	 * @param player the player
+	 * @return the teleport session of the player
+	 */
+	public TeleportSession getSession(final Player player)
+	{
+		final UUID uuid = player.getUniqueId();
+
+		TeleportSession session = sessions.get(uuid);
+		if (session == null)
+		{
+			final long now = clock.nanoTime();
+			session = new TeleportSession(uuid, now + cooldownMap.getRemainingNanos(uuid, now), now);
+			sessions.put(uuid, session);
+		}
+		return session;
 	}
 
 
 	/**
 	 * Start the player teleport
 	 *
-	 * @param player the player being teleported
+	 * @param player  the player being teleported
+	 * @param session the teleport session of the player
 	 */
-	public void initiateTeleport(final Player player)
+	public void initiateTeleport(final Player player, final TeleportSession session)
 	{
 		if (player != null)
 		{
-			// if player cooldown has not expired, send player cooldown message and return
-			if (cooldownMap.isCoolingDown(player))
+			final long start = timings.start();
+			try
 			{
-				messageBuilder.compose(player, MessageId.TELEPORT_COOLDOWN)
-						.setMacro(Macro.ITEM, player.getInventory().getItemInMainHand())
-						.setMacro(Macro.DURATION, cooldownMap.getCooldownTimeRemaining(player))
-						.send();
-			}
+				final long now = clock.nanoTime();
 
-			// else if player is warming up, send player warming up message and return
-			else if (warmupMap.isWarmingUp(player))
-			{
-				messageBuilder.compose(player, MessageId.TELEPORT_PLAYER_WARMING)
-						.setMacro(Macro.ITEM, player.getInventory().getItemInMainHand())
-						.send();
-			}
+				switch (session.phase(now))
+				{
+					// if player cooldown has not expired, send player cooldown message
+					case COOLING -> sendDenial(session, messageFilter.compose(player, MessageId.TELEPORT_COOLDOWN)
+							.setMacro(Macro.ITEM, player.getInventory().getItemInMainHand())
+							.setMacro(Macro.DURATION, Duration.ofNanos(session.cooldownRemainingNanos(now))));
+
+					// if player is warming up, send player warming up message
+					case WARMING -> sendDenial(session, messageFilter.compose(player, MessageId.TELEPORT_PLAYER_WARMING)
+							.setMacro(Macro.ITEM, player.getInventory().getItemInMainHand()));
 
-			// else execute teleport logic
-			else
+					// else execute teleport logic
+					case IDLE -> this.teleportPlayer(player, session, now);
+				}
+			}
+			finally
 			{
-				this.teleportPlayer(player);
+				timings.record(HandlerTimings.Handler.INITIATE_TELEPORT, start);
 			}
 		}
 	}
 
 
-	private void teleportPlayer(final Player player)
+	private void teleportPlayer(final Player player, final TeleportSession session, final long now)
 	{
+		// get current settings snapshot
+		final SpawnStarSettings settings = this.settings.get();
+
 		// get item in player main hand
 		final ItemStack playerItem = player.getInventory().getItemInMainHand();
 
@@ -105,55 +204,77 @@ public final class TeleportHandler
 		// get spawn location from world manager
 		Location location = messageBuilder.worlds().spawnLocation(playerWorld.getUID()).orElseThrow(); // TODO: replace orElseThrow()
 
-		// if from-nether is enabled in config and player is in nether, try to get overworld spawn location
-		if (plugin.getConfig().getBoolean("from-nether") && isInNetherWorld(player))
+		// if from-nether is enabled in config and player is in nether, try to get linked overworld spawn location
+		if (settings.teleport().fromNether() && isInNetherWorld(playerWorld))
 		{
-			location = getOverworldSpawnLocation(player).orElse(location);
+			location = worldLinks.getLinkedSpawn(playerWorld).orElse(location);
 		}
 
-		// if from-end is enabled in config and player is in end, try to get overworld spawn location
-		else if (plugin.getConfig().getBoolean("from-end") && isInEndWorld(player))
+		// if from-end is enabled in config and player is in end, try to get linked overworld spawn location
+		else if (settings.teleport().fromEnd() && isInEndWorld(playerWorld))
 		{
-			location = getOverworldSpawnLocation(player).orElse(location);
+			location = worldLinks.getLinkedSpawn(playerWorld).orElse(location);
 		}
 
 		// if player is less than config min-distance from destination, send player min-distance message and return
-		if (isUnderMinimumDistance(player, location))
+		if (isUnderMinimumDistance(player, location, settings.teleport().minimumDistanceSquared()))
 		{
-			messageBuilder.compose(player, MessageId.TELEPORT_FAIL_MIN_PROXIMITY)
+			stats.increment(TeleportStats.Counter.DENIED_MIN_DISTANCE);
+			sendDenial(session, messageFilter.compose(player, MessageId.TELEPORT_FAIL_MIN_PROXIMITY)
 					.setMacro(Macro.ITEM, playerItem)
-					.setMacro(Macro.DESTINATION_WORLD, location.getWorld())
-					.send();
+					.setMacro(Macro.DESTINATION_WORLD, location.getWorld()));
 			return;
 		}
 
+		// snapshot the item before one is removed, since an emptied stack no longer reports its type
+		final ItemStack itemSnapshot = playerItem.clone();
+
 		// if remove-from-inventory is configured on-use, take one spawn star item from inventory now
-		if ("on-use".equalsIgnoreCase(plugin.getConfig().getString("remove-from-inventory")))
+		if (settings.item().removeFromInventory() == RemoveFromInventory.ON_USE)
 		{
 			playerItem.setAmount(playerItem.getAmount() - 1);
 			player.getInventory().setItemInMainHand(playerItem);
 		}
 
 		// if warmup setting is greater than zero, send warmup message
-		long warmupTime = plugin.getConfig().getLong("teleport-warmup");
-		if (warmupTime > 0)
+		if (settings.teleport().warmupTicks() > 0)
 		{
-			messageBuilder.compose(player, MessageId.TELEPORT_WARMUP)
+			messageFilter.compose(player, MessageId.TELEPORT_WARMUP)
 					.setMacro(Macro.DESTINATION_WORLD, location.getWorld())
-					.setMacro(Macro.DURATION, Duration.ofSeconds(warmupTime))
+					.setMacro(Macro.DURATION, settings.teleport().warmup())
 					.send();
 		}
 
+		// start loading destination chunks, so the teleport does not load them on the main thread;
+		// a region threaded server loads them in the asynchronous teleport instead
+		ChunkPreloader.Preload preload = settings.teleport().preloadRadius() >= 0 && !scheduler.isRegionThreaded()
+				? chunkPreloader.preload(location, settings.teleport().preloadRadius())
+				: null;
+
 		// initiate delayed teleport for player to destination
+		TaskScheduler.Task teleportTask = tasks.runForEntity(TaskRegistry.Purpose.WARMUP, player,
+				new DelayedTeleportTask(clock, scheduler, messageBuilder, this.settings, this, player, session),
+				settings.teleport().warmupTicks());
 
-		BukkitTask teleportTask = new DelayedTeleportTask(plugin, messageBuilder, this, player, location, playerItem.clone())
-				.runTaskLater(plugin, TimeUnit.SECONDS.toTicks(plugin.getConfig().getLong("teleport-warmup")));
+		// record the warmup in the player session
+		session.startWarmup(teleportTask, clock.currentTick(), location, preload, itemSnapshot, now);
+		warmupStarted();
 
-		// insert player and taskId into warmup hashmap
-		warmupMap.startPlayerWarmUp(player, teleportTask.getTaskId());
+		// display particles at player location until the warmup ends, if configured
+		if (settings.effects().particles())
+		{
+			effectRenderer.track(player, session);
+		}
 
-		// write log entry if configured
-		logUsage(player);
+		// if movement is checked by polling, sample the player position until the warmup ends
+		if (settings.cancellation().pollsMovement())
+		{
+			movementPoller.track(player, session);
+		}
+
+		// count use, and write log entry if configured
+		stats.recordUse(playerWorld.getName());
+		logUsage(player, session, location, settings);
 	}
 
 
@@ -161,170 +282,408 @@ public final class TeleportHandler
 	 * Cancel pending player teleport
 	 *
 	 * @param player the player whose teleport will be cancelled
+	 * @param reason the reason the teleport is cancelled
+	 * @return {@code true} if a pending teleport was cancelled, {@code false} if the player had none
 	 */
-	public void cancelTeleport(final Player player)
+	public boolean cancelTeleport(final Player player, final CancelReason reason)
 	{
-		// if player is in warmup hashmap, cancel delayed teleport task and remove player from warmup hashmap
-		if (warmupMap.containsPlayer(player))
+		return cancelTeleport(sessions.get(player.getUniqueId()), reason);
+	}
+
+
+	/**
+	 * Cancel pending teleport of a session
+	 *
+	 * @param session the session whose teleport will be cancelled; may be {@code null}
+	 * @param reason  the reason the teleport is cancelled
+	 * @return {@code true} if a pending teleport was cancelled, {@code false} if the session had none
+	 */
+	public boolean cancelTeleport(final TeleportSession session, final CancelReason reason)
+	{
+		// if session is warming up, cancel delayed teleport task
+		if (session != null && session.isWarmingUp())
 		{
-			// get delayed teleport task id
-			int taskId = warmupMap.getTaskId(player);
+			session.cancelWarmup();
+			warmupEnded();
+			stats.increment(reason.counter());
+			return true;
+		}
+		return false;
+	}
 
-			// cancel delayed teleport task
-			plugin.getServer().getScheduler().cancelTask(taskId);
 
-			// remove player from warmup hashmap
-			removeWarmingUpPlayer(player);
+	/**
+	 * End the warmup of a session after its delayed teleport task has run
+	 *
+	 * @param session the session whose warmup has finished
+	 */
+	void finishWarmup(final TeleportSession session)
+	{
+		session.finishWarmup();
+		warmupEnded();
+	}
+
+
+	/**
+	 * Register an observer to be notified when warmups start and end. Observers are notified on the
+	 * global thread, and must be registered from it.
+	 *
+	 * @param observer the observer
+	 */
+	public void addWarmupObserver(final WarmupObserver observer)
+	{
+		warmupObservers.add(observer);
+		if (warmupsPublished)
+		{
+			observer.warmupsStarted();
 		}
 	}
 
 
 	/**
-	 * Insert player uuid into cooldown hashmap with expireTime as value.<br>
-	 * Schedule task to remove player uuid from cooldown hashmap when time expires.
+	 * Get the teleport statistics
 	 *
-	 * @param player the player whose uuid will be added to the cooldown map
+	 * @return the teleport statistics since the plugin was enabled
 	 */
-	void startPlayerCooldown(final Player player)
+	public TeleportStats stats()
 	{
-		cooldownMap.startPlayerCooldown(player);
+		return stats;
 	}
 
 
 	/**
-	 * Check if a player is in a nether world
+	 * Get the handler latency timings
 	 *
-	 * @param player the player
-	 * @return true if player is in a nether world, false if not
+	 * @return the latency histograms of the event handlers and teleport tasks
 	 */
-	private boolean isInNetherWorld(final Player player)
+	public HandlerTimings timings()
 	{
-		return player.getWorld().getEnvironment().equals(World.Environment.NETHER);
+		return timings;
 	}
 
 
 	/**
-	 * Check if a player is in an end world
+	 * Get the disabled message filter
 	 *
-	 * @param player the player
-	 * @return true if player is in an end world, false if not
+	 * @return the filter that sends the teleport messages of every item use and cancellation, unless disabled
 	 */
-	private boolean isInEndWorld(final Player player)
+	public DisabledMessageFilter messageFilter()
 	{
-		return player.getWorld().getEnvironment().equals(World.Environment.THE_END);
+		return messageFilter;
 	}
 
 
 	/**
-	 * Get overworld spawn location corresponding to a player nether or end world.
+	 * Get the task registry
 	 *
-	 * @param player the passed player whose current world will be used to find a matching over world spawn location
-	 * @return {@link Optional} wrapped spawn location of the normal world associated with the passed player
-	 * nether or end world, or the current player world spawn location if no matching normal world found
+	 * @return the registry of every task scheduled by the plugin
 	 */
-	private Optional<Location> getOverworldSpawnLocation(final Player player)
+	public TaskRegistry tasks()
+	{
+		return tasks;
+	}
+
+
+	/**
+	 * Get the number of pending warmups
+	 *
+	 * @return the number of sessions in the warming phase
+	 */
+	public int activeWarmups()
+	{
+		return activeWarmups.get();
+	}
+
+
+	/**
+	 * Get the number of teleports waiting in the admission queue
+	 *
+	 * @return the queue depth
+	 */
+	public int queueDepth()
+	{
+		return admission.size();
+	}
+
+
+	/**
+	 * Get the number of teleport sessions, which are kept for online players who have used an item
+	 *
+	 * @return the number of sessions
+	 */
+	public int sessionCount()
+	{
+		return sessions.size();
+	}
+
+
+	/**
+	 * Get the number of cooldown entries, including expired entries that have not yet been purged
+	 *
+	 * @return the number of cooldown entries
+	 */
+	public int cooldownCount()
+	{
+		return cooldownMap.size();
+	}
+
+
+	TeleportAdmission admission()
+	{
+		return admission;
+	}
+
+
+	private void warmupStarted()
 	{
-		if (player == null)
+		if (activeWarmups.getAndIncrement() == 0)
 		{
-			return Optional.empty();
+			scheduler.executeGlobal(this::publishWarmups);
 		}
+	}
 
-		// create list to store normal environment worlds
-		List<World> normalWorlds = new ArrayList<>();
 
-		// iterate through all server worlds
-		for (World checkWorld : plugin.getServer().getWorlds())
+	private void warmupEnded()
+	{
+		if (activeWarmups.decrementAndGet() == 0)
 		{
-			// if world is normal environment, try to match name to passed world
-			if (World.Environment.NORMAL.equals(checkWorld.getEnvironment()))
+			scheduler.executeGlobal(this::publishWarmups);
+		}
+	}
+
+
+	/**
+	 * Notify observers if the warmup count has changed to or from zero since they were last notified.
+	 * On a region threaded server, several changes may be published together, or none if they cancel out.
+	 */
+	private void publishWarmups()
+	{
+		final boolean active = activeWarmups.get() > 0;
+		if (active != warmupsPublished)
+		{
+			warmupsPublished = active;
+			for (WarmupObserver observer : warmupObservers)
 			{
-				// check if normal world matches passed world minus nether/end suffix
-				if (player.getWorld().getName().replaceFirst("(_nether$|_the_end$)", "").equals(checkWorld.getName()))
+				if (active)
 				{
-					return messageBuilder.worlds().spawnLocation(checkWorld.getUID());
+					observer.warmupsStarted();
+				}
+				else
+				{
+					observer.warmupsEnded();
 				}
-
-				// if no match, add to list of normal worlds
-				normalWorlds.add(checkWorld);
 			}
 		}
+	}
+
 
-		// if only one normal world exists, return that world
-		if (normalWorlds.size() == 1)
+	/**
+	 * Cancel pending teleport of a player because they moved, and send the player a message
+	 *
+	 * @param player  the player whose teleport will be cancelled
+	 * @param session the teleport session of the player; may be {@code null}
+	 */
+	public void cancelForMovement(final Player player, final TeleportSession session)
+	{
+		if (cancelTeleport(session, CancelReason.MOVEMENT))
 		{
-			return Optional.of(normalWorlds.getFirst().getSpawnLocation());
+			messageFilter.compose(player, MessageId.TELEPORT_CANCELLED_MOVEMENT).send();
 		}
+	}
+
 
-		// if no matching normal world found and more than one normal world exists, return passed world spawn location
-		return Optional.of(player.getWorld().getSpawnLocation());
+	/**
+	 * Cancel any pending teleport of a player and any other task they own, and discard their session.
+	 * The player cooldown is kept in the cooldown map, and is copied into a new session when the player returns.
+	 *
+	 * @param player the player whose session will be discarded
+	 */
+	public void endSession(final Player player)
+	{
+		cancelTeleport(sessions.remove(player.getUniqueId()), CancelReason.QUIT);
+		tasks.cancelOwnedBy(player.getUniqueId());
+	}
+
+
+	/**
+	 * Start the configured cooldown for a player, in both the cooldown map and the player session.
+	 *
+	 * @param player  the player whose cooldown will be started
+	 * @param session the teleport session of the player
+	 */
+	void startPlayerCooldown(final Player player, final TeleportSession session)
+	{
+		final long now = clock.nanoTime();
+		session.startCooldown(cooldownMap.startPlayerCooldown(player, now), now);
+	}
+
+
+	/**
+	 * Check if a world is a nether world
+	 *
+	 * @param world the world
+	 * @return true if world is a nether world, false if not
+	 */
+	private boolean isInNetherWorld(final World world)
+	{
+		return world.getEnvironment() == World.Environment.NETHER;
+	}
+
+
+	/**
+	 * Check if a world is an end world
+	 *
+	 * @param world the world
+	 * @return true if world is an end world, false if not
+	 */
+	private boolean isInEndWorld(final World world)
+	{
+		return world.getEnvironment() == World.Environment.THE_END;
 	}
 
 
 	/**
 	 * Check if player is within configured minimum distance from location
 	 *
-	 * @param player   the player
-	 * @param location the location
+	 * @param player                 the player
+	 * @param location               the location
+	 * @param minimumDistanceSquared the configured minimum distance, squared
 	 * @return true if under minimum distance, false if not
 	 */
-	private boolean isUnderMinimumDistance(final Player player, final Location location)
+	private boolean isUnderMinimumDistance(final Player player, final Location location, final double minimumDistanceSquared)
 	{
 		return location != null
 				&& location.getWorld() != null
 				&& player.getWorld().equals(location.getWorld())
-				&& player.getLocation().distanceSquared(location) < Math.pow(plugin.getConfig().getInt("minimum-distance"), 2);
+				&& player.getLocation().distanceSquared(location) < minimumDistanceSquared;
 	}
 
 
 	/**
-	 * Check if player is in teleport initiated set. Public pass through method.
+	 * Accept an interact event for a session, unless it is the duplicate event fired for the other hand
+	 * by the same click. The duplicate window is the configured interact delay, and at least one tick.
 	 *
-	 * @param player the player to check if teleport is initiated
-	 * @return {@code true} if teleport been initiated, {@code false} if it has not
+	 * @param session the teleport session of the player
+	 * @param hand    the hand of the event, or {@code null} if the event has no hand
+	 * @return {@code true} if the event should be handled, {@code false} if it is a duplicate
 	 */
-	public boolean isInitiated(final Player player)
+	public boolean acceptInteract(final TeleportSession session, final EquipmentSlot hand)
 	{
-		return warmupMap.isInitiated(player);
+		return session.acceptInteract(clock.currentTick(), hand == null ? -1 : hand.ordinal(),
+				Math.max(1, settings.get().limits().interactDelayTicks()));
 	}
 
 
 	/**
-	 * Test if player uuid is in warmup hashmap. Public pass through method.
+	 * Take an item click from the interaction rate of a player. Clicks beyond the configured
+	 * burst and refill rate are counted as dropped.
 	 *
-	 * @param player the player to test if in warmup map
-	 * @return {@code true} if player is in warmup map, {@code false} if not
+	 * @param session the teleport session of the player
+	 * @return {@code true} if the click should be handled, {@code false} if it should be ignored
 	 */
-	public boolean isWarmingUp(final Player player)
+	public boolean acquireInteraction(final TeleportSession session)
 	{
-		return warmupMap.isWarmingUp(player);
+		final SpawnStarSettings settings = this.settings.get();
+		if (settings.limits().interactBurst() == 0
+				|| session.tryAcquireInteraction(clock.currentTick(), settings.limits().interactBurst(), settings.limits().interactRefillTicks()))
+		{
+			return true;
+		}
+		stats.increment(TeleportStats.Counter.INTERACTIONS_DROPPED);
+		return false;
 	}
 
 
 	/**
-	 * Remove player uuid from warmup hashmap. Public pass through method.
+	 * Send a message that denies an item use, unless a denial message was sent to the player within the
+	 * configured denial message interval, so that repeated clicks are answered with at most one message
+	 * per interval. Only a message that is actually sent starts a new interval, so a denial whose message
+	 * is disabled does not hold back the next denial message.
 	 *
-	 * @param player the player to remove from the warmup map
+	 * @param session the teleport session of the player
+	 * @param message the composed denial message
 	 */
-	void removeWarmingUpPlayer(final Player player)
+	public void sendDenial(final TeleportSession session, final FilteredMessage message)
 	{
-		warmupMap.removePlayer(player);
+		if (!message.isEnabled())
+		{
+			stats.increment(TeleportStats.Counter.DENIALS_DISABLED);
+			return;
+		}
+
+		final long tick = clock.currentTick();
+		if (session.isDenialDue(tick, settings.get().limits().denialMessageIntervalTicks()) && message.send())
+		{
+			session.recordDenial(tick);
+			stats.increment(TeleportStats.Counter.DENIALS_SENT);
+		}
+		else
+		{
+			// held back by the denial interval, or by the repeat delay of the message
+			stats.increment(TeleportStats.Counter.DENIALS_COALESCED);
+		}
 	}
 
 
 	/**
-	 * Log usage of SpawnStar item if configured
+	 * Get the teleport session of a player, without creating a session for the player
 	 *
-	 * @param player the player being logged using a SpawnStar item
+	 * @param player the player
+	 * @return the teleport session of the player, or {@code null} if the player has none
+	 */
+	public TeleportSession findSession(final Player player)
+	{
+		return sessions.get(player.getUniqueId());
+	}
+
+
+	/**
+	 * Test if a player has a pending teleport, without creating a session for the player
+	 *
+	 * @param player the player to test
+	 * @return {@code true} if the player is warming up, {@code false} if not
+	 */
+	public boolean isWarmingUp(final Player player)
+	{
+		final TeleportSession session = sessions.get(player.getUniqueId());
+		return session != null && session.isWarmingUp();
+	}
+
+
+	/**
+	 * Log usage of SpawnStar item if configured. The usage record is captured here and written
+	 * by the usage log thread; the console message is only sent if configured.
+	 *
+	 * @param player      the player being logged using a SpawnStar item
+	 * @param session     the teleport session of the player, holding a snapshot of the item used
+	 * @param destination the teleport destination
+	 * @param settings    the current settings snapshot
 	 */
-	private void logUsage(final Player player)
+	private void logUsage(final Player player,
+	                      final TeleportSession session,
+	                      final Location destination,
+	                      final SpawnStarSettings settings)
 	{
-		if (plugin.getConfig().getBoolean("log-use"))
+		if (!settings.logging().logUse())
 		{
-			ItemStack playerItem = player.getInventory().getItemInMainHand();
+			return;
+		}
 
+		final Location from = player.getLocation();
+		usageLog.record(new UsageRecord(clock.currentTimeMillis(),
+				player.getUniqueId(),
+				player.getName(),
+				from.getWorld().getName(),
+				from.getX(), from.getY(), from.getZ(),
+				destination.getWorld().getName(),
+				destination.getX(), destination.getY(), destination.getZ(),
+				session.item().getType().name()));
+
+		if (settings.logging().console())
+		{
 			messageBuilder.compose(plugin.getServer().getConsoleSender(), MessageId.TELEPORT_LOG_USAGE)
 					.setMacro(Macro.TARGET_PLAYER, player)
-					.setMacro(Macro.ITEM, playerItem)
+					.setMacro(Macro.ITEM, session.item())
 					.send();
 		}
 	}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Objects;
+import java.util.UUID;
+
+
+/**
+ * Holds all teleport state for one player: the current phase, the pending warmup task,
+ * the tick the warmup was initiated, the destination and its chunk preload, the item used, the interaction
+ * rate and denial message state, and a cached copy of the cooldown expiry time. A player has at most one
+ * session, which is fetched once per event, and which is only changed by the thread that owns the player.
+ * <p>
+ * The phase only changes through the transition methods, each of which checks the current phase
+ * and throws {@link IllegalStateException} if the transition is not allowed:
+ * <pre>
+ *   IDLE    --startWarmup--&gt;   WARMING
+ *   WARMING --cancelWarmup--&gt;  IDLE
+ *   WARMING --finishWarmup--&gt;  IDLE
+ *   IDLE    --startCooldown--&gt; COOLING
+ *   COOLING --(expiry)--&gt;      IDLE
+ * </pre>
+ * A cooldown expires lazily, the first time the phase is read after the expiry time.
+ */
+public final class TeleportSession
+{
+	/**
+	 * The teleport phases of a player
+	 */
+	public enum Phase
+	{
+		IDLE,
+		WARMING,
+		COOLING,
+	}
+
+
+	private final UUID playerUid;
+	private TaskScheduler.Task warmupTask;
+
+	// written only by the thread that owns the player; read by the global thread to drop entries of ended warmups
+	private volatile Phase phase;
+	private volatile long initiateTick;
+	private Location destination;
+	private ChunkPreloader.Preload preload;
+	private ItemStack item;
+
+	// tick and hand ordinal of the last accepted interact event, for rejecting the duplicate event of the other hand
+	private long lastInteractTick = Long.MIN_VALUE;
+	private int lastInteractHand = -1;
+
+	// interaction token bucket, held as the tick at which the bucket is full again
+	private long interactFullTick = Long.MIN_VALUE;
+
+	// tick of the last denial message sent to the player
+	private long lastDenialTick = Long.MIN_VALUE;
+
+	// cooldown expiry time as a clock nanoTime() value; copied from the cooldown map when the session is created
+	private long cooldownExpiry;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param playerUid      the uuid of the player that owns this session
+	 * @param cooldownExpiry the cooldown expiry time as a {@link TickClock#nanoTime()} value
+	 * @param now            the current time as a {@link TickClock#nanoTime()} value
+	 */
+	TeleportSession(final UUID playerUid, final long cooldownExpiry, final long now)
+	{
+		this.playerUid = Objects.requireNonNull(playerUid);
+		this.cooldownExpiry = cooldownExpiry;
+		this.phase = cooldownExpiry - now > 0 ? Phase.COOLING : Phase.IDLE;
+	}
+
+
+	/**
+	 * Get the current phase, expiring a cooldown that has ended
+	 *
+	 * @param now the current time as a {@link TickClock#nanoTime()} value
+	 * @return the current phase
+	 */
+	public Phase phase(final long now)
+	{
+		if (phase == Phase.COOLING && cooldownExpiry - now <= 0)
+		{
+			phase = Phase.IDLE;
+		}
+		return phase;
+	}
+
+
+	/**
+	 * Test if this session has a pending warmup. A warming session never expires by time,
+	 * so no clock reading is needed.
+	 *
+	 * @return {@code true} if the player is warming up, {@code false} if not
+	 */
+	public boolean isWarmingUp()
+	{
+		return phase == Phase.WARMING;
+	}
+
+
+	/**
+	 * Get the remaining cooldown time
+	 *
+	 * @param now the current time as a {@link TickClock#nanoTime()} value
+	 * @return the remaining cooldown time in nanoseconds, or zero if the cooldown has expired
+	 */
+	public long cooldownRemainingNanos(final long now)
+	{
+		return Math.max(0L, cooldownExpiry - now);
+	}
+
+
+	public UUID playerUid()
+	{
+		return playerUid;
+	}
+
+
+	/**
+	 * Get the tick on which the current or most recent warmup was initiated
+	 *
+	 * @return the tick number
+	 */
+	public long initiateTick()
+	{
+		return initiateTick;
+	}
+
+
+	/**
+	 * Accept an interact event unless it is the duplicate fired for the other hand by the same click,
+	 * which is an event for a different hand within the window of the last accepted event.
+	 * An accepted event becomes the last accepted event.
+	 *
+	 * @param tick        the current tick
+	 * @param hand        the ordinal of the hand of the event, or -1 if the event has no hand
+	 * @param windowTicks the number of ticks after an accepted event during which an event for the other hand is a duplicate
+	 * @return {@code true} if the event was accepted, {@code false} if it is a duplicate
+	 */
+	boolean acceptInteract(final long tick, final int hand, final long windowTicks)
+	{
+		if (hand != lastInteractHand && lastInteractTick != Long.MIN_VALUE && tick - lastInteractTick < windowTicks)
+		{
+			return false;
+		}
+		lastInteractTick = tick;
+		lastInteractHand = hand;
+		return true;
+	}
+
+
+	/**
+	 * Take one token from the interaction bucket, which holds at most {@code burst} tokens and regains
+	 * one token every {@code refillTicks} ticks. The bucket is held as the tick at which it is full again,
+	 * so the number of tokens is derived from the current tick instead of being refilled by a task.
+	 *
+	 * @param tick        the current tick
+	 * @param burst       the capacity of the bucket, at least one
+	 * @param refillTicks the number of ticks in which one token is regained, at least one
+	 * @return {@code true} if a token was taken, {@code false} if the bucket is empty
+	 */
+	boolean tryAcquireInteraction(final long tick, final int burst, final int refillTicks)
+	{
+		final long fullTick = Math.max(interactFullTick, tick);
+		if (fullTick - tick > (long) (burst - 1) * refillTicks)
+		{
+			return false;
+		}
+		interactFullTick = fullTick + refillTicks;
+		return true;
+	}
+
+
+	/**
+	 * Test if a denial message may be sent, because none was sent within the interval
+	 *
+	 * @param tick          the current tick
+	 * @param intervalTicks the minimum number of ticks between denial messages
+	 * @return {@code true} if the message should be sent, {@code false} if it is coalesced with the last one
+	 */
+	boolean isDenialDue(final long tick, final long intervalTicks)
+	{
+		return lastDenialTick == Long.MIN_VALUE || tick - lastDenialTick >= intervalTicks;
+	}
+
+
+	/**
+	 * Record a denial message sent to the player, which starts a new denial message interval
+	 *
+	 * @param tick the current tick
+	 */
+	void recordDenial(final long tick)
+	{
+		lastDenialTick = tick;
+	}
+
+
+	Location destination()
+	{
+		return destination;
+	}
+
+
+	ItemStack item()
+	{
+		return item;
+	}
+
+
+	/**
+	 * Test if the destination chunks of the pending warmup have been loaded
+	 *
+	 * @return {@code true} if the destination chunks are loaded or no preload was started, {@code false} if not
+	 */
+	boolean isDestinationLoaded()
+	{
+		return preload == null || preload.isDone();
+	}
+
+
+	/**
+	 * Transition from IDLE to WARMING
+	 *
+	 * @param warmupTask   the scheduled task that completes the teleport
+	 * @param initiateTick the current tick
+	 * @param destination  the teleport destination
+	 * @param preload      the chunk preload of the destination, or {@code null}
+	 * @param item         a snapshot of the item used to initiate the teleport
+	 * @param now          the current time as a {@link TickClock#nanoTime()} value
+	 */
+	void startWarmup(final TaskScheduler.Task warmupTask,
+	                 final long initiateTick,
+	                 final Location destination,
+	                 final ChunkPreloader.Preload preload,
+	                 final ItemStack item,
+	                 final long now)
+	{
+		require(Phase.IDLE, phase(now), "start warmup");
+		this.warmupTask = Objects.requireNonNull(warmupTask);
+		this.initiateTick = initiateTick;
+		this.destination = Objects.requireNonNull(destination);
+		this.preload = preload;
+		this.item = item;
+		this.phase = Phase.WARMING;
+	}
+
+
+	/**
+	 * Replace the warmup task while remaining in WARMING, when the teleport is deferred
+	 * until the destination chunks are loaded
+	 *
+	 * @param warmupTask the rescheduled task that completes the teleport
+	 */
+	void deferWarmup(final TaskScheduler.Task warmupTask)
+	{
+		require(Phase.WARMING, phase, "defer warmup");
+		this.warmupTask = Objects.requireNonNull(warmupTask);
+	}
+
+
+	/**
+	 * Transition from WARMING to IDLE because the warmup was interrupted, cancelling the pending task
+	 */
+	void cancelWarmup()
+	{
+		require(Phase.WARMING, phase, "cancel warmup");
+		warmupTask.cancel();
+		clearWarmup();
+	}
+
+
+	/**
+	 * Transition from WARMING to IDLE because the warmup task has run
+	 */
+	void finishWarmup()
+	{
+		require(Phase.WARMING, phase, "finish warmup");
+		clearWarmup();
+	}
+
+
+	/**
+	 * Transition from IDLE to COOLING
+	 *
+	 * @param cooldownExpiry the cooldown expiry time as a {@link TickClock#nanoTime()} value
+	 * @param now            the current time as a {@link TickClock#nanoTime()} value
+	 */
+	void startCooldown(final long cooldownExpiry, final long now)
+	{
+		require(Phase.IDLE, phase(now), "start cooldown");
+		this.cooldownExpiry = cooldownExpiry;
+		this.phase = cooldownExpiry - now > 0 ? Phase.COOLING : Phase.IDLE;
+	}
+
+
+	private void clearWarmup()
+	{
+		if (preload != null)
+		{
+			preload.release();
+		}
+		warmupTask = null;
+		destination = null;
+		preload = null;
+		item = null;
+		phase = Phase.IDLE;
+	}
+
+
+	private static void require(final Phase expected, final Phase actual, final String transition)
+	{
+		if (actual != expected)
+		{
+			throw new IllegalStateException("Cannot " + transition + " in phase " + actual + ".");
+		}
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return "TeleportSession{player=" + playerUid + ", phase=" + phase + ", initiateTick=" + initiateTick + "}";
+	}
+
+}
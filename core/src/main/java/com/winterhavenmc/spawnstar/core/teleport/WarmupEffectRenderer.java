@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+import com.winterhavenmc.spawnstar.core.settings.SpawnStarSettings;
+
+import org.bukkit.Effect;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Displays the ender signal effect at the location of every warming player from a single repeating
+ * wheel entry. Each effect is sent only to players within the configured view distance, and the total
+ * number of effects sent per tick is limited by the configured particle budget.
+ * <p>
+ * The effect of each session is due every {@link #RENDER_INTERVAL_TICKS} ticks. Sessions are visited in
+ * round-robin order, starting after the last session rendered on the previous tick, so a session whose
+ * effect was skipped when the budget ran out is rendered first on the next tick. Entries are dropped
+ * at the next tick after their warmup ends.
+ * <p>
+ * The players of each world are fetched once per tick and shared by every session in that world. Viewers
+ * are visited in the same round-robin order as sessions, so when the budget runs out partway through the
+ * viewers of a session, the viewers that were skipped are sent the next effect first.
+ * <p>
+ * On a region threaded server, the sessions are visited on the global thread, and each effect is displayed
+ * on the thread that owns its player. Since players nearby may be owned by another thread, the effect is
+ * broadcast by the world to players within the view distance, and counts once against the budget.
+ */
+final class WarmupEffectRenderer
+{
+	// ticks between displays of the effect of one session
+	static final long RENDER_INTERVAL_TICKS = 10L;
+
+	// ticks from warmup start to the first display
+	private static final long FIRST_RENDER_DELAY_TICKS = 2L;
+
+	private final TickClock clock;
+	private final TaskScheduler scheduler;
+	private final SettingsHolder settings;
+	private final List<Rendered> rendered = new ArrayList<>();
+	private final Map<World, List<Player>> viewers = new HashMap<>();
+	private int cursor;
+	private int viewerCursor;
+
+
+	WarmupEffectRenderer(final TaskRegistry tasks,
+	                     final TickClock clock,
+	                     final TaskScheduler scheduler,
+	                     final SettingsHolder settings)
+	{
+		this.clock = clock;
+		this.scheduler = scheduler;
+		this.settings = settings;
+
+		// a single repeating entry that returns immediately when no sessions are rendered
+		tasks.scheduleRepeating(TaskRegistry.Purpose.WARMUP_EFFECTS, this::render, 1L, 1L);
+	}
+
+
+	/**
+	 * Start displaying the effect of a player whose warmup has just started
+	 *
+	 * @param player  the player
+	 * @param session the teleport session of the player, already in the warming phase
+	 */
+	void track(final Player player, final TeleportSession session)
+	{
+		final Rendered entry = new Rendered(player, session, session.initiateTick(), clock.currentTick() + FIRST_RENDER_DELAY_TICKS);
+		scheduler.executeGlobal(() -> rendered.add(entry));
+	}
+
+
+	/**
+	 * Get the number of sessions currently rendered
+	 *
+	 * @return the number of rendered sessions
+	 */
+	int size()
+	{
+		return rendered.size();
+	}
+
+
+	private void render()
+	{
+		if (rendered.isEmpty())
+		{
+			return;
+		}
+
+		// drop entries of ended warmups, keeping the order of the rest
+		rendered.removeIf(entry -> !entry.isCurrent());
+		final int size = rendered.size();
+		if (size == 0)
+		{
+			cursor = 0;
+			return;
+		}
+
+		final SpawnStarSettings settings = this.settings.get();
+		final long tick = clock.currentTick();
+		final int start = cursor % size;
+		int budget = settings.effects().budget();
+
+		for (int n = 0; n < size && budget > 0; n++)
+		{
+			final int index = (start + n) % size;
+			final Rendered entry = rendered.get(index);
+			if (tick >= entry.nextTick)
+			{
+				if (scheduler.isRegionThreaded())
+				{
+					final int radius = (int) Math.sqrt(settings.effects().viewDistanceSquared());
+					scheduler.executeForEntity(entry.player, () -> entry.broadcast(radius));
+					budget--;
+				}
+				else
+				{
+					final List<Player> worldViewers = viewers.computeIfAbsent(entry.player.getWorld(), World::getPlayers);
+					budget -= display(entry.player, worldViewers, budget, settings.effects().viewDistanceSquared());
+				}
+				entry.nextTick = tick + RENDER_INTERVAL_TICKS;
+				cursor = index + 1;
+			}
+		}
+		viewers.clear();
+	}
+
+
+	/**
+	 * Send the effect to the warming player, then to other players in range who can see them, starting
+	 * with the viewer after the last one reached before the budget ran out
+	 *
+	 * @return the number of effects sent, at most the budget
+	 */
+	private int display(final Player player, final List<Player> worldViewers, final int budget, final double viewDistanceSquared)
+	{
+		final Location location = player.getLocation().add(0.0d, 1.0d, 0.0d);
+
+		player.playEffect(location, Effect.ENDER_SIGNAL, null);
+		int sent = 1;
+
+		final int count = worldViewers.size();
+		final int start = count == 0 ? 0 : viewerCursor % count;
+		for (int n = 0; n < count; n++)
+		{
+			final int index = (start + n) % count;
+			if (sent >= budget)
+			{
+				viewerCursor = index;
+				break;
+			}
+			final Player viewer = worldViewers.get(index);
+			if (viewer != player
+					&& viewer.getLocation().distanceSquared(location) <= viewDistanceSquared
+					&& viewer.canSee(player))
+			{
+				viewer.playEffect(location, Effect.ENDER_SIGNAL, null);
+				sent++;
+			}
+		}
+		return sent;
+	}
+
+
+	private static final class Rendered
+	{
+		private final Player player;
+		private final TeleportSession session;
+		private final long initiateTick;
+		private long nextTick;
+
+
+		private Rendered(final Player player, final TeleportSession session, final long initiateTick, final long nextTick)
+		{
+			this.player = player;
+			this.session = session;
+			this.initiateTick = initiateTick;
+			this.nextTick = nextTick;
+		}
+
+
+		/**
+		 * Test if the warmup this entry was created for is still pending
+		 */
+		private boolean isCurrent()
+		{
+			return session.isWarmingUp() && session.initiateTick() == initiateTick;
+		}
+
+
+		/**
+		 * Have the world of the warming player send the effect to players within a radius
+		 */
+		private void broadcast(final int radius)
+		{
+			if (isCurrent())
+			{
+				final Location location = player.getLocation().add(0.0d, 1.0d, 0.0d);
+				location.getWorld().playEffect(location, Effect.ENDER_SIGNAL, null, radius);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+
+/**
+ * An index that maps each loaded nether and end world to the spawn location of its linked overworld,
+ * used by the from-nether and from-end options.
+ * <p>
+ * A world is linked to the overworld named in the {@code world-links} configuration section if one is
+ * listed, otherwise to the overworld whose name matches the world name without its {@code _nether} or
+ * {@code _the_end} suffix, otherwise to the only overworld if there is exactly one. The index is built
+ * when the plugin is enabled and updated when worlds are loaded or unloaded, when a world spawn changes,
+ * and when the configuration is reloaded, so a lookup is two hash map accesses.
+ * <p>
+ * Lookups may be made from any thread; they read an immutable snapshot of the links and spawn locations,
+ * which is replaced after every update. Updates are serialized, and may also be made from any thread.
+ */
+public final class WorldLinkIndex
+{
+	private static final String NETHER_SUFFIX = "_nether";
+	private static final String END_SUFFIX = "_the_end";
+
+	private final Plugin plugin;
+	private final MessageBuilder messageBuilder;
+	private final SettingsHolder settings;
+
+	// loaded normal environment worlds by name
+	private final Map<String, World> overworlds = new HashMap<>();
+
+	// loaded nether and end worlds by uid
+	private final Map<UUID, World> linkedWorlds = new HashMap<>();
+
+	// map of nether or end world uid to the uid of its linked overworld
+	private final Map<UUID, UUID> links = new HashMap<>();
+
+	// map of linked overworld uid to its cached spawn location
+	private final Map<UUID, Location> spawns = new HashMap<>();
+
+	// the links and spawn locations published to lookups
+	private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+
+	/**
+	 * Class constructor. Indexes all currently loaded worlds.
+	 *
+	 * @param plugin         an instance of the plugin
+	 * @param messageBuilder an instance of the message builder, used to get world spawn locations
+	 * @param settings       the settings holder
+	 */
+	public WorldLinkIndex(final Plugin plugin, final MessageBuilder messageBuilder, final SettingsHolder settings)
+	{
+		this.plugin = Objects.requireNonNull(plugin);
+		this.messageBuilder = Objects.requireNonNull(messageBuilder);
+		this.settings = Objects.requireNonNull(settings);
+
+		rebuild();
+		settings.onReload(newSettings -> rebuild());
+	}
+
+
+	/**
+	 * Get the spawn location of the overworld linked to a nether or end world
+	 *
+	 * @param world the nether or end world
+	 * @return {@link Optional} wrapped copy of the linked overworld spawn location,
+	 * or an empty {@code Optional} if the world has no linked overworld
+	 */
+	public Optional<Location> getLinkedSpawn(final World world)
+	{
+		final Snapshot snapshot = this.snapshot;
+		final UUID target = snapshot.links().get(world.getUID());
+		if (target == null)
+		{
+			return Optional.empty();
+		}
+
+		final Location spawn = snapshot.spawns().get(target);
+		return spawn == null ? Optional.empty() : Optional.of(spawn.clone());
+	}
+
+
+	/**
+	 * Add a newly loaded world to the index
+	 *
+	 * @param world the world that was loaded
+	 */
+	public synchronized void worldLoaded(final World world)
+	{
+		if (world.getEnvironment() == World.Environment.NORMAL)
+		{
+			overworlds.put(world.getName(), world);
+
+			// a new overworld may match by name, or change the single overworld fallback
+			relinkAll();
+		}
+		else
+		{
+			linkedWorlds.put(world.getUID(), world);
+			link(world);
+			refreshSpawns();
+		}
+		publish();
+	}
+
+
+	/**
+	 * Remove an unloaded world from the index
+	 *
+	 * @param world the world that was unloaded
+	 */
+	public synchronized void worldUnloaded(final World world)
+	{
+		if (overworlds.remove(world.getName(), world))
+		{
+			relinkAll();
+		}
+		else if (linkedWorlds.remove(world.getUID()) != null)
+		{
+			links.remove(world.getUID());
+			refreshSpawns();
+		}
+		publish();
+	}
+
+
+	/**
+	 * Update the cached spawn location of a world, if it is the target of a link
+	 *
+	 * @param world the world whose spawn location changed
+	 */
+	public synchronized void spawnChanged(final World world)
+	{
+		if (spawns.containsKey(world.getUID()))
+		{
+			spawns.put(world.getUID(), spawnLocation(world));
+			publish();
+		}
+	}
+
+
+	/**
+	 * Get the number of nether and end worlds that are linked to an overworld
+	 *
+	 * @return the number of linked worlds
+	 */
+	public int size()
+	{
+		return snapshot.links().size();
+	}
+
+
+	/**
+	 * Clear the index and add all currently loaded worlds
+	 */
+	synchronized void rebuild()
+	{
+		overworlds.clear();
+		linkedWorlds.clear();
+
+		for (World world : plugin.getServer().getWorlds())
+		{
+			if (world.getEnvironment() == World.Environment.NORMAL)
+			{
+				overworlds.put(world.getName(), world);
+			}
+			else
+			{
+				linkedWorlds.put(world.getUID(), world);
+			}
+		}
+
+		relinkAll();
+		publish();
+	}
+
+
+	private void relinkAll()
+	{
+		links.clear();
+		for (World world : linkedWorlds.values())
+		{
+			link(world);
+		}
+		refreshSpawns();
+	}
+
+
+	private void link(final World world)
+	{
+		final World target = findTarget(world.getName());
+		if (target != null)
+		{
+			links.put(world.getUID(), target.getUID());
+		}
+		else
+		{
+			links.remove(world.getUID());
+		}
+	}
+
+
+	private World findTarget(final String worldName)
+	{
+		// explicit link in configuration
+		final String linkedName = settings.get().teleport().worldLinks().get(worldName);
+		if (linkedName != null)
+		{
+			World linked = overworlds.get(linkedName);
+			if (linked != null)
+			{
+				return linked;
+			}
+			plugin.getLogger().warning("World link for '" + worldName + "' names a world that is not a loaded overworld: '" + linkedName + "'.");
+		}
+
+		// overworld with matching name, minus nether or end suffix
+		final World matched = overworlds.get(stripSuffix(worldName));
+		if (matched != null)
+		{
+			return matched;
+		}
+
+		// the only overworld, if there is exactly one
+		if (overworlds.size() == 1)
+		{
+			return overworlds.values().iterator().next();
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Cache the spawn location of every overworld that is the target of a link, and drop the rest
+	 */
+	private void refreshSpawns()
+	{
+		spawns.clear();
+		for (UUID target : links.values())
+		{
+			if (!spawns.containsKey(target))
+			{
+				World world = plugin.getServer().getWorld(target);
+				if (world != null)
+				{
+					spawns.put(target, spawnLocation(world));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Replace the snapshot read by lookups with a copy of the current links and spawn locations
+	 */
+	private void publish()
+	{
+		snapshot = new Snapshot(Map.copyOf(links), Map.copyOf(spawns));
+	}
+
+
+	private Location spawnLocation(final World world)
+	{
+		return messageBuilder.worlds().spawnLocation(world.getUID()).orElseGet(world::getSpawnLocation);
+	}
+
+
+	static String stripSuffix(final String worldName)
+	{
+		if (worldName.endsWith(NETHER_SUFFIX))
+		{
+			return worldName.substring(0, worldName.length() - NETHER_SUFFIX.length());
+		}
+		if (worldName.endsWith(END_SUFFIX))
+		{
+			return worldName.substring(0, worldName.length() - END_SUFFIX.length());
+		}
+		return worldName;
+	}
+
+
+	/**
+	 * An immutable copy of the index, read by lookups
+	 *
+	 * @param links  map of nether or end world uid to the uid of its linked overworld
+	 * @param spawns map of linked overworld uid to its spawn location
+	 */
+	private record Snapshot(Map<UUID, UUID> links, Map<UUID, Location> spawns)
+	{
+	}
+
+}
@@ -28,21 +28,43 @@ public enum Config
 	ITEM_MATERIAL("NETHER_STAR"),
 	MINIMUM_DISTANCE("10"),
 	TELEPORT_COOLDOWN("60"),
+	PERSIST_COOLDOWNS("true"),
 	TELEPORT_WARMUP("5"),
+	PRELOAD_RADIUS("1"),
+	MAX_TELEPORTS_PER_TICK("20"),
+	MAX_WORLD_TELEPORTS_PER_TICK("0"),
 	PARTICLE_EFFECTS("true"),
+	PARTICLE_VIEW_DISTANCE("32"),
+	PARTICLE_BUDGET("200"),
 	SOUND_EFFECTS("true"),
 	TITLES_ENABLED("true"),
 	SHIFT_CLICK("true"),
+	LEFT_CLICK("false"),
+	PASS_THROUGH_BLOCKS("[]"),
 	REMOVE_FROM_INVENTORY("on-success"),
 	ALLOW_IN_RECIPES("false"),
 	CANCEL_ON_DAMAGE("false"),
 	CANCEL_ON_MOVEMENT("false"),
+	MOVEMENT_CHECK("event"),
+	MOVEMENT_POLL_INTERVAL("5"),
+	MOVEMENT_TOLERANCE("0"),
 	CANCEL_ON_INTERACTION("false"),
+	INTERACT_DELAY("2"),
+	INTERACT_BURST("4"),
+	INTERACT_REFILL_TICKS("5"),
+	DENIAL_MESSAGE_INTERVAL("2"),
 	MAX_GIVE_AMOUNT("-1"),
 	FROM_NETHER("true"),
 	FROM_END("true"),
+	WORLD_LINKS("{}"),
 	LIGHTNING("false"),
 	LOG_USE("true"),
+	LOG_USE_CONSOLE("true"),
+	LOG_USE_MAX_FILE_SIZE("10"),
+	LOG_USE_ROTATE_HOURS("24"),
+	LOG_USE_MAX_FILES("14"),
+	LOG_USE_FSYNC("periodic"),
+	TIMINGS("false"),
 	;
 
 
@@ -25,8 +25,18 @@ public enum Macro
 	DESTINATION_WORLD,
 	DURATION,
 	ITEM,
+	QUEUE_DEPTH,
+	QUEUE_MAX_DEPTH,
+	QUEUE_MEAN_WAIT,
+	QUEUE_POSITION,
+	QUEUE_TOTAL,
 	SETTING,
 	TARGET_PLAYER,
+	TIMINGS_CALLS,
+	TIMINGS_P50,
+	TIMINGS_P99,
+	TIMINGS_P999,
+	TIMINGS_WINDOW,
 
 	NUMBER_LOCALE,
 	DATE_LOCALE,
@@ -27,6 +27,8 @@ public enum MessageId
 	COMMAND_HELP_HELP,
 	COMMAND_HELP_RELOAD,
 	COMMAND_HELP_STATUS,
+	COMMAND_HELP_STATS,
+	COMMAND_HELP_TIMINGS,
 	COMMAND_HELP_USAGE_HEADER,
 
 	COMMAND_SUCCESS_DESTROY,
@@ -48,6 +50,8 @@ public enum MessageId
 	COMMAND_FAIL_GIVE_PERMISSION,
 	COMMAND_FAIL_RELOAD_PERMISSION,
 	COMMAND_FAIL_STATUS_PERMISSION,
+	COMMAND_FAIL_STATS_PERMISSION,
+	COMMAND_FAIL_TIMINGS_PERMISSION,
 	COMMAND_FAIL_HELP_PERMISSION,
 
 	TELEPORT_SUCCESS,
@@ -61,6 +65,7 @@ public enum MessageId
 	TELEPORT_CANCELLED_NO_ITEM,
 	TELEPORT_COOLDOWN,
 	TELEPORT_WARMUP,
+	TELEPORT_QUEUED,
 	TELEPORT_PLAYER_WARMING,
 	TELEPORT_LOG_USAGE,
 
@@ -74,6 +79,8 @@ public enum MessageId
 	COMMAND_STATUS_MINIMUM_DISTANCE_SETTING,
 	COMMAND_STATUS_TELEPORT_WARMUP_SETTING,
 	COMMAND_STATUS_TELEPORT_COOLDOWN_SETTING,
+	COMMAND_STATUS_TELEPORT_LIMIT_SETTING,
+	COMMAND_STATUS_INTERACTION_RATE_SETTING,
 	COMMAND_STATUS_SHIFT_CLICK_SETTING,
 	COMMAND_STATUS_INVENTORY_REMOVAL_SETTING,
 	COMMAND_STATUS_ENABLED_WORLDS_SETTING,
@@ -82,5 +89,21 @@ public enum MessageId
 	COMMAND_STATUS_CANCEL_ON_DAMAGE_SETTING,
 	COMMAND_STATUS_CANCEL_ON_MOVEMENT_SETTING,
 	COMMAND_STATUS_CANCEL_ON_INTERACTION_SETTING,
+	COMMAND_STATUS_LISTENERS,
+	COMMAND_STATS_USES,
+	COMMAND_STATS_COMPLETIONS,
+	COMMAND_STATS_CANCELLATIONS,
+	COMMAND_STATS_DENIALS,
+	COMMAND_STATS_WARMUP_LENGTHS,
+	COMMAND_STATS_WORLDS,
+	COMMAND_STATS_QUEUE,
+	COMMAND_STATS_CLICKS,
+	COMMAND_STATS_TASKS,
+	COMMAND_STATS_OVERDUE_TASKS,
+	COMMAND_TIMINGS_ENABLED,
+	COMMAND_TIMINGS_DISABLED,
+	COMMAND_TIMINGS_HANDLER,
+	COMMAND_TIMINGS_WINDOW,
+	COMMAND_TIMINGS_WINDOW_EMPTY,
 	COMMAND_STATUS_FOOTER,
 }
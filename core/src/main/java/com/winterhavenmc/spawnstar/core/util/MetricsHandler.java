@@ -17,15 +17,32 @@
 
 package com.winterhavenmc.spawnstar.core.util;
 
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats;
+import com.winterhavenmc.spawnstar.core.stats.TeleportStats.Counter;
+
 import org.bstats.bukkit.Metrics;
+import org.bstats.charts.AdvancedPie;
+import org.bstats.charts.DrilldownPie;
 import org.bstats.charts.SimplePie;
 import org.bukkit.plugin.Plugin;
 
+import java.util.HashMap;
+import java.util.Map;
+
 
 public class MetricsHandler
 {
-	public MetricsHandler(final Plugin plugin)
+	private final TeleportStats stats;
+
+	// counter values at the last report, so each report contains only the counts since the one before
+	private final long[] reportedCounters = new long[Counter.values().length];
+	private final Map<String, Long> reportedWarmupLengths = new HashMap<>();
+
+
+	public MetricsHandler(final Plugin plugin, final TeleportStats stats)
 	{
+		this.stats = stats;
+
 		Metrics metrics = new Metrics(plugin, 13926);
 
 		// pie chart of configured language
@@ -42,5 +59,60 @@ public class MetricsHandler
 
 		// pie chart of teleport warmup time
 		metrics.addCustomChart(new SimplePie("teleport_warmup", () -> plugin.getConfig().getString("teleport-warmup")));
+
+		// advanced pie chart of completed warmup lengths since the last report
+		metrics.addCustomChart(new AdvancedPie("warmup_lengths", this::warmupLengths));
+
+		// drilldown pie chart of teleport outcomes since the last report, by outcome and reason
+		metrics.addCustomChart(new DrilldownPie("teleport_outcomes", this::teleportOutcomes));
+	}
+
+
+	private synchronized Map<String, Integer> warmupLengths()
+	{
+		final Map<String, Integer> values = new HashMap<>();
+		stats.warmupLengths().forEach((bucket, count) ->
+		{
+			final long delta = count - reportedWarmupLengths.getOrDefault(bucket, 0L);
+			reportedWarmupLengths.put(bucket, count);
+			if (delta > 0)
+			{
+				values.put(bucket, (int) Math.min(Integer.MAX_VALUE, delta));
+			}
+		});
+		return values;
+	}
+
+
+	private synchronized Map<String, Map<String, Integer>> teleportOutcomes()
+	{
+		final Map<String, Map<String, Integer>> outcomes = new HashMap<>();
+		for (Counter counter : Counter.values())
+		{
+			final long count = stats.get(counter);
+			final long delta = count - reportedCounters[counter.ordinal()];
+			reportedCounters[counter.ordinal()] = count;
+
+			final String outcome = outcome(counter);
+			if (outcome != null && delta > 0)
+			{
+				outcomes.computeIfAbsent(outcome, key -> new HashMap<>())
+						.put(counter.displayName(), (int) Math.min(Integer.MAX_VALUE, delta));
+			}
+		}
+		return outcomes;
+	}
+
+
+	private static String outcome(final Counter counter)
+	{
+		return switch (counter)
+		{
+			case USES, QUEUED, INTERACTIONS_DROPPED, DENIALS_SENT, DENIALS_COALESCED, DENIALS_DISABLED -> null;
+			case COMPLETIONS -> "completed";
+			case CANCELLED_DAMAGE, CANCELLED_MOVEMENT, CANCELLED_INTERACTION,
+			     CANCELLED_DEATH, CANCELLED_QUIT, CANCELLED_NO_ITEM -> "cancelled";
+			case DENIED_MIN_DISTANCE, DENIED_WORLD_DISABLED -> "denied";
+		};
 	}
 }
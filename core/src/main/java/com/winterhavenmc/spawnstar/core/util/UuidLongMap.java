@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.util;
+
+import java.util.function.LongPredicate;
+
+
+/**
+ * An open addressing hash map from uuid bits to a primitive long value. Entries are held in
+ * parallel primitive arrays, so no objects are allocated per entry. Removal uses backward-shift
+ * deletion, so the table never accumulates tombstones.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class UuidLongMap
+{
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] mostSigBits;
+	private long[] leastSigBits;
+	private long[] values;
+	private boolean[] occupied;
+	private int mask;
+	private int size;
+	private int sweepCursor;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param expectedSize the number of entries the map should hold without resizing
+	 */
+	public UuidLongMap(final int expectedSize)
+	{
+		int capacity = MIN_CAPACITY;
+		while (capacity >>> 1 < expectedSize)
+		{
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+
+	/**
+	 * Insert or replace the value for a key
+	 *
+	 * @param msb   the most significant bits of the uuid
+	 * @param lsb   the least significant bits of the uuid
+	 * @param value the value
+	 */
+	public void put(final long msb, final long lsb, final long value)
+	{
+		int index = indexOf(msb, lsb);
+		while (occupied[index])
+		{
+			if (mostSigBits[index] == msb && leastSigBits[index] == lsb)
+			{
+				values[index] = value;
+				return;
+			}
+			index = (index + 1) & mask;
+		}
+
+		occupied[index] = true;
+		mostSigBits[index] = msb;
+		leastSigBits[index] = lsb;
+		values[index] = value;
+
+		// keep load factor at or below one half
+		if (++size > (mask + 1) >>> 1)
+		{
+			resize((mask + 1) << 1);
+		}
+	}
+
+
+	/**
+	 * Get the slot index of a key
+	 *
+	 * @param msb the most significant bits of the uuid
+	 * @param lsb the least significant bits of the uuid
+	 * @return the slot index of the key, or -1 if the key is not present
+	 */
+	public int slotOf(final long msb, final long lsb)
+	{
+		int index = indexOf(msb, lsb);
+		while (occupied[index])
+		{
+			if (mostSigBits[index] == msb && leastSigBits[index] == lsb)
+			{
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Get the value held in a slot
+	 *
+	 * @param slot a slot index returned by {@link #slotOf(long, long)}
+	 * @return the value held in the slot
+	 */
+	public long valueAt(final int slot)
+	{
+		return values[slot];
+	}
+
+
+	/**
+	 * Get the value for a key
+	 *
+	 * @param msb          the most significant bits of the uuid
+	 * @param lsb          the least significant bits of the uuid
+	 * @param defaultValue the value to return if the key is not present
+	 * @return the value for the key, or {@code defaultValue} if the key is not present
+	 */
+	public long get(final long msb, final long lsb, final long defaultValue)
+	{
+		int slot = slotOf(msb, lsb);
+		return slot < 0 ? defaultValue : values[slot];
+	}
+
+
+	/**
+	 * Remove a key
+	 *
+	 * @param msb the most significant bits of the uuid
+	 * @param lsb the least significant bits of the uuid
+	 * @return {@code true} if the key was removed, {@code false} if it was not present
+	 */
+	public boolean remove(final long msb, final long lsb)
+	{
+		int slot = slotOf(msb, lsb);
+		if (slot < 0)
+		{
+			return false;
+		}
+		removeAt(slot);
+		return true;
+	}
+
+
+	/**
+	 * Remove the entry held in a slot
+	 *
+	 * @param slot a slot index returned by {@link #slotOf(long, long)}
+	 */
+	public void removeAt(final int slot)
+	{
+		int hole = slot;
+		int index = (hole + 1) & mask;
+
+		while (occupied[index])
+		{
+			int home = indexOf(mostSigBits[index], leastSigBits[index]);
+
+			// move the entry into the hole if its home slot is not cyclically between the hole and its position
+			if (((index - home) & mask) >= ((index - hole) & mask))
+			{
+				mostSigBits[hole] = mostSigBits[index];
+				leastSigBits[hole] = leastSigBits[index];
+				values[hole] = values[index];
+				hole = index;
+			}
+			index = (index + 1) & mask;
+		}
+
+		occupied[hole] = false;
+		size--;
+	}
+
+
+	/**
+	 * Examine a number of slots, continuing from where the previous call left off,
+	 * and remove every entry whose value matches a predicate
+	 *
+	 * @param slotCount the number of slots to examine
+	 * @param predicate the predicate identifying values to remove
+	 */
+	public void sweep(final int slotCount, final LongPredicate predicate)
+	{
+		int remaining = Math.min(slotCount, mask + 1);
+
+		while (remaining-- > 0 && size > 0)
+		{
+			int index = sweepCursor;
+			if (occupied[index] && predicate.test(values[index]))
+			{
+				// removal may shift a later entry into this slot, so examine it again before advancing
+				removeAt(index);
+				continue;
+			}
+			sweepCursor = (index + 1) & mask;
+		}
+	}
+
+
+	/**
+	 * Remove every entry whose value matches a predicate
+	 *
+	 * @param predicate the predicate identifying values to remove
+	 */
+	public void removeIf(final LongPredicate predicate)
+	{
+		sweepCursor = 0;
+		sweep(mask + 1, predicate);
+		sweepCursor = 0;
+	}
+
+
+	/**
+	 * Pass every entry to a visitor
+	 *
+	 * @param visitor the visitor
+	 */
+	public void forEach(final EntryVisitor visitor)
+	{
+		for (int i = 0; i < occupied.length; i++)
+		{
+			if (occupied[i])
+			{
+				visitor.visit(mostSigBits[i], leastSigBits[i], values[i]);
+			}
+		}
+	}
+
+
+	/**
+	 * Get the number of entries in the map
+	 *
+	 * @return the number of entries
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * Get the number of slots in the table
+	 *
+	 * @return the table capacity
+	 */
+	public int capacity()
+	{
+		return mask + 1;
+	}
+
+
+	/**
+	 * Remove all entries and shrink the table to its minimum capacity
+	 */
+	public void clear()
+	{
+		allocate(MIN_CAPACITY);
+		size = 0;
+	}
+
+
+	private int indexOf(final long msb, final long lsb)
+	{
+		long hash = msb ^ lsb;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		return (int) hash & mask;
+	}
+
+
+	private void allocate(final int capacity)
+	{
+		mostSigBits = new long[capacity];
+		leastSigBits = new long[capacity];
+		values = new long[capacity];
+		occupied = new boolean[capacity];
+		mask = capacity - 1;
+		sweepCursor = 0;
+	}
+
+
+	private void resize(final int newCapacity)
+	{
+		final long[] oldMsb = mostSigBits;
+		final long[] oldLsb = leastSigBits;
+		final long[] oldValues = values;
+		final boolean[] oldOccupied = occupied;
+
+		allocate(newCapacity);
+
+		for (int i = 0; i < oldOccupied.length; i++)
+		{
+			if (oldOccupied[i])
+			{
+				int index = indexOf(oldMsb[i], oldLsb[i]);
+				while (occupied[index])
+				{
+					index = (index + 1) & mask;
+				}
+				occupied[index] = true;
+				mostSigBits[index] = oldMsb[i];
+				leastSigBits[index] = oldLsb[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+
+	/**
+	 * Receives map entries
+	 */
+	@FunctionalInterface
+	public interface EntryVisitor
+	{
+		void visit(long mostSigBits, long leastSigBits, long value);
+	}
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * Checks the cooldown journal file format: entries written by one journal are replayed by the next, a partial
+ * record left by an interrupted write is discarded, a snapshot written without truncating the journal replays
+ * the same entries, and expired entries are not restored.
+ */
+class CooldownJournalTest
+{
+	private static final int JOURNAL_MAGIC = 0x53534a4c;
+	private static final int SNAPSHOT_MAGIC = 0x5353534e;
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+	private static final int RECORD_BYTES = 24;
+
+	private static final Logger LOGGER = Logger.getLogger(CooldownJournalTest.class.getName());
+
+	private static final UUID FIRST = new UUID(1L, 2L);
+	private static final UUID SECOND = new UUID(3L, 4L);
+	private static final UUID THIRD = new UUID(5L, 6L);
+
+	@TempDir
+	Path directory;
+
+	private CooldownJournal journal;
+
+
+	@AfterEach
+	void closeJournal()
+	{
+		if (journal != null)
+		{
+			journal.close();
+		}
+	}
+
+
+	@Test
+	void replaysEntriesWrittenByPreviousJournal() throws IOException
+	{
+		final long expiry = future();
+		journal = CooldownJournal.open(directory, LOGGER);
+		assertEquals(0, journal.replay((msb, lsb, millis) -> { }));
+		journal.append(FIRST.getMostSignificantBits(), FIRST.getLeastSignificantBits(), expiry);
+		journal.append(SECOND.getMostSignificantBits(), SECOND.getLeastSignificantBits(), expiry);
+		journal.append(FIRST.getMostSignificantBits(), FIRST.getLeastSignificantBits(), expiry + 1000L);
+		journal.close();
+
+		assertEquals(Map.of(FIRST, expiry + 1000L, SECOND, expiry), replay());
+	}
+
+
+	@Test
+	void replaysJournalWithoutSnapshot() throws IOException
+	{
+		final long expiry = future();
+		writeFile("cooldowns.journal", JOURNAL_MAGIC, record(FIRST, expiry), record(SECOND, expiry), record(FIRST, expiry + 1L));
+
+		assertEquals(Map.of(FIRST, expiry + 1L, SECOND, expiry), replay());
+	}
+
+
+	@Test
+	void replaysSnapshotsLargerThanOneBatch() throws IOException
+	{
+		final long expiry = future();
+		journal = CooldownJournal.open(directory, LOGGER);
+		journal.replay((msb, lsb, millis) -> { });
+		for (int i = 0; i < 10_000; i++)
+		{
+			journal.append(i, -i, expiry + i);
+		}
+		journal.close();
+
+		// closing the journal compacts every entry into the snapshot
+		assertEquals(HEADER_BYTES + 10_000L * RECORD_BYTES, Files.size(directory.resolve("cooldowns.snapshot")), "snapshot size");
+		assertEquals(HEADER_BYTES, Files.size(directory.resolve("cooldowns.journal")), "journal size");
+
+		final Map<UUID, Long> restored = replay();
+		assertEquals(10_000, restored.size());
+		assertEquals(expiry + 9_999L, (long) restored.get(new UUID(9_999L, -9_999L)));
+	}
+
+
+	@Test
+	void discardsPartialTrailingRecord() throws IOException
+	{
+		final long expiry = future();
+		final Path journalFile = writeFile("cooldowns.journal", JOURNAL_MAGIC,
+				record(FIRST, expiry), record(SECOND, expiry), new byte[RECORD_BYTES / 2]);
+
+		assertEquals(Map.of(FIRST, expiry, SECOND, expiry), replay());
+		assertEquals(HEADER_BYTES + 2L * RECORD_BYTES, Files.size(journalFile), "journal truncated to whole records");
+
+		// records appended after the partial record was discarded are aligned, and replayed
+		journal.append(THIRD.getMostSignificantBits(), THIRD.getLeastSignificantBits(), expiry);
+		journal.close();
+		assertEquals(Map.of(FIRST, expiry, SECOND, expiry, THIRD, expiry), replay());
+	}
+
+
+	@Test
+	void replaysJournalLeftBehindBySnapshot() throws IOException
+	{
+		// a compaction wrote the snapshot, and the server stopped before the journal was truncated
+		final long expiry = future();
+		writeFile("cooldowns.snapshot", SNAPSHOT_MAGIC, record(FIRST, expiry + 1L), record(SECOND, expiry));
+		writeFile("cooldowns.journal", JOURNAL_MAGIC, record(FIRST, expiry), record(SECOND, expiry), record(FIRST, expiry + 1L));
+
+		assertEquals(Map.of(FIRST, expiry + 1L, SECOND, expiry), replay());
+	}
+
+
+	@Test
+	void skipsExpiredEntries() throws IOException
+	{
+		final long expiry = future();
+		final long expired = System.currentTimeMillis() - 1000L;
+		writeFile("cooldowns.snapshot", SNAPSHOT_MAGIC, record(FIRST, expiry), record(SECOND, expiry));
+		writeFile("cooldowns.journal", JOURNAL_MAGIC, record(SECOND, expired), record(THIRD, expired));
+
+		assertEquals(Map.of(FIRST, expiry), replay());
+	}
+
+
+	@Test
+	void ignoresUnrecognizedFiles() throws IOException
+	{
+		writeFile("cooldowns.journal", SNAPSHOT_MAGIC, record(FIRST, future()));
+
+		assertEquals(Map.of(), replay());
+	}
+
+
+	@Test
+	void rejectsSecondReplay() throws IOException
+	{
+		journal = CooldownJournal.open(directory, LOGGER);
+		journal.replay((msb, lsb, millis) -> { });
+
+		assertThrows(IllegalStateException.class, () -> journal.replay((msb, lsb, millis) -> { }));
+	}
+
+
+	/**
+	 * Close the current journal, and replay the files with a new journal, which is left open
+	 *
+	 * @return the restored expiry times by uuid
+	 */
+	private Map<UUID, Long> replay() throws IOException
+	{
+		closeJournal();
+
+		final Map<UUID, Long> restored = new HashMap<>();
+		journal = CooldownJournal.open(directory, LOGGER);
+		final int count = journal.replay((msb, lsb, millis) -> restored.put(new UUID(msb, lsb), millis));
+		assertEquals(restored.size(), count, "restored count");
+		return restored;
+	}
+
+
+	private Path writeFile(final String name, final int magic, final byte[]... records) throws IOException
+	{
+		int size = HEADER_BYTES;
+		for (byte[] record : records)
+		{
+			size += record.length;
+		}
+
+		final ByteBuffer buffer = ByteBuffer.allocate(size).putInt(magic).putInt(FORMAT_VERSION);
+		for (byte[] record : records)
+		{
+			buffer.put(record);
+		}
+		return Files.write(directory.resolve(name), buffer.array());
+	}
+
+
+	private static byte[] record(final UUID uuid, final long expiryEpochMillis)
+	{
+		return ByteBuffer.allocate(RECORD_BYTES)
+				.putLong(uuid.getMostSignificantBits())
+				.putLong(uuid.getLeastSignificantBits())
+				.putLong(expiryEpochMillis)
+				.array();
+	}
+
+
+	private static long future()
+	{
+		return System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+	}
+
+}
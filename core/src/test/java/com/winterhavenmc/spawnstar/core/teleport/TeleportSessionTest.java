@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.spawnstar.core.teleport;
+
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.teleport.TeleportSession.Phase;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Checks the phase transitions of a teleport session, the lazy expiry of its cooldown, and the interaction
+ * bucket, duplicate hand and denial interval arithmetic.
+ */
+class TeleportSessionTest
+{
+	private static final UUID PLAYER = new UUID(1L, 2L);
+	private static final Location DESTINATION = new Location(null, 0.0d, 64.0d, 0.0d);
+	private static final long NOW = 1_000_000L;
+	private static final long COOLDOWN = 5_000L;
+
+
+	@Test
+	void startsIdleWithoutCooldown()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, NOW, NOW);
+
+		assertEquals(Phase.IDLE, session.phase(NOW));
+		assertEquals(0L, session.cooldownRemainingNanos(NOW));
+	}
+
+
+	@Test
+	void startsCoolingWithRemainingCooldown()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, NOW + COOLDOWN, NOW);
+
+		assertEquals(Phase.COOLING, session.phase(NOW));
+		assertEquals(COOLDOWN, session.cooldownRemainingNanos(NOW));
+	}
+
+
+	@Test
+	void warmupStartsAndFinishes()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+		final CountingTask task = new CountingTask();
+
+		session.startWarmup(task, 42L, DESTINATION, null, null, NOW);
+		assertEquals(Phase.WARMING, session.phase(NOW));
+		assertTrue(session.isWarmingUp());
+		assertEquals(42L, session.initiateTick());
+		assertEquals(DESTINATION, session.destination());
+
+		session.finishWarmup();
+		assertEquals(Phase.IDLE, session.phase(NOW));
+		assertNull(session.destination());
+		assertEquals(0, task.cancelled, "finished task cancelled");
+	}
+
+
+	@Test
+	void cancelledWarmupCancelsCurrentTask()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+		final CountingTask first = new CountingTask();
+		final CountingTask deferred = new CountingTask();
+
+		session.startWarmup(first, 1L, DESTINATION, null, null, NOW);
+		session.deferWarmup(deferred);
+		assertTrue(session.isWarmingUp());
+
+		session.cancelWarmup();
+		assertEquals(Phase.IDLE, session.phase(NOW));
+		assertEquals(0, first.cancelled, "replaced task cancelled");
+		assertEquals(1, deferred.cancelled, "current task cancelled");
+	}
+
+
+	@Test
+	void cooldownStartsFromIdle()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+
+		session.startCooldown(NOW + COOLDOWN, NOW);
+		assertEquals(Phase.COOLING, session.phase(NOW));
+		assertEquals(COOLDOWN, session.cooldownRemainingNanos(NOW));
+	}
+
+
+	@Test
+	void cooldownThatHasEndedLeavesSessionIdle()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+
+		session.startCooldown(NOW, NOW);
+		assertEquals(Phase.IDLE, session.phase(NOW));
+	}
+
+
+	@Test
+	void cooldownExpiresLazily()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, NOW + COOLDOWN, NOW);
+
+		assertEquals(Phase.COOLING, session.phase(NOW + COOLDOWN - 1L));
+		assertEquals(Phase.IDLE, session.phase(NOW + COOLDOWN));
+		assertEquals(Phase.IDLE, session.phase(NOW), "an expired cooldown stays expired");
+	}
+
+
+	@Test
+	void warmupStartsOnceCooldownHasExpired()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, NOW + COOLDOWN, NOW);
+
+		assertThrows(IllegalStateException.class,
+				() -> session.startWarmup(new CountingTask(), 1L, DESTINATION, null, null, NOW));
+
+		session.startWarmup(new CountingTask(), 1L, DESTINATION, null, null, NOW + COOLDOWN);
+		assertTrue(session.isWarmingUp());
+	}
+
+
+	@Test
+	void rejectsIllegalTransitions()
+	{
+		final TeleportSession idle = new TeleportSession(PLAYER, 0L, NOW);
+		assertThrows(IllegalStateException.class, idle::finishWarmup, "finish warmup while idle");
+		assertThrows(IllegalStateException.class, idle::cancelWarmup, "cancel warmup while idle");
+		assertThrows(IllegalStateException.class, () -> idle.deferWarmup(new CountingTask()), "defer warmup while idle");
+
+		final TeleportSession warming = new TeleportSession(PLAYER, 0L, NOW);
+		warming.startWarmup(new CountingTask(), 1L, DESTINATION, null, null, NOW);
+		assertThrows(IllegalStateException.class, () -> warming.startCooldown(NOW + COOLDOWN, NOW), "start cooldown while warming");
+		assertThrows(IllegalStateException.class,
+				() -> warming.startWarmup(new CountingTask(), 2L, DESTINATION, null, null, NOW), "start warmup while warming");
+		assertTrue(warming.isWarmingUp());
+
+		final TeleportSession cooling = new TeleportSession(PLAYER, NOW + COOLDOWN, NOW);
+		assertThrows(IllegalStateException.class, () -> cooling.startCooldown(NOW + COOLDOWN, NOW), "start cooldown while cooling");
+		assertThrows(IllegalStateException.class, cooling::finishWarmup, "finish warmup while cooling");
+		assertEquals(Phase.COOLING, cooling.phase(NOW));
+	}
+
+
+	@Test
+	void interactionBucketAllowsBurstAndRefills()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+		final int burst = 3;
+		final int refillTicks = 5;
+
+		// a full bucket allows a burst of clicks in one tick
+		assertTrue(session.tryAcquireInteraction(100L, burst, refillTicks));
+		assertTrue(session.tryAcquireInteraction(100L, burst, refillTicks));
+		assertTrue(session.tryAcquireInteraction(100L, burst, refillTicks));
+		assertFalse(session.tryAcquireInteraction(100L, burst, refillTicks));
+
+		// one token is regained every refill period
+		assertFalse(session.tryAcquireInteraction(104L, burst, refillTicks));
+		assertTrue(session.tryAcquireInteraction(105L, burst, refillTicks));
+		assertFalse(session.tryAcquireInteraction(105L, burst, refillTicks));
+
+		// an idle bucket holds no more than the burst
+		assertTrue(session.tryAcquireInteraction(1_000L, burst, refillTicks));
+		assertTrue(session.tryAcquireInteraction(1_000L, burst, refillTicks));
+		assertTrue(session.tryAcquireInteraction(1_000L, burst, refillTicks));
+		assertFalse(session.tryAcquireInteraction(1_000L, burst, refillTicks));
+	}
+
+
+	@Test
+	void interactionBucketOfOneAllowsOneClickPerRefill()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+
+		assertTrue(session.tryAcquireInteraction(10L, 1, 4));
+		assertFalse(session.tryAcquireInteraction(13L, 1, 4));
+		assertTrue(session.tryAcquireInteraction(14L, 1, 4));
+	}
+
+
+	@Test
+	void rejectsOtherHandWithinWindow()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+		final int mainHand = 0;
+		final int offHand = 1;
+
+		assertTrue(session.acceptInteract(10L, mainHand, 2L));
+		assertFalse(session.acceptInteract(10L, offHand, 2L), "other hand in the same tick");
+		assertFalse(session.acceptInteract(11L, offHand, 2L), "other hand within the window");
+		assertTrue(session.acceptInteract(12L, offHand, 2L), "other hand after the window");
+	}
+
+
+	@Test
+	void acceptsSameHandWithinWindow()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+
+		assertTrue(session.acceptInteract(10L, 0, 2L));
+		assertTrue(session.acceptInteract(10L, 0, 2L));
+		assertTrue(session.acceptInteract(11L, 0, 2L));
+		assertFalse(session.acceptInteract(11L, -1, 2L), "event without a hand after a hand event");
+	}
+
+
+	@Test
+	void denialIntervalStartsWhenDenialIsRecorded()
+	{
+		final TeleportSession session = new TeleportSession(PLAYER, 0L, NOW);
+
+		assertTrue(session.isDenialDue(100L, 40L));
+		assertTrue(session.isDenialDue(100L, 40L), "a denial that was not sent does not start the interval");
+
+		session.recordDenial(100L);
+		assertFalse(session.isDenialDue(139L, 40L));
+		assertTrue(session.isDenialDue(140L, 40L));
+	}
+
+
+	/**
+	 * A warmup task that counts how often it was cancelled
+	 */
+	private static final class CountingTask implements TaskScheduler.Task
+	{
+		private int cancelled;
+
+
+		@Override
+		public void cancel()
+		{
+			cancelled++;
+		}
+	}
+
+}
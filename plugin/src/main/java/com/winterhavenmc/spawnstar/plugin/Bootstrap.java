@@ -17,29 +17,158 @@
 
 package com.winterhavenmc.spawnstar.plugin;
 
+import com.winterhavenmc.spawnstar.adapters.clock.bukkit.BukkitTickClock;
 import com.winterhavenmc.spawnstar.adapters.commands.bukkit.BukkitCommandDispatcher;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitCraftGuardListener;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitEntityDamageListener;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitListenerRegistry;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitListenerRegistry.Condition;
 import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitPlayerEventListener;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitPlayerMoveListener;
+import com.winterhavenmc.spawnstar.adapters.listeners.bukkit.BukkitWorldEventListener;
+import com.winterhavenmc.spawnstar.adapters.scheduler.bukkit.BukkitTaskScheduler;
+import com.winterhavenmc.spawnstar.adapters.scheduler.folia.FoliaTaskScheduler;
+import com.winterhavenmc.spawnstar.core.items.ItemRecognizer;
+import com.winterhavenmc.spawnstar.core.persistence.CooldownJournal;
+import com.winterhavenmc.spawnstar.core.persistence.CooldownStore;
+import com.winterhavenmc.spawnstar.core.persistence.UsageLog;
+import com.winterhavenmc.spawnstar.core.persistence.UsageLogWriter;
+import com.winterhavenmc.spawnstar.core.ports.clock.TickClock;
+import com.winterhavenmc.spawnstar.core.ports.scheduler.TaskScheduler;
+import com.winterhavenmc.spawnstar.core.scheduler.TaskRegistry;
+import com.winterhavenmc.spawnstar.core.scheduler.TickWheel;
+import com.winterhavenmc.spawnstar.core.settings.SettingsHolder;
 import com.winterhavenmc.spawnstar.core.teleport.TeleportHandler;
+import com.winterhavenmc.spawnstar.core.teleport.WorldLinkIndex;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
 
 import com.winterhavenmc.spawnstar.core.util.MetricsHandler;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+import java.util.Objects;
+import java.util.logging.Level;
+
 
 public class Bootstrap extends JavaPlugin
 {
+	private CooldownStore cooldownStore = CooldownStore.NONE;
+	private UsageLog usageLog = UsageLog.NONE;
+	private TaskRegistry tasks;
+
+
 	@Override
 	public void onEnable()
 	{
 		saveDefaultConfig();
 
 		final MessageBuilder messageBuilder = MessageBuilder.create(this);
-		final TeleportHandler teleportHandler = new TeleportHandler(this, messageBuilder);
+		final SettingsHolder settings = new SettingsHolder(this);
+
+		// schedule player actions on the thread that owns the player, on Folia as well as Spigot servers
+		final TickWheel wheel = new TickWheel(getLogger());
+		final TaskScheduler scheduler = FoliaTaskScheduler.isSupported()
+				? new FoliaTaskScheduler(this)
+				: new BukkitTaskScheduler(this, wheel);
+		final TickClock clock = new BukkitTickClock(wheel);
+
+		// record every task the plugin schedules, so none can outlive its owner or the plugin
+		tasks = new TaskRegistry(scheduler, wheel, clock);
+
+		// start the single repeating global task that drives all cooldown, particle and queue timers
+		tasks.runGlobalTimer(TaskRegistry.Purpose.TICK_DRIVER, wheel::tick, 1L, 1L);
+
+		// open the cooldown journal; cooldowns are replayed from it when the teleport handler is created
+		cooldownStore = openCooldownStore(settings);
+
+		// start the usage log writer; files are only created once usage is logged
+		usageLog = openUsageLog(settings);
+
+		// index nether and end worlds to their linked overworld spawn locations
+		final WorldLinkIndex worldLinks = new WorldLinkIndex(this, messageBuilder, settings);
+
+		// recognize SpawnStar items without inspecting the meta of unrelated items
+		final ItemRecognizer itemRecognizer = ItemRecognizer.create(messageBuilder, settings);
+
+		final TeleportHandler teleportHandler = new TeleportHandler(this, messageBuilder, settings, tasks, scheduler,
+				clock, cooldownStore, worldLinks, usageLog);
+
+		// register each listener unit only while the settings and pending warmups require it
+		final BukkitListenerRegistry listeners = new BukkitListenerRegistry(this, settings, tasks);
+		listeners.add("player", new BukkitPlayerEventListener(this, messageBuilder, settings, itemRecognizer, teleportHandler), Condition.ALWAYS);
+		listeners.add("world", new BukkitWorldEventListener(worldLinks), Condition.ALWAYS);
+		listeners.add("craft-guard", new BukkitCraftGuardListener(itemRecognizer, teleportHandler.timings()),
+				(current, warmupsActive) -> !current.item().allowInRecipes());
+		listeners.add("move", new BukkitPlayerMoveListener(teleportHandler),
+				(current, warmupsActive) -> warmupsActive && current.cancellation().handlesMoveEvents());
+		listeners.add("damage", new BukkitEntityDamageListener(teleportHandler),
+				(current, warmupsActive) -> warmupsActive && current.cancellation().onDamage());
+		teleportHandler.addWarmupObserver(listeners);
+
+		// register the command dispatcher as executor of the spawnstar command
+		Objects.requireNonNull(getCommand("spawnstar")).setExecutor(
+				new BukkitCommandDispatcher(this, messageBuilder, settings, listeners,
+						teleportHandler.stats(), teleportHandler.timings(), teleportHandler.messageFilter(),
+						teleportHandler.tasks()));
+
+		new MetricsHandler(this, teleportHandler.stats());
+	}
+
+
+	@Override
+	public void onDisable()
+	{
+		// report tasks that outlived their expected run time, then cancel every task the plugin scheduled
+		if (tasks != null)
+		{
+			for (TaskRegistry.Entry entry : tasks.overdueTasks())
+			{
+				getLogger().warning("Cancelling leaked task: " + entry);
+			}
+			tasks.cancelAll();
+			tasks = null;
+		}
+
+		// flush pending cooldown records and compact the journal
+		cooldownStore.close();
+		cooldownStore = CooldownStore.NONE;
+
+		// write queued usage records
+		usageLog.close();
+		usageLog = UsageLog.NONE;
+	}
+
 
-		new BukkitCommandDispatcher(this, messageBuilder);
-		new BukkitPlayerEventListener(this, messageBuilder, teleportHandler);
+	private CooldownStore openCooldownStore(final SettingsHolder settings)
+	{
+		if (!settings.get().cooldown().persist())
+		{
+			return CooldownStore.NONE;
+		}
 
-		new MetricsHandler(this);
+		try
+		{
+			return CooldownJournal.open(getDataFolder().toPath(), getLogger());
+		}
+		catch (IOException e)
+		{
+			getLogger().log(Level.WARNING, "Could not open the cooldown journal; cooldowns will not be persisted.", e);
+			return CooldownStore.NONE;
+		}
+	}
+
+
+	private UsageLog openUsageLog(final SettingsHolder settings)
+	{
+		try
+		{
+			return UsageLogWriter.start(getDataFolder().toPath().resolve("usage-logs"), getLogger(), settings);
+		}
+		catch (IOException e)
+		{
+			getLogger().log(Level.WARNING, "Could not open the usage log; item use will not be logged to files.", e);
+			return UsageLog.NONE;
+		}
 	}
 }